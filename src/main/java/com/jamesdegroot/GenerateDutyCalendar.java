@@ -1,6 +1,7 @@
 package com.jamesdegroot;
 
 import java.io.File;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,10 +10,20 @@ import com.jamesdegroot.calendar.Calendar;
 import com.jamesdegroot.calendar.Day;
 import com.jamesdegroot.calendar.Duty;
 import com.jamesdegroot.calendar.Holiday;
+import com.jamesdegroot.calendar.SchoolDayIndex;
+import com.jamesdegroot.calendar.TermTable;
 import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.duty_assigment.DutyFeasibilityAnalyzer;
+import com.jamesdegroot.duty_assigment.DutyScheduleOptimizer;
+import com.jamesdegroot.duty_assigment.DutySolver;
+import com.jamesdegroot.duty_assigment.GreedyDutySolver;
 import com.jamesdegroot.io.ReadCalendarFromDisk;
+import com.jamesdegroot.io.ReadSlotLayoutFromDisk;
+import com.jamesdegroot.io.ReadTermTableFromDisk;
 import com.jamesdegroot.io.ReadTeachersFromDisk;
+import com.jamesdegroot.io.WriteCalendarToDisk;
 import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
 import com.jamesdegroot.teacher.TeacherScheduleStatusEnum;
 import com.jamesdegroot.teacher.TeacherTypeEnum;
 
@@ -21,20 +32,29 @@ import com.jamesdegroot.teacher.TeacherTypeEnum;
  */
 public class GenerateDutyCalendar {
     public static final int NUM_OF_SEPERATORS_CHAR = 135; // maximum number of duties per semester
+    private static final long PARALLEL_IMPORT_BYTES = 8L << 20; // timetables this large are read in parallel
+    private static final String IMPORT_RATE_FORMAT = "Rows Read: %d in %.1f ms (%.0f rows/sec)%n";
     @SuppressWarnings("unused")
     private File selectedFile;
     private List<Teacher> teachers;
+    private ReadTeachersFromDisk.ImportResult lastImport;
     private Calendar calendar;
     private List<String> warnings = new ArrayList<>();
     private DutyAssigner dutyAssigner;
+    private boolean parallelTerms = false;
+    private DutySolver dutySolver = new GreedyDutySolver();
+    private DutyScheduleOptimizer scheduleOptimizer = null;
+    private boolean failFast = false;
     
     /**
      * Creates a new GenerateDutyCalendar instance.
-     * Initializes empty lists for teachers and warnings.
+     * Initializes empty lists for teachers and warnings, and starts teacher IDs over
+     * since no duties of the new calendar refer to older ones.
      */
     public GenerateDutyCalendar() {
         teachers = new ArrayList<>();
         calendar = new Calendar();
+        TeacherRegistry.clear();
     }
     
     /**
@@ -43,10 +63,44 @@ public class GenerateDutyCalendar {
      */
     public void processFile(File file) {
         this.selectedFile = file;
-        teachers = ReadTeachersFromDisk.readTeachersNames(file.getAbsolutePath());
+        lastImport = ReadTeachersFromDisk.importTeachers(file.getAbsolutePath(), file.length() >= PARALLEL_IMPORT_BYTES);
+        teachers = lastImport.getTeachers();
         printSummary();
     }
     
+    /**
+     * Loads the school's duty slots from a layout CSV file.
+     * Takes effect when the calendar is next loaded.
+     * @param file The CSV file with one row per duty: time slot, duty, room
+     */
+    public void loadSlotLayout(File file) {
+        calendar.setSlotLayout(ReadSlotLayoutFromDisk.readSlotLayout(file));
+        System.out.println("Slot layout loaded with " + calendar.getSlotLayout().getDutyCount() + " duties in "
+            + calendar.getSlotLayout().getTimeSlots() + " time slots");
+    }
+    
+    /**
+     * Loads the terms of the school year from a terms CSV file.
+     * Keeps the current terms if the file cannot be used.
+     * @param file The CSV file with one row per term: name, start date, end date
+     */
+    public void loadTermTable(File file) {
+        TermTable termTable = ReadTermTableFromDisk.readTermTable(file);
+        if (termTable != null) {
+            calendar.setTermTable(termTable);
+            System.out.println("Terms loaded: " + termTable.getTermCount());
+        }
+    }
+    
+    /**
+     * Exports the assigned calendar to an ICS file, one event per duty on each school day.
+     * @param file The ICS file to write
+     */
+    public void exportCalendar(File file) {
+        int events = WriteCalendarToDisk.writeCalendarToICS(calendar, file);
+        System.out.println("Calendar exported with " + events + " duty events");
+    }
+    
     /**
      * Loads and processes an ICS calendar file.
      * Finds the start and end dates of the school year.
@@ -60,8 +114,7 @@ public class GenerateDutyCalendar {
         LocalDate startDate = LocalDate.of(2024, 9, 3);
         
         // Find the "Last Day of School" event
-        LocalDate endDate = calendar.getEvents().stream()
-            .filter(event -> event.getSummary().contains("Last Day of School"))
+        LocalDate endDate = calendar.getHolidayIndex().findBySummary("Last Day of School").stream()
             .map(Holiday::getStartDate)
             .findFirst()
             .orElse(LocalDate.of(2025, 6, 28));
@@ -92,6 +145,10 @@ public class GenerateDutyCalendar {
         System.out.println("\nTeacher Summary Statistics:");
         System.out.println("=".repeat(NUM_OF_SEPERATORS_CHAR));
         System.out.println("Total Teachers: " + teachers.size());
+        if (lastImport != null) {
+            System.out.printf(IMPORT_RATE_FORMAT, lastImport.getRows(), lastImport.getElapsedNanos() / 1e6,
+                lastImport.getRowsPerSecond());
+        }
         
         long fullTime = teachers.stream()
             .filter(t -> t.getClassScheduleStatus() == TeacherScheduleStatusEnum.OVER_FULL_TIME)
@@ -201,36 +258,112 @@ public class GenerateDutyCalendar {
     }
     
     /**
-     * Assigns duties to teachers across all terms
+     * Chooses whether the terms are solved in parallel when assigning duties.
+     * @param parallelTerms true to solve the four terms concurrently
+     */
+    public void setParallelTerms(boolean parallelTerms) {
+        this.parallelTerms = parallelTerms;
+    }
+    
+    /**
+     * Sets the engine used to assign duties.
+     * @param dutySolver the solver, GreedyDutySolver by default
+     */
+    public void setDutySolver(DutySolver dutySolver) {
+        this.dutySolver = dutySolver;
+    }
+    
+    /**
+     * Sets an optional local search that improves the assigned duties.
+     * @param scheduleOptimizer the optimizer, or null to keep the solver's roster
+     */
+    public void setScheduleOptimizer(DutyScheduleOptimizer scheduleOptimizer) {
+        this.scheduleOptimizer = scheduleOptimizer;
+    }
+    
+    /**
+     * Chooses whether assigning duties stops when the teachers cannot cover every slot.
+     * @param failFast true to skip solving an infeasible calendar
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+    
+    /**
+     * Assigns duties to teachers across all terms.
+     * Slots the teachers cannot cover are printed as warnings; with fail-fast on,
+     * nothing is assigned in that case.
      */
     public void assignDuties() {
         dutyAssigner = new DutyAssigner(calendar, teachers);
-        dutyAssigner.assignDuties();
+        dutyAssigner.setParallelTerms(parallelTerms);
+        dutyAssigner.setSolver(dutySolver);
+        dutyAssigner.setOptimizer(scheduleOptimizer);
+        dutyAssigner.setFailFast(failFast);
+        try {
+            dutyAssigner.assignDuties();
+        } catch (IllegalStateException e) {
+            DutyFeasibilityAnalyzer.Report report = dutyAssigner.getFeasibilityReport();
+            if (report == null || report.isFeasible()) {
+                throw e;
+            }
+            System.err.println("Duty assignment stopped: " + e.getMessage());
+            return;
+        }
+        
+        // Print feasibility warnings only if they exist
+        DutyFeasibilityAnalyzer.Report report = dutyAssigner.getFeasibilityReport();
+        if (!report.isFeasible()) {
+            System.out.println("\nDuty Coverage Warnings:");
+            System.out.println("-".repeat(NUM_OF_SEPERATORS_CHAR));
+            report.getIssues().forEach(System.out::println);
+        }
+    }
+    
+    /**
+     * Updates the assigned duties after a teacher was edited, without a full re-solve.
+     * Does nothing if duties have not been assigned yet.
+     * @param teacher the edited teacher
+     */
+    public void updateTeacher(Teacher teacher) {
+        if (dutyAssigner != null) {
+            dutyAssigner.reassignTeacher(teacher);
+            printStaleOverrides();
+        }
+    }
+    
+    /**
+     * Updates the assigned duties after a day was edited, without a full re-solve.
+     * Does nothing if duties have not been assigned yet.
+     * @param day the edited day
+     */
+    public void updateDay(Day day) {
+        if (dutyAssigner != null) {
+            dutyAssigner.reassignDay(day);
+            printStaleOverrides();
+        }
+    }
+    
+    /**
+     * Lists the edited days that kept their own duties while their template changed
+     */
+    private void printStaleOverrides() {
+        for (Day day : dutyAssigner.getStaleOverrides()) {
+            System.out.println("Kept edited duties on " + day.getDate() + ", review them against the new roster");
+        }
     }
     
     /**
      * Prints the complete duty schedule
      */
     public void printSchedule() {
-        // Define term dates
-        LocalDate[][] termDates = {
-            {LocalDate.of(2024, 9, 3), LocalDate.of(2024, 10, 31)},    // Term 1
-            {LocalDate.of(2024, 11, 1), LocalDate.of(2025, 1, 31)},    // Term 2
-            {LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 31)},     // Term 3
-            {LocalDate.of(2025, 4, 1), LocalDate.of(2025, 6, 28)}      // Term 4
-        };
-        
-        String[] termNames = {
-            "Term 1 (Fall Term 1)",
-            "Term 2 (Fall Term 2)",
-            "Term 3 (Spring Term 1)",
-            "Term 4 (Spring Term 2)"
-        };
+        // Group the school days by term and weekday once for all terms
+        TermTable terms = calendar.getTermTable();
+        SchoolDayIndex dayIndex = calendar.indexSchoolDays();
         
         // Print schedule for each term
-        for (int term = 0; term < 4; term++) {
-            final int currentTerm = term;  // Make term effectively final for lambda
-            System.out.println("\n" + termNames[currentTerm] + " Duty Schedule:");
+        for (int term = 0; term < terms.getTermCount(); term++) {
+            System.out.println("\n" + terms.getName(term) + " Duty Schedule:");
             System.out.println("=".repeat(NUM_OF_SEPERATORS_CHAR));
             
             // Print header
@@ -240,18 +373,9 @@ public class GenerateDutyCalendar {
             
             // For each day of week (Monday to Friday)
             for (int dayOfWeek = 1; dayOfWeek <= 5; dayOfWeek++) {
-                final int currentDayOfWeek = dayOfWeek;
-                List<Day> daysForThisWeekday = calendar.getDaysOfYear().stream()
-                    .filter(day -> day.getDate().getDayOfWeek().getValue() == currentDayOfWeek)
-                    .filter(Day::isSchoolDay)
-                    .filter(day -> {
-                        LocalDate date = day.getDate();
-                        return !date.isBefore(termDates[currentTerm][0]) && !date.isAfter(termDates[currentTerm][1]);
-                    })
-                    .toList();
+                Day sampleDay = dayIndex.getFirstDay(term, DayOfWeek.of(dayOfWeek));
                 
-                if (!daysForThisWeekday.isEmpty()) {
-                    Day sampleDay = daysForThisWeekday.get(0);
+                if (sampleDay != null) {
                     String weekdayName = sampleDay.getDate().getDayOfWeek().toString();
                     
                     // Print duties for this day
@@ -0,0 +1,31 @@
+package com.jamesdegroot.calendar;
+
+/**
+ * Duty grid cells in a single int array on the heap.
+ */
+public class ArrayDutyGridStorage implements DutyGridStorage {
+    private final int[] cells;
+
+    /**
+     * Creates storage with every cell set to zero.
+     * @param size the number of cells
+     */
+    public ArrayDutyGridStorage(int size) {
+        this.cells = new int[size];
+    }
+
+    @Override
+    public int size() {
+        return cells.length;
+    }
+
+    @Override
+    public int get(int index) {
+        return cells[index];
+    }
+
+    @Override
+    public void set(int index, int value) {
+        cells[index] = value;
+    }
+}
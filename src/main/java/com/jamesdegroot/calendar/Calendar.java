@@ -1,15 +1,24 @@
 package com.jamesdegroot.calendar;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
 
 import com.jamesdegroot.GenerateDutyCalendar;
+import com.jamesdegroot.io.IcsEventParser;
+import com.jamesdegroot.teacher.TeacherRegistry;
 
 /**
  * This class will define the object that will be used to store the calendar.
@@ -28,26 +37,33 @@ public class Calendar {
     private static final int SCHOOL_YEAR_END_MONTH = 6;
     private static final int SCHOOL_YEAR_END_DAY = 28;
     
-    // ICS file parsing constants
-    private static final String EVENT_START = "BEGIN:VEVENT";
-    private static final String EVENT_END = "END:VEVENT";
-    private static final String SUMMARY_PREFIX = "SUMMARY:";
-    private static final String START_DATE_PREFIX = "DTSTART;VALUE=DATE:";
-    private static final String END_DATE_PREFIX = "DTEND;VALUE=DATE:";
-    private static final String DESCRIPTION_PREFIX = "DESCRIPTION:";
-    
     // Date format constants
-    private static final String DATE_FORMAT_PATTERN = "yyyyMMdd";
     private static final String DISPLAY_DATE_FORMAT = "EEEE, MMMM d, yyyy";
     
     // Display format constants
     private static final String DUTY_FORMAT = "%-12s | %-30s | %-20s\n";
     private static final String UNASSIGNED_TEXT = "UNASSIGNED";
-    private static final String TIME_SLOT_PREFIX = "Slot ";
+    private static final String ROTATION_PREFIX = " (Day ";
+    
+    // Rotation constants
+    private static final int DEFAULT_ROTATION_CYCLE = 2;  // Day 1 / Day 2
     
     private List<Holiday> events;
+    private HolidayIndex holidayIndex;  // built on first use, dropped when events are added
     private List<Day> daysOfYear = new ArrayList<>(DEFAULT_DAYS_IN_YEAR);
-
+    private SlotLayout slotLayout = SlotLayout.DEFAULT;  // duty slots of this school's days
+    
+    // Index of daysOfYear by epoch day, rebuilt by initializeDaysOfYear
+    private long firstEpochDay;
+    private Day[] daysByEpochDay = new Day[0];
+    private BitSet schoolDays = new BitSet();
+    private int rotationCycle = DEFAULT_ROTATION_CYCLE;
+    private RotationTable rotationTable;  // built on first use, dropped when school days change
+    private TermTable termTable;          // set by setTermTable, or the default terms of the active year
+    private boolean hasCustomTerms;
+    
+    // Further school years, keyed by first epoch day, whose days are created on first lookup
+    private final TreeMap<Long, CalendarYear> schoolYears = new TreeMap<>();
    
 
     public Calendar() {
@@ -60,67 +76,223 @@ public class Calendar {
      * @throws IOException if there is an error reading the ICS file    
      */
     public void loadFromICS(String filename) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line;
-            Holiday currentEvent = null;
-            String summary = null;
-            LocalDate startDate = null;
-            LocalDate endDate = null;
-            String description = "";
-            
-            while ((line = reader.readLine()) != null) {
-                if (line.startsWith(EVENT_START)) {
-                    summary = null;
-                    startDate = null;
-                    endDate = null;
-                    description = "";
-                } else if (line.startsWith(SUMMARY_PREFIX)) {
-                    summary = line.substring(SUMMARY_PREFIX.length());
-                } else if (line.startsWith(START_DATE_PREFIX)) {
-                    startDate = parseDate(line.substring(START_DATE_PREFIX.length()));
-                } else if (line.startsWith(END_DATE_PREFIX)) {
-                    endDate = parseDate(line.substring(END_DATE_PREFIX.length()));
-                } else if (line.startsWith(DESCRIPTION_PREFIX)) {
-                    description = line.substring(DESCRIPTION_PREFIX.length());
-                } else if (line.startsWith(EVENT_END) && summary != null && startDate != null && endDate != null) {
-                    currentEvent = new Holiday(summary, startDate, endDate, description);
-                    events.add(currentEvent);
-                }
-            }
+        try {
+            IcsEventParser.parse(Path.of(filename), this::addHoliday);
         } catch (IOException e) {
             System.err.println("Error reading ICS file: " + e.getMessage());
         }
     }
 
     /**
-     * Parses a date string into a LocalDate object.
-     * @param dateStr the date string to parse
-     * @return the parsed LocalDate object
+     * Checks if a given date is a school day.
+     * @param date the date to check
+     * @return true if the date is a school day, false otherwise
+     */
+    public boolean isSchoolDay(LocalDate date) {
+        int offset = getOffset(date);
+        if (offset >= 0) {
+            return schoolDays.get(offset);
+        }
+        CalendarYear year = findSchoolYear(date);
+        return year != null && year.isSchoolDay((int) (date.toEpochDay() - year.getFirstEpochDay()), this);
+    }
+
+    /**
+     * Gets the day for a date, creating it first if it belongs to a school year added with addSchoolYear.
+     * @param date the date to look up
+     * @return the day, or null if the date is outside the calendar
      */
-    private LocalDate parseDate(String dateStr) {
-        // Clean up the date string by removing any non-digit characters
-        dateStr = dateStr.replaceAll("[^0-9]", "");
-        
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_FORMAT_PATTERN);
-            return LocalDate.parse(dateStr, formatter);
-        } catch (Exception e) {
-            System.err.println("Error parsing date: " + dateStr);
+    public Day getDay(LocalDate date) {
+        int offset = getOffset(date);
+        if (offset >= 0) {
+            return daysByEpochDay[offset];
+        }
+        CalendarYear year = findSchoolYear(date);
+        return year != null ? year.getDay((int) (date.toEpochDay() - year.getFirstEpochDay()), this) : null;
+    }
+
+    /**
+     * Adds a school year, such as a past year kept for audits, whose days are only created
+     * when they are looked up through getDay or getSchoolYear.
+     * @param startDate the first day of the year
+     * @param endDate the last day of the year
+     * @throws IllegalArgumentException if the dates are reversed or overlap the active year or another added year
+     */
+    public void addSchoolYear(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("School year ends before it starts: " + startDate + " to " + endDate);
+        }
+        CalendarYear year = new CalendarYear(startDate, endDate);
+        if (daysByEpochDay.length > 0 && year.getFirstEpochDay() < firstEpochDay + daysByEpochDay.length
+                && firstEpochDay < year.getFirstEpochDay() + year.getDayCount()) {
+            throw new IllegalArgumentException("School year starting " + startDate + " overlaps the active year");
+        }
+        for (CalendarYear other : schoolYears.values()) {
+            if (other.overlaps(year)) {
+                throw new IllegalArgumentException("School year starting " + startDate + " overlaps another year");
+            }
+        }
+        schoolYears.put(year.getFirstEpochDay(), year);
+    }
+
+    /**
+     * Gets every day of an added school year as a list that creates each day when it is read.
+     * @param date any date in the year
+     * @return the days in date order, empty if no added year holds the date
+     */
+    public List<Day> getSchoolYear(LocalDate date) {
+        CalendarYear year = findSchoolYear(date);
+        if (year == null) {
+            return List.of();
+        }
+        return new AbstractList<Day>() {
+            @Override
+            public Day get(int offset) {
+                if (offset < 0 || offset >= year.getDayCount()) {
+                    throw new IndexOutOfBoundsException("Day " + offset + " of " + year.getDayCount());
+                }
+                return year.getDay(offset, Calendar.this);
+            }
+
+            @Override
+            public int size() {
+                return year.getDayCount();
+            }
+        };
+    }
+
+    /**
+     * Drops the created days of an added school year to free their memory.
+     * Edits to those days are lost; the days are created again on the next lookup.
+     * @param date any date in the year
+     */
+    public void evictSchoolYear(LocalDate date) {
+        CalendarYear year = findSchoolYear(date);
+        if (year != null) {
+            year.evict();
+        }
+    }
+
+    /**
+     * Counts the days of added school years that have been created and not evicted.
+     * @return the number of created days
+     */
+    public int countMaterializedDays() {
+        int count = 0;
+        for (CalendarYear year : schoolYears.values()) {
+            count += year.getMaterializedDays();
+        }
+        return count;
+    }
+
+    private CalendarYear findSchoolYear(LocalDate date) {
+        if (date == null) {
             return null;
         }
+        Map.Entry<Long, CalendarYear> entry = schoolYears.floorEntry(date.toEpochDay());
+        return entry != null && entry.getValue().contains(date.toEpochDay()) ? entry.getValue() : null;
     }
 
     /**
-     * Checks if a given date is a school day.
-     * @param date the date to check
-     * @return true if the date is a school day, false otherwise
+     * Gets the days between two dates, inclusive, as a view of the calendar's day list.
+     * Dates outside the calendar are clipped to its first and last day.
+     * @param startDate the first date of the range
+     * @param endDate the last date of the range
+     * @return the days in date order, empty if the range misses the calendar
      */
-    public boolean isSchoolDay(LocalDate date) {
-        return daysOfYear.stream()
-            .filter(d -> d.getDate().equals(date))
-            .findFirst()
-            .map(Day::isSchoolDay)
-            .orElse(false);
+    public List<Day> getDays(LocalDate startDate, LocalDate endDate) {
+        int start = clampStart(startDate);
+        int end = clampEnd(endDate);
+        return start > end ? List.of() : Collections.unmodifiableList(daysOfYear.subList(start, end + 1));
+    }
+
+    /**
+     * Gets the school days between two dates, inclusive.
+     * @param startDate the first date of the range
+     * @param endDate the last date of the range
+     * @return the school days in date order
+     */
+    public List<Day> getSchoolDays(LocalDate startDate, LocalDate endDate) {
+        List<Day> result = new ArrayList<>();
+        int end = clampEnd(endDate);
+        for (int offset = schoolDays.nextSetBit(clampStart(startDate)); offset >= 0 && offset <= end;
+                offset = schoolDays.nextSetBit(offset + 1)) {
+            result.add(daysByEpochDay[offset]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets every school day of the calendar.
+     * @return the school days in date order
+     */
+    public List<Day> getSchoolDays() {
+        List<Day> result = new ArrayList<>(schoolDays.cardinality());
+        for (int offset = schoolDays.nextSetBit(0); offset >= 0; offset = schoolDays.nextSetBit(offset + 1)) {
+            result.add(daysByEpochDay[offset]);
+        }
+        return result;
+    }
+
+    /**
+     * Counts the school days between two dates, inclusive.
+     * @param startDate the first date of the range
+     * @param endDate the last date of the range
+     * @return the number of school days
+     */
+    public int countSchoolDays(LocalDate startDate, LocalDate endDate) {
+        int start = clampStart(startDate);
+        int end = clampEnd(endDate);
+        return start > end ? 0 : schoolDays.get(start, end + 1).cardinality();
+    }
+
+    /**
+     * Keeps the school day index in step with a day's status.
+     * Called by Day.setSchoolDay for days of this calendar.
+     * @param day the changed day
+     */
+    void updateSchoolDay(Day day) {
+        int offset = getOffset(day.getDate());
+        if (offset >= 0 && daysByEpochDay[offset] == day && schoolDays.get(offset) != day.isSchoolDay()) {
+            schoolDays.set(offset, day.isSchoolDay());
+            rotationTable = null;
+        }
+    }
+
+    /**
+     * Gets the index of a date in daysByEpochDay.
+     * @return the index, or -1 if the date is outside the calendar
+     */
+    private int getOffset(LocalDate date) {
+        if (date == null) {
+            return -1;
+        }
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < daysByEpochDay.length ? (int) offset : -1;
+    }
+
+    private int clampStart(LocalDate date) {
+        return (int) Math.max(0, Math.min(date.toEpochDay() - firstEpochDay, daysByEpochDay.length));
+    }
+
+    private int clampEnd(LocalDate date) {
+        return (int) Math.max(-1, Math.min(date.toEpochDay() - firstEpochDay, daysByEpochDay.length - 1));
+    }
+
+    /**
+     * Rebuilds the epoch day index over daysOfYear, which holds consecutive dates.
+     */
+    private void buildDayIndex() {
+        firstEpochDay = daysOfYear.isEmpty() ? 0 : daysOfYear.get(0).getDate().toEpochDay();
+        daysByEpochDay = new Day[daysOfYear.size()];
+        schoolDays = new BitSet(daysOfYear.size());
+        for (Day day : daysOfYear) {
+            int offset = (int) (day.getDate().toEpochDay() - firstEpochDay);
+            daysByEpochDay[offset] = day;
+            schoolDays.set(offset, day.isSchoolDay());
+            day.calendar = this;
+        }
+        rotationTable = null;
     }
 
     /**
@@ -131,96 +303,286 @@ public class Calendar {
         return events;
     }
 
+    /**
+     * Gets the duty slots of this school's days.
+     * @return the slot layout
+     */
+    public SlotLayout getSlotLayout() {
+        return slotLayout;
+    }
+
+    /**
+     * Sets the duty slots of this school's days, used by the next initializeDaysOfYear.
+     * @param slotLayout the slot layout
+     */
+    public void setSlotLayout(SlotLayout slotLayout) {
+        this.slotLayout = slotLayout;
+    }
+
+    /**
+     * Copies the duties of every school day into a flat grid of teacher IDs.
+     * The grid is a snapshot: edits to it do not reach the calendar's days.
+     * @return the grid, ordered by date
+     * @throws IllegalArgumentException if a duty has more than one teacher on a rotation
+     */
+    public DutyGrid createDutyGrid() {
+        return DutyGrid.fromDays(getSchoolDays());
+    }
+
+    /**
+     * Groups the school days by the calendar's terms, weekday and rotation in one pass.
+     * @return the index, a snapshot of the current school days
+     */
+    public SchoolDayIndex indexSchoolDays() {
+        TermTable terms = getTermTable();
+        return indexSchoolDays(terms::getTerm, terms.getTermCount());
+    }
+
+    /**
+     * Gets the terms of the active year.
+     * @return the terms set with setTermTable, or the default four terms of the year
+     */
+    public TermTable getTermTable() {
+        if (termTable == null) {
+            termTable = TermTable.forSchoolYear(
+                LocalDate.of(SCHOOL_YEAR_START_YEAR, SCHOOL_YEAR_START_MONTH, SCHOOL_YEAR_START_DAY),
+                LocalDate.of(SCHOOL_YEAR_END_YEAR, SCHOOL_YEAR_END_MONTH, SCHOOL_YEAR_END_DAY));
+        }
+        return termTable;
+    }
+
+    /**
+     * Sets the terms of the active year, for example loaded from configuration or
+     * derived from events with TermTable.fromEvents. Kept when the year is reinitialized.
+     * @param termTable the terms
+     */
+    public void setTermTable(TermTable termTable) {
+        this.termTable = termTable;
+        this.hasCustomTerms = true;
+    }
+
+    /**
+     * Groups the school days by term, weekday and rotation in one pass.
+     * @param termOf the term number of a date, or -1 for dates outside every term
+     * @param terms the number of terms
+     * @return the index, a snapshot of the current school days
+     */
+    public SchoolDayIndex indexSchoolDays(ToIntFunction<LocalDate> termOf, int terms) {
+        List<Day> days = getSchoolDays();
+        RotationTable rotations = getRotationTable();
+        int[] dayTerms = new int[days.size()];
+        int[] dayRotations = new int[days.size()];
+        for (int i = 0; i < days.size(); i++) {
+            dayTerms[i] = termOf.applyAsInt(days.get(i).getDate());
+            dayRotations[i] = rotations.getRotation(i);
+        }
+        return new SchoolDayIndex(days, dayTerms, dayRotations, terms);
+    }
+
+    /**
+     * Gets the rotation day of every school day of the active year.
+     * @return the table, rebuilt after school days change
+     */
+    public RotationTable getRotationTable() {
+        if (rotationTable == null) {
+            rotationTable = new RotationTable(firstEpochDay, daysByEpochDay.length, schoolDays, rotationCycle);
+        }
+        return rotationTable;
+    }
+
+    /**
+     * Sets how many rotation days make up a cycle, 2 for Day 1 / Day 2.
+     * @param rotationCycle the number of rotation days
+     */
+    public void setRotationCycle(int rotationCycle) {
+        if (rotationCycle < 1 || rotationCycle > RotationTable.MAX_CYCLE_LENGTH) {
+            throw new IllegalArgumentException("Rotation cycle must have 1 to " + RotationTable.MAX_CYCLE_LENGTH + " days");
+        }
+        this.rotationCycle = rotationCycle;
+        this.rotationTable = null;
+    }
+
+    /**
+     * Gets the index for looking up events by date range or summary keyword.
+     * @return the index over the current events
+     */
+    public HolidayIndex getHolidayIndex() {
+        if (holidayIndex == null) {
+            holidayIndex = new HolidayIndex(events);
+        }
+        return holidayIndex;
+    }
+
     /**
      * Prints the school days between two dates.
      * @param startDate the start date
      * @param endDate the end date
      */
     public void printSchoolDays(LocalDate startDate, LocalDate endDate) {
-        System.out.println("\nDuty Schedule:");
-        System.out.println("=".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
+        PrintWriter writer = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        printSchoolDays(startDate, endDate, writer);
+        writer.flush();
+    }
+
+    /**
+     * Writes the duty schedule of the school days between two dates.
+     * @param startDate the start date
+     * @param endDate the end date
+     * @param writer the writer to print to, flushed by the caller
+     */
+    public void printSchoolDays(LocalDate startDate, LocalDate endDate, PrintWriter writer) {
+        DateTimeFormatter displayFormat = DateTimeFormatter.ofPattern(DISPLAY_DATE_FORMAT);
+        String separator = "-".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR);
+        
+        writer.println("\nDuty Schedule:");
+        writer.println("=".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
         
-        LocalDate current = startDate;
-        while (!current.isAfter(endDate)) {
-            final LocalDate date = current;
-            Optional<Day> dayOpt = daysOfYear.stream()
-                .filter(d -> d.getDate().equals(date))
-                .findFirst();
+        RotationTable rotations = getRotationTable();
+        for (Day day : getDays(startDate, endDate)) {
+            if (day.isSchoolDay()) {
+                int rotation = rotations.getRotation(day.getDate());
+                writer.println("\n" + day.getDate().format(displayFormat) + ROTATION_PREFIX + (rotation + 1) + ")");
+                writer.println(separator);
+                writer.printf(DUTY_FORMAT, "Time Slot", "Duty", "Teacher");
+                writer.println(separator);
                 
-            if (dayOpt.isPresent()) {
-                Day day = dayOpt.get();
-                if (day.isSchoolDay()) {
-                    System.out.println("\n" + day.getDate().format(
-                        DateTimeFormatter.ofPattern(DISPLAY_DATE_FORMAT)));
-                    System.out.println("-".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
-                    System.out.printf(DUTY_FORMAT, "Time Slot", "Duty", "Teacher");
-                    System.out.println("-".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
-                    
-                    Duty[][] duties = day.getDutySchedule();
-                    for (int timeSlot = 0; timeSlot < duties.length; timeSlot++) {
-                        for (int pos = 0; pos < duties[timeSlot].length; pos++) {
-                            Duty duty = duties[timeSlot][pos];
-                            if (duty != null) {
-                                System.out.printf(DUTY_FORMAT,
-                                    String.format(TIME_SLOT_PREFIX + "%d", timeSlot + 1),
-                                    duty.getName(),
-                                    duty.getTeacher() != null ? duty.getTeacher() : UNASSIGNED_TEXT
-                                );
-                            }
+                Duty[][] duties = day.getDutySchedule();
+                for (int timeSlot = 0; timeSlot < duties.length; timeSlot++) {
+                    for (int pos = 0; pos < duties[timeSlot].length; pos++) {
+                        Duty duty = duties[timeSlot][pos];
+                        if (duty != null) {
+                            writer.printf(DUTY_FORMAT,
+                                duty.getTimeSlot(),
+                                duty.getName(),
+                                getRotationTeachers(duty, rotation)
+                            );
                         }
                     }
                 }
             }
-            current = current.plusDays(1);
         }
     }
 
+    /**
+     * Gets the teachers of a duty on a rotation day, Day 2 teachers on even-numbered days of the cycle.
+     * Falls back to the other rotation's teachers when the duty has none for this one.
+     */
+    private static String getRotationTeachers(Duty duty, int rotation) {
+        int[] teacherIds = duty.getTeacherIds(rotation);
+        if (teacherIds.length == 0) {
+            return UNASSIGNED_TEXT;
+        }
+        StringBuilder teachers = new StringBuilder();
+        for (int teacherId : teacherIds) {
+            if (teachers.length() > 0) {
+                teachers.append(", ");
+            }
+            teachers.append(TeacherRegistry.getName(teacherId));
+        }
+        return teachers.toString();
+    }
+
     /**
      * Initializes the days of the year for 2024
      */
     public void initializeDaysOfYear() {
-        LocalDate startDate = LocalDate.of(SCHOOL_YEAR_START_YEAR, SCHOOL_YEAR_START_MONTH, SCHOOL_YEAR_START_DAY);
-        LocalDate endDate = LocalDate.of(SCHOOL_YEAR_END_YEAR, SCHOOL_YEAR_END_MONTH, SCHOOL_YEAR_END_DAY);
+        initializeDaysOfYear(LocalDate.of(SCHOOL_YEAR_START_YEAR, SCHOOL_YEAR_START_MONTH, SCHOOL_YEAR_START_DAY),
+            LocalDate.of(SCHOOL_YEAR_END_YEAR, SCHOOL_YEAR_END_MONTH, SCHOOL_YEAR_END_DAY));
+    }
+
+    /**
+     * Initializes the days of the active school year, the one duties are assigned for.
+     * @param startDate the first day of the year
+     * @param endDate the last day of the year
+     */
+    public void initializeDaysOfYear(LocalDate startDate, LocalDate endDate) {
+        // Start over when the calendar is reloaded
+        daysOfYear.clear();
+        if (!hasCustomTerms) {
+            termTable = TermTable.forSchoolYear(startDate, endDate);
+        }
+        
+        // Mark the days covered by any event in one pass over the events
+        long firstDay = startDate.toEpochDay();
+        int dayCount = (int) Math.max(0, endDate.toEpochDay() - firstDay + 1);
+        BitSet coveredByEvent = resolveEventDays(firstDay, dayCount);
         
         LocalDate currentDate = startDate;
-        while (!currentDate.isAfter(endDate)) {
-            Day day = new Day(currentDate);
-            
-            // Set school day status based on weekends and holidays
-            boolean isSchoolDay = true;
-            if (currentDate.getDayOfWeek().getValue() >= 6) {
-                isSchoolDay = false;
-            }
-            for (Holiday event : events) {
-                if (currentDate.equals(event.getStartDate()) || 
-                    currentDate.equals(event.getEndDate()) || 
-                    (currentDate.isAfter(event.getStartDate()) && 
-                     currentDate.isBefore(event.getEndDate()))) {
-                    isSchoolDay = false;
-                    break;
+        for (int offset = 0; offset < dayCount; offset++) {
+            daysOfYear.add(createDay(currentDate, coveredByEvent.get(offset)));
+            currentDate = currentDate.plusDays(1);
+        }
+        buildDayIndex();
+    }
+
+    /**
+     * Creates a day with the school's duties if it is a school day.
+     * @param date the date of the day
+     * @param coveredByEvent whether an event covers the date
+     * @return the new day
+     */
+    Day createDay(LocalDate date, boolean coveredByEvent) {
+        Day day = new Day(date, slotLayout);
+        
+        // Set school day status based on weekends and holidays
+        boolean isSchoolDay = date.getDayOfWeek().getValue() < 6 && !coveredByEvent;
+        day.setSchoolDay(isSchoolDay);
+        
+        // Initialize duties if it's a school day
+        if (isSchoolDay) {
+            for (int timeSlot = 0; timeSlot < slotLayout.getTimeSlots(); timeSlot++) {
+                for (int position = 0; position < slotLayout.getPositions(timeSlot); position++) {
+                    day.addDuty(timeSlot, position, slotLayout.createDuty(timeSlot, position));
                 }
             }
-            day.setSchoolDay(isSchoolDay);
-            
-            // Initialize duties if it's a school day
-            if (isSchoolDay) {
-                for (int timeSlot = 0; timeSlot < Day.TIME_SLOTS; timeSlot++) {
-                    for (int position = 0; position < Day.DUTIES_PER_SLOT; position++) {
-                        int dutyIndex = (timeSlot * Day.DUTIES_PER_SLOT) + position;
-                        String dutyName = dutyIndex < Duty.DUTY_NAMES.length ? Duty.DUTY_NAMES[dutyIndex] : "Duty " + (dutyIndex + 1);
-                        Duty duty = new Duty(
-                            dutyName,
-                            "",  // No description needed
-                            "Various",  // room
-                            String.format(TIME_SLOT_PREFIX + "%d", timeSlot + 1)  // time slot
-                        );
-                        day.addDuty(timeSlot, position, duty);
-                    }
-                }
+        }
+        day.calendar = this;
+        return day;
+    }
+
+    /**
+     * Finds the days covered by at least one event, start and end dates included.
+     * Each event adds one at its first day and subtracts one after its last day of a
+     * difference array, so a running sum gives the number of events covering each day.
+     * @param firstDay the epoch day of the first day
+     * @param dayCount the number of days
+     * @return a set bit for each day covered by an event
+     */
+    BitSet resolveEventDays(long firstDay, int dayCount) {
+        int[] difference = new int[dayCount + 1];
+        for (Holiday event : events) {
+            if (event.getStartDate() == null || event.getEndDate() == null) {
+                continue;
             }
-            
-            daysOfYear.add(day);
-            currentDate = currentDate.plusDays(1);
+            long start = event.getStartDate().toEpochDay() - firstDay;
+            long end = event.getEndDate().toEpochDay() - firstDay;
+            if (end < start) {
+                // Only the two dates themselves match an event that ends before it starts
+                markEventRange(difference, start, start);
+                markEventRange(difference, end, end);
+            } else {
+                markEventRange(difference, start, end);
+            }
+        }
+        
+        BitSet covered = new BitSet(dayCount);
+        int activeEvents = 0;
+        for (int offset = 0; offset < dayCount; offset++) {
+            activeEvents += difference[offset];
+            if (activeEvents > 0) {
+                covered.set(offset);
+            }
+        }
+        return covered;
+    }
+
+    private void markEventRange(int[] difference, long start, long end) {
+        int dayCount = difference.length - 1;
+        int first = (int) Math.max(0, start);
+        int last = (int) Math.min(dayCount - 1, end);
+        if (first <= last) {
+            difference[first]++;
+            difference[last + 1]--;
         }
     }
 
@@ -239,6 +601,8 @@ public class Calendar {
     public void addHoliday(Holiday event) {
         if (event != null) {
             events.add(event);
+            holidayIndex = null;
+            schoolYears.values().forEach(CalendarYear::invalidateEvents);
         }
     }
 }
@@ -0,0 +1,98 @@
+package com.jamesdegroot.calendar;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * A school year of a calendar whose days are only created when they are first looked up.
+ * Which days events cover is worked out once for the whole year on first use; the days
+ * themselves, with their duty arrays, are built one at a time and can be dropped again
+ * with evict when the year is no longer being looked at.
+ */
+class CalendarYear {
+    private final long firstEpochDay;
+    private final int dayCount;
+    private Day[] days;           // null until a day is first looked up
+    private BitSet coveredDays;   // days covered by an event, null until needed
+    private int materializedDays;
+
+    CalendarYear(LocalDate startDate, LocalDate endDate) {
+        this.firstEpochDay = startDate.toEpochDay();
+        this.dayCount = (int) (endDate.toEpochDay() - firstEpochDay + 1);
+    }
+
+    boolean contains(long epochDay) {
+        return epochDay >= firstEpochDay && epochDay < firstEpochDay + dayCount;
+    }
+
+    boolean overlaps(CalendarYear other) {
+        return firstEpochDay < other.firstEpochDay + other.dayCount && other.firstEpochDay < firstEpochDay + dayCount;
+    }
+
+    long getFirstEpochDay() {
+        return firstEpochDay;
+    }
+
+    int getDayCount() {
+        return dayCount;
+    }
+
+    int getMaterializedDays() {
+        return materializedDays;
+    }
+
+    /**
+     * Gets a day of the year, creating it on first use.
+     * @param offset the day's index from the first day of the year
+     * @param calendar the calendar creating the day
+     * @return the day
+     */
+    Day getDay(int offset, Calendar calendar) {
+        if (days == null) {
+            days = new Day[dayCount];
+        }
+        if (days[offset] == null) {
+            days[offset] = calendar.createDay(LocalDate.ofEpochDay(firstEpochDay + offset),
+                isCovered(offset, calendar));
+            materializedDays++;
+        }
+        return days[offset];
+    }
+
+    /**
+     * Checks if a day is a school day without creating it.
+     * @param offset the day's index from the first day of the year
+     * @param calendar the calendar holding the events
+     * @return the day's status if it was created, otherwise whether it is a weekday no event covers
+     */
+    boolean isSchoolDay(int offset, Calendar calendar) {
+        if (days != null && days[offset] != null) {
+            return days[offset].isSchoolDay();
+        }
+        return LocalDate.ofEpochDay(firstEpochDay + offset).getDayOfWeek().getValue() < 6
+            && !isCovered(offset, calendar);
+    }
+
+    private boolean isCovered(int offset, Calendar calendar) {
+        if (coveredDays == null) {
+            coveredDays = calendar.resolveEventDays(firstEpochDay, dayCount);
+        }
+        return coveredDays.get(offset);
+    }
+
+    /**
+     * Forgets the event coverage so days created later see the current events.
+     */
+    void invalidateEvents() {
+        coveredDays = null;
+    }
+
+    /**
+     * Drops every created day, including any edits made to them.
+     */
+    void evict() {
+        days = null;
+        coveredDays = null;
+        materializedDays = 0;
+    }
+}
@@ -6,23 +6,37 @@ import java.time.LocalDate;
  * Represents a day in the calendar.
  */
 public class Day {
-    public static final int TIME_SLOTS = 11;  // Number of duty time slots (maybe 11)
-    public static final int DUTIES_PER_SLOT = 1;  // Number of duties per time slot - easily changeable
+    public static final int TIME_SLOTS = 11;  // Number of duty time slots in the default layout
+    public static final int DUTIES_PER_SLOT = 1;  // Number of duties per time slot in the default layout
     
     private LocalDate date;
-    private Duty[][] dutySchedule; // 2D array [timeSlot][dutyPosition]
+    private final SlotLayout layout;
+    private Duty[][] dutySchedule; // 2D array [timeSlot][dutyPosition], sized to the layout
+    private boolean sharesTemplate; // dutySchedule belongs to a template shared with other days
+    private boolean isOverridden;   // the day's own copy of a template was edited
     private boolean isSchoolDay;
     private boolean isHoliday;
+    Calendar calendar;              // calendar indexing this day, told when the school day status changes
 
     /**
      * Constructs a new Day object.
      * @param date the date of the day
      */
     public Day(LocalDate date) {
+        this(date, SlotLayout.DEFAULT);
+    }
+
+    /**
+     * Constructs a new Day object with a school's slot layout.
+     * @param date the date of the day
+     * @param layout the time slots and duties of the day
+     */
+    public Day(LocalDate date, SlotLayout layout) {
         this.date = date;
+        this.layout = layout;
         this.isSchoolDay = true;
         this.isHoliday = false;
-        this.dutySchedule = new Duty[TIME_SLOTS][DUTIES_PER_SLOT];
+        this.dutySchedule = layout.createSchedule();
     }
 
     /**
@@ -32,32 +46,108 @@ public class Day {
      * @param duty the duty to add
      */
     public void addDuty(int timeSlot, int position, Duty duty) {
-        if (timeSlot >= 0 && timeSlot < TIME_SLOTS && 
-            position >= 0 && position < DUTIES_PER_SLOT) {
+        if (isInSchedule(timeSlot, position)) {
+            copyTemplateOnWrite();
             dutySchedule[timeSlot][position] = duty;
         }
     }
 
+    /**
+     * Makes the day show a template's duties without copying them.
+     * The schedule stays owned by the template, so later changes to the template are seen here
+     * until the day is edited through addDuty or editDuty.
+     * @param templateSchedule the template's duty schedule
+     */
+    public void useTemplate(Duty[][] templateSchedule) {
+        this.dutySchedule = templateSchedule;
+        this.sharesTemplate = true;
+        this.isOverridden = false;
+    }
+
+    /**
+     * Gets a duty of this day for editing, copying the shared template first if needed.
+     * @param timeSlot the time slot index
+     * @param position the position in the time slot
+     * @return the day's own duty, or null if there is no duty there
+     */
+    public Duty editDuty(int timeSlot, int position) {
+        if (!isInSchedule(timeSlot, position)) {
+            return null;
+        }
+        copyTemplateOnWrite();
+        return dutySchedule[timeSlot][position];
+    }
+
+    /**
+     * Replaces a shared template schedule with a private copy before it is changed.
+     */
+    private void copyTemplateOnWrite() {
+        if (!sharesTemplate) {
+            return;
+        }
+        Duty[][] ownSchedule = new Duty[dutySchedule.length][];
+        for (int timeSlot = 0; timeSlot < dutySchedule.length; timeSlot++) {
+            ownSchedule[timeSlot] = new Duty[dutySchedule[timeSlot].length];
+            for (int position = 0; position < dutySchedule[timeSlot].length; position++) {
+                Duty duty = dutySchedule[timeSlot][position];
+                ownSchedule[timeSlot][position] = duty != null ? new Duty(duty) : null;
+            }
+        }
+        dutySchedule = ownSchedule;
+        sharesTemplate = false;
+        isOverridden = true;
+    }
+
+    private boolean isInSchedule(int timeSlot, int position) {
+        return timeSlot >= 0 && timeSlot < dutySchedule.length
+            && position >= 0 && position < dutySchedule[timeSlot].length;
+    }
+
+    /**
+     * Checks if the day shows a shared template schedule.
+     * @return true if the duties belong to a template
+     */
+    public boolean sharesTemplate() {
+        return sharesTemplate;
+    }
+
+    /**
+     * Checks if the day's duties were edited after a template was applied.
+     * @return true if the day has its own edited copy of a template
+     */
+    public boolean isOverridden() {
+        return isOverridden;
+    }
+
     /**
      * Gets all duties for a specific time slot.
      * @param timeSlot the time slot index (0-3)
      * @return Array of duties for that time slot
      */
     public Duty[] getDuties(int timeSlot) {
-        if (timeSlot >= 0 && timeSlot < TIME_SLOTS) {
+        if (timeSlot >= 0 && timeSlot < dutySchedule.length) {
             return dutySchedule[timeSlot];
         }
-        return new Duty[DUTIES_PER_SLOT];
+        return new Duty[0];
     }
 
     /**
      * Gets the entire duty schedule.
+     * The schedule may be shared with other days (see sharesTemplate); change duties through editDuty.
      * @return 2D array of duties
      */
     public Duty[][] getDutySchedule() {
         return dutySchedule;
     }
 
+    /**
+     * Gets the slot layout the day was created with.
+     * @return the layout
+     */
+    public SlotLayout getLayout() {
+        return layout;
+    }
+
     /**
      * Gets the date of the day.
      * @return the date of the day
@@ -72,6 +162,9 @@ public class Day {
      */
     public void setSchoolDay(boolean isSchoolDay) {
         this.isSchoolDay = isSchoolDay;
+        if (calendar != null) {
+            calendar.updateSchoolDay(this);
+        }
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.jamesdegroot.calendar;
 
+import com.jamesdegroot.teacher.TeacherRegistry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class Duty {
@@ -50,20 +52,35 @@ public class Duty {
     
     private String name;            // Name of the duty (e.g., "[per 1] Hall")
     private String description;     // Additional details about the duty
-    private List<String> day1Teachers;  // Teachers assigned for Day 1
-    private List<String> day2Teachers;  // Teachers assigned for Day 2
+    private static final int[] NO_TEACHERS = new int[0];
+    
+    private int[] day1TeacherIds;  // TeacherRegistry IDs of the teachers assigned for Day 1
+    private int[] day2TeacherIds;  // TeacherRegistry IDs of the teachers assigned for Day 2
     private String room;           // Location of the duty
     private String timeSlot;       // Time period of the duty
     
     public Duty(String name, String description, String room, String time) {
         this.name = name;
         this.description = description;
-        this.day1Teachers = new ArrayList<>();
-        this.day2Teachers = new ArrayList<>();
+        this.day1TeacherIds = NO_TEACHERS;
+        this.day2TeacherIds = NO_TEACHERS;
         this.room = room;
         this.timeSlot = time;
     }   
 
+    /**
+     * Creates a copy of a duty with its own teacher assignments.
+     * @param other the duty to copy
+     */
+    public Duty(Duty other) {
+        this.name = other.name;
+        this.description = other.description;
+        this.day1TeacherIds = other.getDay1TeacherIds();  // never changed in place, safe to share
+        this.day2TeacherIds = other.getDay2TeacherIds();
+        this.room = other.room;
+        this.timeSlot = other.timeSlot;
+    }
+
     // Modified getters and setters
     public String getName() {
         return name;
@@ -73,18 +90,58 @@ public class Duty {
         return description;
     }
 
+    /**
+     * Gets the names of the Day 1 teachers, resolved for display.
+     * @return a new list of names
+     */
     public List<String> getDay1Teachers() {
-        return day1Teachers;
+        return resolveNames(getDay1TeacherIds());
     }
 
+    /**
+     * Gets the names of the Day 2 teachers, resolved for display.
+     * @return a new list of names
+     */
     public List<String> getDay2Teachers() {
-        return day2Teachers;
+        return resolveNames(getDay2TeacherIds());
+    }
+
+    /**
+     * Gets the IDs of the Day 1 teachers.
+     * @return the teacher IDs, must not be changed
+     */
+    public int[] getDay1TeacherIds() {
+        return day1TeacherIds;
+    }
+
+    /**
+     * Gets the IDs of the Day 2 teachers.
+     * @return the teacher IDs, must not be changed
+     */
+    public int[] getDay2TeacherIds() {
+        return day2TeacherIds;
+    }
+
+    /**
+     * Gets the IDs of the teachers on duty on a rotation day: the Day 2 teachers on
+     * even-numbered days of the cycle, otherwise the Day 1 teachers. Falls back to the
+     * other rotation's teachers when the duty has none for this one.
+     * @param rotation the rotation from RotationTable
+     * @return the teacher IDs, must not be changed
+     */
+    public int[] getTeacherIds(int rotation) {
+        boolean day2 = rotation % 2 == RotationTable.DAY_2;
+        int[] teacherIds = day2 ? getDay2TeacherIds() : getDay1TeacherIds();
+        if (teacherIds.length == 0) {
+            teacherIds = day2 ? getDay1TeacherIds() : getDay2TeacherIds();
+        }
+        return teacherIds;
     }
 
     public String getTeacher() {
         // For backward compatibility, returns teachers as comma-separated string
-        List<String> teachers = day1Teachers.isEmpty() ? day2Teachers : day1Teachers;
-        return teachers.isEmpty() ? "UNASSIGNED" : String.join(", ", teachers);
+        int[] teacherIds = getDay1TeacherIds().length == 0 ? getDay2TeacherIds() : getDay1TeacherIds();
+        return teacherIds.length == 0 ? "UNASSIGNED" : String.join(", ", resolveNames(teacherIds));
     }
 
     public String getRoom() {
@@ -105,23 +162,66 @@ public class Duty {
 
     public void addDay1Teacher(String teacher) {
         if (teacher != null && !teacher.isEmpty()) {
-            day1Teachers.add(teacher);
+            addDay1TeacherId(TeacherRegistry.idFor(teacher));
         }
     }
 
     public void addDay2Teacher(String teacher) {
         if (teacher != null && !teacher.isEmpty()) {
-            day2Teachers.add(teacher);
+            addDay2TeacherId(TeacherRegistry.idFor(teacher));
+        }
+    }
+
+    public void addDay1TeacherId(int teacherId) {
+        day1TeacherIds = append(day1TeacherIds, teacherId);
+    }
+
+    public void addDay2TeacherId(int teacherId) {
+        day2TeacherIds = append(day2TeacherIds, teacherId);
+    }
+
+    /**
+     * Takes a teacher off both rotations of this duty. Goes through the teacher
+     * accessors so subclasses that keep their teachers elsewhere are changed too.
+     * @param teacherId the ID of the teacher
+     * @return true if the teacher was on the duty
+     */
+    public boolean removeTeacherId(int teacherId) {
+        int[] day1 = getDay1TeacherIds();
+        int[] day2 = getDay2TeacherIds();
+        int[] keptDay1 = remove(day1, teacherId);
+        int[] keptDay2 = remove(day2, teacherId);
+        if (keptDay1 != day1) {
+            clearDay1Teachers();
+            for (int id : keptDay1) {
+                addDay1TeacherId(id);
+            }
+        }
+        if (keptDay2 != day2) {
+            clearDay2Teachers();
+            for (int id : keptDay2) {
+                addDay2TeacherId(id);
+            }
         }
+        return keptDay1 != day1 || keptDay2 != day2;
+    }
+
+    public void clearDay1Teachers() {
+        day1TeacherIds = NO_TEACHERS;
+    }
+
+    public void clearDay2Teachers() {
+        day2TeacherIds = NO_TEACHERS;
     }
 
     public void setTeacher(String teacher) {
         // For backward compatibility
-        day1Teachers.clear();
-        day2Teachers.clear();
+        clearDay1Teachers();
+        clearDay2Teachers();
         if (teacher != null && !teacher.isEmpty()) {
-            day1Teachers.add(teacher);
-            day2Teachers.add(teacher);
+            int teacherId = TeacherRegistry.idFor(teacher);
+            addDay1TeacherId(teacherId);
+            addDay2TeacherId(teacherId);
         }
     }
 
@@ -132,4 +232,38 @@ public class Duty {
     public void setTimeSlot(String time) {
         this.timeSlot = time;
     }   
+
+    private static int[] append(int[] teacherIds, int teacherId) {
+        int[] grown = Arrays.copyOf(teacherIds, teacherIds.length + 1);
+        grown[teacherIds.length] = teacherId;
+        return grown;
+    }
+
+    private static int[] remove(int[] teacherIds, int teacherId) {
+        int kept = 0;
+        for (int id : teacherIds) {
+            if (id != teacherId) {
+                kept++;
+            }
+        }
+        if (kept == teacherIds.length) {
+            return teacherIds;
+        }
+        int[] remaining = new int[kept];
+        int i = 0;
+        for (int id : teacherIds) {
+            if (id != teacherId) {
+                remaining[i++] = id;
+            }
+        }
+        return remaining;
+    }
+
+    private static List<String> resolveNames(int[] teacherIds) {
+        List<String> names = new ArrayList<>(teacherIds.length);
+        for (int teacherId : teacherIds) {
+            names.add(TeacherRegistry.getName(teacherId));
+        }
+        return names;
+    }
 }
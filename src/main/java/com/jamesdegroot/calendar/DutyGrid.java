@@ -0,0 +1,337 @@
+package com.jamesdegroot.calendar;
+
+import com.jamesdegroot.teacher.TeacherRegistry;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Year-level duty storage as one flat grid of teacher IDs.
+ * The cell of (day ordinal, time slot, position, rotation) sits at
+ * ((day * timeSlots + slot) * positions + position) * 2 + rotation, so a whole year is
+ * scanned with a single loop. Day and Duty objects are only created as views on request.
+ * Each cell holds one teacher; NO_TEACHER marks an open duty and NO_DUTY a slot without one.
+ * A grid built from days is a snapshot for exporting, storing and scanning them: later
+ * changes to the days are not seen, and changes through the grid's views do not reach them.
+ */
+public class DutyGrid {
+    public static final int DAY_1 = 0;
+    public static final int DAY_2 = 1;
+    public static final int ROTATIONS = 2;
+    public static final int NO_TEACHER = TeacherRegistry.NO_TEACHER;
+    public static final int NO_DUTY = -2;
+
+    private final long[] epochDays;   // date of each day ordinal, ascending
+    private final int timeSlots;
+    private final int positions;
+    private final SlotLayout layout;   // slots of the day views, names for duties not copied from a day
+    private final String[] dutyNames;  // name per (slot, position), from the first day that has the duty
+    private final String[] rooms;
+    private final String[] times;
+    private final DutyGridStorage storage;
+
+    /**
+     * Creates a grid holding a copy of the duties of the given days, stored on the heap.
+     * @param days the days to store, in date order
+     * @return the filled grid
+     * @throws IllegalArgumentException if a duty has more than one teacher on a rotation
+     */
+    public static DutyGrid fromDays(List<Day> days) {
+        SlotLayout layout = days.isEmpty() ? SlotLayout.DEFAULT : days.get(0).getLayout();
+        return new DutyGrid(days, layout.getTimeSlots(), layout.getMaxPositions(),
+            new ArrayDutyGridStorage(cellCount(days.size(), layout.getTimeSlots(), layout.getMaxPositions())));
+    }
+
+    /**
+     * Gets the number of cells a grid of the given size needs.
+     * @param dayCount the number of days
+     * @param timeSlots the number of time slots per day
+     * @param positions the number of duties per time slot
+     * @return the number of storage cells
+     */
+    public static int cellCount(int dayCount, int timeSlots, int positions) {
+        return Math.multiplyExact(Math.multiplyExact(dayCount, timeSlots), positions * ROTATIONS);
+    }
+
+    /**
+     * Creates a grid over existing storage and copies the duties of the given days into it.
+     * @param days the days to store, in date order
+     * @param timeSlots the number of time slots per day
+     * @param positions the number of duties per time slot
+     * @param storage the cells, at least cellCount(days.size(), timeSlots, positions) long
+     * @throws IllegalArgumentException if a duty has more than one teacher on a rotation,
+     *         which a cell cannot hold
+     */
+    public DutyGrid(List<Day> days, int timeSlots, int positions, DutyGridStorage storage) {
+        this(toEpochDays(days), layoutOf(days, timeSlots, positions), storage);
+        for (int ordinal = 0; ordinal < days.size(); ordinal++) {
+            Duty[][] dutySchedule = days.get(ordinal).getDutySchedule();
+            for (int slot = 0; slot < timeSlots; slot++) {
+                for (int position = 0; position < positions; position++) {
+                    Duty duty = slot < dutySchedule.length && position < dutySchedule[slot].length
+                        ? dutySchedule[slot][position] : null;
+                    int cell = index(ordinal, slot, position, DAY_1);
+                    if (duty == null) {
+                        storage.set(cell, NO_DUTY);
+                        storage.set(cell + 1, NO_DUTY);
+                        continue;
+                    }
+                    storage.set(cell, onlyTeacher(duty.getDay1TeacherIds(), duty, days.get(ordinal)));
+                    storage.set(cell + 1, onlyTeacher(duty.getDay2TeacherIds(), duty, days.get(ordinal)));
+                    int layoutIndex = slot * positions + position;
+                    if (dutyNames[layoutIndex] == null) {
+                        dutyNames[layoutIndex] = duty.getName();
+                        rooms[layoutIndex] = duty.getRoom();
+                        times[layoutIndex] = duty.getTimeSlot();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a grid over storage that already holds cells, for example a reopened file.
+     * @param epochDays the date of each day ordinal, ascending
+     * @param timeSlots the number of time slots per day
+     * @param positions the number of duties per time slot
+     * @param storage the cells
+     */
+    public DutyGrid(long[] epochDays, int timeSlots, int positions, DutyGridStorage storage) {
+        this(epochDays, SlotLayout.createDefault(timeSlots, positions), storage);
+    }
+
+    /**
+     * Creates a grid over storage that already holds cells, shaped and named by a school's layout.
+     * Every slot gets the layout's widest number of positions.
+     * @param epochDays the date of each day ordinal, ascending
+     * @param layout the slots of the school's days
+     * @param storage the cells
+     */
+    public DutyGrid(long[] epochDays, SlotLayout layout, DutyGridStorage storage) {
+        this.timeSlots = layout.getTimeSlots();
+        this.positions = layout.getMaxPositions();
+        if (storage.size() < cellCount(epochDays.length, timeSlots, positions)) {
+            throw new IllegalArgumentException("Storage too small for " + epochDays.length + " days");
+        }
+        this.epochDays = epochDays;
+        this.layout = layout;
+        this.dutyNames = new String[timeSlots * positions];
+        this.rooms = new String[timeSlots * positions];
+        this.times = new String[timeSlots * positions];
+        this.storage = storage;
+    }
+
+    /**
+     * Gets the storage index of a cell.
+     * @param ordinal the day ordinal
+     * @param slot the time slot
+     * @param position the position in the time slot
+     * @param rotation DAY_1 or DAY_2
+     * @return the index into the storage
+     */
+    public int index(int ordinal, int slot, int position, int rotation) {
+        return ((ordinal * timeSlots + slot) * positions + position) * ROTATIONS + rotation;
+    }
+
+    /**
+     * Gets the teacher of a cell.
+     * @return the teacher ID, NO_TEACHER or NO_DUTY
+     */
+    public int getTeacherId(int ordinal, int slot, int position, int rotation) {
+        return storage.get(index(ordinal, slot, position, rotation));
+    }
+
+    /**
+     * Sets the teacher of a cell.
+     * @param teacherId the teacher ID, or NO_TEACHER to open the duty
+     */
+    public void setTeacherId(int ordinal, int slot, int position, int rotation, int teacherId) {
+        storage.set(index(ordinal, slot, position, rotation), teacherId);
+    }
+
+    /**
+     * Checks if a day has a duty in a slot position.
+     * @return true if there is a duty
+     */
+    public boolean hasDuty(int ordinal, int slot, int position) {
+        return storage.get(index(ordinal, slot, position, DAY_1)) != NO_DUTY;
+    }
+
+    /**
+     * Gets the number of days in the grid.
+     * @return the number of day ordinals
+     */
+    public int getDayCount() {
+        return epochDays.length;
+    }
+
+    public int getTimeSlots() {
+        return timeSlots;
+    }
+
+    public int getPositions() {
+        return positions;
+    }
+
+    /**
+     * Gets the date of a day ordinal.
+     * @param ordinal the day ordinal
+     * @return the date
+     */
+    public LocalDate getDate(int ordinal) {
+        return LocalDate.ofEpochDay(epochDays[ordinal]);
+    }
+
+    /**
+     * Gets the ordinal of a date.
+     * @param date the date to look up
+     * @return the day ordinal, or -1 if the date is not in the grid
+     */
+    public int getOrdinal(LocalDate date) {
+        int ordinal = Arrays.binarySearch(epochDays, date.toEpochDay());
+        return ordinal >= 0 ? ordinal : -1;
+    }
+
+    /**
+     * Counts the duty cells and how many of them have a teacher.
+     * @return {cells, assigned cells}
+     */
+    public int[] countCoverage() {
+        int cells = 0;
+        int assigned = 0;
+        int size = cellCount(epochDays.length, timeSlots, positions);
+        for (int index = 0; index < size; index++) {
+            int value = storage.get(index);
+            if (value != NO_DUTY) {
+                cells++;
+                if (value != NO_TEACHER) {
+                    assigned++;
+                }
+            }
+        }
+        return new int[]{cells, assigned};
+    }
+
+    /**
+     * Counts the duty cells of every teacher over the whole grid.
+     * @return the number of cells per teacher ID
+     */
+    public int[] countDutiesPerTeacher() {
+        int[] counts = new int[TeacherRegistry.size()];
+        int size = cellCount(epochDays.length, timeSlots, positions);
+        for (int index = 0; index < size; index++) {
+            int teacherId = storage.get(index);
+            if (teacherId >= 0) {
+                if (teacherId >= counts.length) {
+                    counts = Arrays.copyOf(counts, teacherId + 1);
+                }
+                counts[teacherId]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets a duty that reads and writes its teachers straight from the grid.
+     * @return the duty view, or null if there is no duty in the slot position
+     */
+    public Duty getDuty(int ordinal, int slot, int position) {
+        if (!hasDuty(ordinal, slot, position)) {
+            return null;
+        }
+        int layoutIndex = slot * positions + position;
+        if (dutyNames[layoutIndex] == null) {
+            // Grids reopened from storage have no copied names, use the layout's
+            boolean inLayout = position < layout.getPositions(slot);
+            dutyNames[layoutIndex] = inLayout ? layout.getDutyName(slot, position) : "Duty " + (layoutIndex + 1);
+            rooms[layoutIndex] = inLayout ? layout.getRoom(slot, position) : "";
+            times[layoutIndex] = layout.getTime(slot);
+        }
+        return new GridDuty(this, index(ordinal, slot, position, DAY_1),
+            dutyNames[layoutIndex], rooms[layoutIndex], times[layoutIndex]);
+    }
+
+    /**
+     * Gets a day whose duties are views of the grid.
+     * @param ordinal the day ordinal
+     * @return the day view
+     */
+    public Day getDay(int ordinal) {
+        Day day = new Day(getDate(ordinal), layout);
+        for (int slot = 0; slot < timeSlots; slot++) {
+            for (int position = 0; position < layout.getPositions(slot); position++) {
+                Duty duty = getDuty(ordinal, slot, position);
+                if (duty != null) {
+                    day.addDuty(slot, position, duty);
+                }
+            }
+        }
+        return day;
+    }
+
+    /**
+     * Gets every day of the grid as a list that creates each Day view only when it is read,
+     * so code written against Calendar.getDaysOfYear() can walk a grid without loading it all.
+     * A day counts as a school day if it has any duty.
+     * @return the read-only list of day views
+     */
+    public List<Day> asDays() {
+        return new AbstractList<Day>() {
+            @Override
+            public Day get(int ordinal) {
+                Day day = getDay(ordinal);
+                day.setSchoolDay(hasAnyDuty(ordinal));
+                return day;
+            }
+
+            @Override
+            public int size() {
+                return epochDays.length;
+            }
+        };
+    }
+
+    private boolean hasAnyDuty(int ordinal) {
+        for (int slot = 0; slot < timeSlots; slot++) {
+            for (int position = 0; position < positions; position++) {
+                if (hasDuty(ordinal, slot, position)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    int getCell(int index) {
+        return storage.get(index);
+    }
+
+    void setCell(int index, int value) {
+        storage.set(index, value);
+    }
+
+    private static SlotLayout layoutOf(List<Day> days, int timeSlots, int positions) {
+        SlotLayout dayLayout = days.isEmpty() ? null : days.get(0).getLayout();
+        if (dayLayout != null && dayLayout.getTimeSlots() == timeSlots && dayLayout.getMaxPositions() == positions) {
+            return dayLayout;
+        }
+        return SlotLayout.createDefault(timeSlots, positions);
+    }
+
+    private static long[] toEpochDays(List<Day> days) {
+        long[] epochDays = new long[days.size()];
+        for (int ordinal = 0; ordinal < epochDays.length; ordinal++) {
+            epochDays[ordinal] = days.get(ordinal).getDate().toEpochDay();
+        }
+        return epochDays;
+    }
+
+    private static int onlyTeacher(int[] teacherIds, Duty duty, Day day) {
+        if (teacherIds.length > 1) {
+            throw new IllegalArgumentException(duty.getName() + " on " + day.getDate()
+                + " has " + teacherIds.length + " teachers on one rotation");
+        }
+        return teacherIds.length == 0 ? NO_TEACHER : teacherIds[0];
+    }
+}
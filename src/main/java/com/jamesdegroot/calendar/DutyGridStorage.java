@@ -0,0 +1,27 @@
+package com.jamesdegroot.calendar;
+
+/**
+ * Flat storage of the int cells of a DutyGrid.
+ * Implementations decide where the cells live; the grid only reads and writes them by index.
+ */
+public interface DutyGridStorage {
+    /**
+     * Gets the number of cells.
+     * @return the number of cells
+     */
+    int size();
+
+    /**
+     * Reads a cell.
+     * @param index the cell index
+     * @return the value of the cell
+     */
+    int get(int index);
+
+    /**
+     * Writes a cell.
+     * @param index the cell index
+     * @param value the new value
+     */
+    void set(int index, int value);
+}
@@ -0,0 +1,52 @@
+package com.jamesdegroot.calendar;
+
+/**
+ * A Duty whose Day 1 and Day 2 teachers live in a DutyGrid cell pair.
+ * The grid keeps one teacher per rotation, so adding a teacher replaces the current one.
+ */
+class GridDuty extends Duty {
+    private static final int[] NO_TEACHERS = new int[0];
+
+    private final DutyGrid grid;
+    private final int day1Cell;  // the Day 2 cell follows it
+
+    GridDuty(DutyGrid grid, int day1Cell, String name, String room, String time) {
+        super(name, "", room, time);
+        this.grid = grid;
+        this.day1Cell = day1Cell;
+    }
+
+    @Override
+    public int[] getDay1TeacherIds() {
+        return toIds(grid.getCell(day1Cell));
+    }
+
+    @Override
+    public int[] getDay2TeacherIds() {
+        return toIds(grid.getCell(day1Cell + 1));
+    }
+
+    @Override
+    public void addDay1TeacherId(int teacherId) {
+        grid.setCell(day1Cell, teacherId);
+    }
+
+    @Override
+    public void addDay2TeacherId(int teacherId) {
+        grid.setCell(day1Cell + 1, teacherId);
+    }
+
+    @Override
+    public void clearDay1Teachers() {
+        grid.setCell(day1Cell, DutyGrid.NO_TEACHER);
+    }
+
+    @Override
+    public void clearDay2Teachers() {
+        grid.setCell(day1Cell + 1, DutyGrid.NO_TEACHER);
+    }
+
+    private static int[] toIds(int teacherId) {
+        return teacherId >= 0 ? new int[]{teacherId} : NO_TEACHERS;
+    }
+}
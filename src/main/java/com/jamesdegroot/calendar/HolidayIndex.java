@@ -0,0 +1,199 @@
+package com.jamesdegroot.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read-only index over holiday events for date and keyword queries.
+ * Events are sorted by start date and laid out as an implicit interval tree: the middle
+ * of every range is a node whose subtree keeps the latest end date below it, so a query
+ * skips every subtree that ends before the range it asks about.
+ * Start and end dates are inclusive, as in Calendar.initializeDaysOfYear. Like Calendar, an event
+ * that ends before it starts only covers its two dates, so it is indexed as two one-day entries.
+ */
+public class HolidayIndex {
+    private final Holiday[] eventsByStart;  // one entry per covered range of an event
+    private final long[] starts;   // epoch day of the first covered date per entry
+    private final long[] ends;     // epoch day of the last covered date per entry
+    private final long[] maxEnds;  // latest end in the subtree of each node
+    private final int datedEventCount;
+    private final Map<String, List<Holiday>> eventsByKeyword = new HashMap<>();
+
+    /**
+     * Builds the index from a list of events.
+     * Events without dates are left out of the date queries but can still be found by keyword.
+     * @param events the events to index
+     */
+    public HolidayIndex(List<Holiday> events) {
+        List<Holiday> entryEvents = new ArrayList<>();
+        List<long[]> entryRanges = new ArrayList<>();
+        int dated = 0;
+        for (Holiday event : events) {
+            if (event.getStartDate() != null && event.getEndDate() != null) {
+                long start = event.getStartDate().toEpochDay();
+                long end = event.getEndDate().toEpochDay();
+                if (end < start) {
+                    entryEvents.add(event);
+                    entryRanges.add(new long[]{end, end});
+                    entryEvents.add(event);
+                    entryRanges.add(new long[]{start, start});
+                } else {
+                    entryEvents.add(event);
+                    entryRanges.add(new long[]{start, end});
+                }
+                dated++;
+            }
+            for (String keyword : keywords(event.getSummary())) {
+                List<Holiday> matches = eventsByKeyword.computeIfAbsent(keyword, k -> new ArrayList<>());
+                if (matches.isEmpty() || matches.get(matches.size() - 1) != event) {
+                    matches.add(event);
+                }
+            }
+        }
+        
+        datedEventCount = dated;
+        
+        Integer[] order = new Integer[entryEvents.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> entryRanges.get(i)[0]));
+        eventsByStart = new Holiday[order.length];
+        starts = new long[order.length];
+        ends = new long[order.length];
+        maxEnds = new long[order.length];
+        for (int i = 0; i < order.length; i++) {
+            eventsByStart[i] = entryEvents.get(order[i]);
+            starts[i] = entryRanges.get(order[i])[0];
+            ends[i] = entryRanges.get(order[i])[1];
+        }
+        buildMaxEnds(0, eventsByStart.length);
+    }
+
+    /**
+     * Finds the events covering a date.
+     * @param date the date to look up
+     * @return the events in start date order
+     */
+    public List<Holiday> findCovering(LocalDate date) {
+        return findOverlapping(date, date);
+    }
+
+    /**
+     * Finds the events that cover at least one date of a range.
+     * An event that ends before it starts is listed once, at the earlier of its dates.
+     * @param startDate the first date of the range
+     * @param endDate the last date of the range
+     * @return the events in start date order
+     */
+    public List<Holiday> findOverlapping(LocalDate startDate, LocalDate endDate) {
+        List<Holiday> result = new ArrayList<>();
+        collectOverlapping(0, eventsByStart.length, startDate.toEpochDay(), endDate.toEpochDay(), result);
+        return result;
+    }
+
+    /**
+     * Finds the events whose summary contains a word, ignoring case.
+     * @param keyword a single word, such as "Exams"
+     * @return the events in the order they were added
+     */
+    public List<Holiday> findByKeyword(String keyword) {
+        return eventsByKeyword.getOrDefault(keyword.toLowerCase(Locale.ROOT), List.of());
+    }
+
+    /**
+     * Finds the events whose summary contains a phrase exactly as written, case included.
+     * Only the events sharing the phrase's rarest word, found without regard to case, are checked.
+     * @param phrase the text to look for, such as "Last Day of School"
+     * @return the events in the order they were added
+     */
+    public List<Holiday> findBySummary(String phrase) {
+        List<Holiday> candidates = null;
+        for (String keyword : keywords(phrase)) {
+            List<Holiday> matches = findByKeyword(keyword);
+            if (candidates == null || matches.size() < candidates.size()) {
+                candidates = matches;
+            }
+        }
+        if (candidates == null) {
+            return List.of();
+        }
+        
+        List<Holiday> result = new ArrayList<>();
+        for (Holiday event : candidates) {
+            if (event.getSummary().contains(phrase)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of events with dates.
+     * @return the number of events in the date index
+     */
+    public int size() {
+        return datedEventCount;
+    }
+
+    private long buildMaxEnds(int low, int high) {
+        if (low >= high) {
+            return Long.MIN_VALUE;
+        }
+        int middle = (low + high) >>> 1;
+        long maxEnd = Math.max(ends[middle], Math.max(buildMaxEnds(low, middle), buildMaxEnds(middle + 1, high)));
+        maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    private void collectOverlapping(int low, int high, long queryStart, long queryEnd, List<Holiday> result) {
+        if (low >= high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        if (maxEnds[middle] < queryStart) {
+            return;  // Everything below this node ends before the range
+        }
+        collectOverlapping(low, middle, queryStart, queryEnd, result);
+        if (starts[middle] > queryEnd) {
+            return;  // This node and everything after it starts after the range
+        }
+        if (ends[middle] >= queryStart && !isSecondEntry(middle, result)) {
+            result.add(eventsByStart[middle]);
+        }
+        collectOverlapping(middle + 1, high, queryStart, queryEnd, result);
+    }
+
+    /**
+     * Checks if an entry is the later date of an event that ends before it starts,
+     * and the event was already found through its earlier date.
+     */
+    private boolean isSecondEntry(int entry, List<Holiday> result) {
+        Holiday event = eventsByStart[entry];
+        if (!event.getEndDate().isBefore(event.getStartDate()) || starts[entry] != event.getStartDate().toEpochDay()) {
+            return false;
+        }
+        for (int i = result.size() - 1; i >= 0; i--) {
+            if (result.get(i) == event) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> keywords(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+            .filter(word -> !word.isEmpty())
+            .distinct()
+            .toList();
+    }
+}
@@ -0,0 +1,90 @@
+package com.jamesdegroot.calendar;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/**
+ * The rotation day (Day 1, Day 2, ... of an N-day cycle) of every school day, built once from
+ * the calendar's school days in date order. Weekends, holidays and other days off do not
+ * advance the cycle. Rotations are kept in a byte per school day and looked up by date
+ * through the school day ordinal, so each lookup is two array reads.
+ */
+public class RotationTable {
+    public static final int DAY_1 = 0;
+    public static final int DAY_2 = 1;
+    public static final int NOT_A_SCHOOL_DAY = -1;
+    public static final int MAX_CYCLE_LENGTH = Byte.MAX_VALUE;
+
+    private final long firstEpochDay;
+    private final int[] ordinalByOffset;  // school day ordinal of each calendar day, -1 for days off
+    private final byte[] rotations;       // rotation of each school day ordinal
+    private final int cycleLength;
+
+    /**
+     * Builds the table over a range of consecutive days.
+     * @param firstEpochDay the epoch day of the first day
+     * @param dayCount the number of days
+     * @param schoolDays the school days, one bit per day from the first
+     * @param cycleLength the number of rotation days in a cycle, 2 for Day 1 / Day 2
+     */
+    RotationTable(long firstEpochDay, int dayCount, BitSet schoolDays, int cycleLength) {
+        if (cycleLength < 1 || cycleLength > MAX_CYCLE_LENGTH) {
+            throw new IllegalArgumentException("Rotation cycle must have 1 to " + MAX_CYCLE_LENGTH + " days");
+        }
+        this.firstEpochDay = firstEpochDay;
+        this.cycleLength = cycleLength;
+        this.ordinalByOffset = new int[dayCount];
+        this.rotations = new byte[schoolDays.cardinality()];
+
+        int ordinal = 0;
+        for (int offset = 0; offset < dayCount; offset++) {
+            if (schoolDays.get(offset)) {
+                rotations[ordinal] = (byte) (ordinal % cycleLength);
+                ordinalByOffset[offset] = ordinal++;
+            } else {
+                ordinalByOffset[offset] = NOT_A_SCHOOL_DAY;
+            }
+        }
+    }
+
+    /**
+     * Gets the rotation day of a date.
+     * @param date the date
+     * @return the rotation from DAY_1 up to the cycle length - 1, or NOT_A_SCHOOL_DAY
+     */
+    public int getRotation(LocalDate date) {
+        int ordinal = getSchoolDayOrdinal(date);
+        return ordinal >= 0 ? rotations[ordinal] : NOT_A_SCHOOL_DAY;
+    }
+
+    /**
+     * Gets the rotation day of a school day by its ordinal.
+     * @param ordinal the school day's position among the school days, from 0
+     * @return the rotation
+     */
+    public int getRotation(int ordinal) {
+        return rotations[ordinal];
+    }
+
+    /**
+     * Gets the position of a date among the school days.
+     * @param date the date
+     * @return the ordinal from 0, or NOT_A_SCHOOL_DAY if the date is not a school day of the table
+     */
+    public int getSchoolDayOrdinal(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < ordinalByOffset.length ? ordinalByOffset[(int) offset] : NOT_A_SCHOOL_DAY;
+    }
+
+    public int getCycleLength() {
+        return cycleLength;
+    }
+
+    /**
+     * Gets the number of school days in the table.
+     * @return the number of school days
+     */
+    public int size() {
+        return rotations.length;
+    }
+}
@@ -0,0 +1,114 @@
+package com.jamesdegroot.calendar;
+
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * School days grouped by term, weekday and rotation, built in one pass over the calendar.
+ * The days of each (term, weekday) bucket sit next to each other in one array, in date order,
+ * so a bucket is read without scanning the rest of the year. Rotations come from the
+ * calendar's RotationTable. This is a snapshot; build a new one from Calendar.indexSchoolDays
+ * after school days change.
+ */
+public class SchoolDayIndex {
+    private static final int WEEKDAYS = DayOfWeek.values().length;
+
+    private final int terms;
+    private final int[] bucketStart;   // first index in days of each (term, weekday) bucket, plus an end marker
+    private final Day[] days;          // school days ordered by bucket, then date
+    private final byte[] rotations;    // rotation of each entry of days
+
+    /**
+     * Groups school days into buckets.
+     * @param schoolDays the school days in date order
+     * @param dayTerms the term of each school day, days outside 0..terms-1 are left out
+     * @param dayRotations the rotation of each school day
+     * @param terms the number of terms
+     */
+    SchoolDayIndex(List<Day> schoolDays, int[] dayTerms, int[] dayRotations, int terms) {
+        this.terms = terms;
+        this.bucketStart = new int[terms * WEEKDAYS + 1];
+
+        // Count the days of each bucket, then turn the counts into start positions
+        int[] dayBuckets = new int[schoolDays.size()];
+        for (int i = 0; i < schoolDays.size(); i++) {
+            int term = dayTerms[i];
+            dayBuckets[i] = term >= 0 && term < terms
+                ? term * WEEKDAYS + schoolDays.get(i).getDate().getDayOfWeek().ordinal() : -1;
+            if (dayBuckets[i] >= 0) {
+                bucketStart[dayBuckets[i] + 1]++;
+            }
+        }
+        for (int bucket = 0; bucket < terms * WEEKDAYS; bucket++) {
+            bucketStart[bucket + 1] += bucketStart[bucket];
+        }
+
+        this.days = new Day[bucketStart[terms * WEEKDAYS]];
+        this.rotations = new byte[days.length];
+        int[] next = Arrays.copyOf(bucketStart, terms * WEEKDAYS);
+        for (int i = 0; i < schoolDays.size(); i++) {
+            int bucket = dayBuckets[i];
+            if (bucket >= 0) {
+                int position = next[bucket]++;
+                days[position] = schoolDays.get(i);
+                rotations[position] = (byte) dayRotations[i];
+            }
+        }
+    }
+
+    public int getTerms() {
+        return terms;
+    }
+
+    /**
+     * Gets the school days of a term that fall on a weekday.
+     * @param term the term number
+     * @param dayOfWeek the weekday
+     * @return the days in date order
+     */
+    public List<Day> getDays(int term, DayOfWeek dayOfWeek) {
+        int bucket = bucket(term, dayOfWeek);
+        if (bucket < 0) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(days).subList(bucketStart[bucket], bucketStart[bucket + 1]));
+    }
+
+    /**
+     * Gets the school days of a term that fall on a weekday and follow one rotation.
+     * @param term the term number
+     * @param dayOfWeek the weekday
+     * @param rotation the rotation, such as RotationTable.DAY_1
+     * @return the days in date order
+     */
+    public List<Day> getDays(int term, DayOfWeek dayOfWeek, int rotation) {
+        int bucket = bucket(term, dayOfWeek);
+        List<Day> result = new ArrayList<>();
+        if (bucket >= 0) {
+            for (int i = bucketStart[bucket]; i < bucketStart[bucket + 1]; i++) {
+                if (rotations[i] == rotation) {
+                    result.add(days[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the first school day of a term that falls on a weekday.
+     * @param term the term number
+     * @param dayOfWeek the weekday
+     * @return the day, or null if the term has none
+     */
+    public Day getFirstDay(int term, DayOfWeek dayOfWeek) {
+        int bucket = bucket(term, dayOfWeek);
+        return bucket >= 0 && bucketStart[bucket] < bucketStart[bucket + 1] ? days[bucketStart[bucket]] : null;
+    }
+
+    private int bucket(int term, DayOfWeek dayOfWeek) {
+        return term >= 0 && term < terms ? term * WEEKDAYS + dayOfWeek.ordinal() : -1;
+    }
+}
@@ -0,0 +1,137 @@
+package com.jamesdegroot.calendar;
+
+import java.util.Arrays;
+
+/**
+ * The duty slots of a school's day: the time slots, how many duties each slot has,
+ * and the name and room of every duty. Days are sized exactly to their layout,
+ * so schools with different bell schedules can share one process.
+ */
+public class SlotLayout {
+    private static final String DEFAULT_ROOM = "Various";
+    private static final String TIME_SLOT_PREFIX = "Slot ";
+
+    // The layout every school used before layouts were configurable
+    public static final SlotLayout DEFAULT = createDefault(Day.TIME_SLOTS, Day.DUTIES_PER_SLOT);
+
+    private final String[] times;        // time of each slot
+    private final String[][] dutyNames;  // [timeSlot][position]
+    private final String[][] rooms;      // [timeSlot][position]
+    private final int maxPositions;
+
+    /**
+     * Creates a layout.
+     * @param times the time of each slot
+     * @param dutyNames the duty names of each slot, one per position
+     * @param rooms the rooms of each slot, shaped like dutyNames
+     */
+    public SlotLayout(String[] times, String[][] dutyNames, String[][] rooms) {
+        if (dutyNames.length != times.length || rooms.length != times.length) {
+            throw new IllegalArgumentException("Layout needs a time, names and rooms for every slot");
+        }
+        this.times = times.clone();
+        this.dutyNames = new String[times.length][];
+        this.rooms = new String[times.length][];
+        int widest = 0;
+        for (int timeSlot = 0; timeSlot < times.length; timeSlot++) {
+            if (rooms[timeSlot].length != dutyNames[timeSlot].length) {
+                throw new IllegalArgumentException("Slot " + (timeSlot + 1) + " has " + dutyNames[timeSlot].length
+                    + " duties but " + rooms[timeSlot].length + " rooms");
+            }
+            this.dutyNames[timeSlot] = dutyNames[timeSlot].clone();
+            this.rooms[timeSlot] = rooms[timeSlot].clone();
+            widest = Math.max(widest, dutyNames[timeSlot].length);
+        }
+        this.maxPositions = widest;
+    }
+
+    /**
+     * Creates a layout of equal slots named from Duty.DUTY_NAMES.
+     * @param timeSlots the number of time slots
+     * @param positions the number of duties per time slot
+     * @return the layout
+     */
+    public static SlotLayout createDefault(int timeSlots, int positions) {
+        String[] times = new String[timeSlots];
+        String[][] dutyNames = new String[timeSlots][positions];
+        String[][] rooms = new String[timeSlots][positions];
+        for (int timeSlot = 0; timeSlot < timeSlots; timeSlot++) {
+            times[timeSlot] = TIME_SLOT_PREFIX + (timeSlot + 1);
+            for (int position = 0; position < positions; position++) {
+                int dutyIndex = (timeSlot * positions) + position;
+                dutyNames[timeSlot][position] = dutyIndex < Duty.DUTY_NAMES.length
+                    ? Duty.DUTY_NAMES[dutyIndex] : "Duty " + (dutyIndex + 1);
+                rooms[timeSlot][position] = DEFAULT_ROOM;
+            }
+        }
+        return new SlotLayout(times, dutyNames, rooms);
+    }
+
+    /**
+     * Creates an empty duty schedule with exactly one entry per duty of the layout.
+     * @return the [timeSlot][position] array
+     */
+    Duty[][] createSchedule() {
+        Duty[][] schedule = new Duty[times.length][];
+        for (int timeSlot = 0; timeSlot < times.length; timeSlot++) {
+            schedule[timeSlot] = new Duty[dutyNames[timeSlot].length];
+        }
+        return schedule;
+    }
+
+    /**
+     * Creates an unassigned duty for a slot position.
+     * @param timeSlot the time slot
+     * @param position the position in the time slot
+     * @return the new duty
+     */
+    public Duty createDuty(int timeSlot, int position) {
+        return new Duty(dutyNames[timeSlot][position], "", rooms[timeSlot][position], times[timeSlot]);
+    }
+
+    public int getTimeSlots() {
+        return times.length;
+    }
+
+    /**
+     * Gets the number of duties in a time slot.
+     * @param timeSlot the time slot
+     * @return the number of positions, or 0 outside the layout
+     */
+    public int getPositions(int timeSlot) {
+        return timeSlot >= 0 && timeSlot < times.length ? dutyNames[timeSlot].length : 0;
+    }
+
+    public int getMaxPositions() {
+        return maxPositions;
+    }
+
+    /**
+     * Gets the number of duties in a day.
+     * @return the sum of the positions of every slot
+     */
+    public int getDutyCount() {
+        int count = 0;
+        for (String[] names : dutyNames) {
+            count += names.length;
+        }
+        return count;
+    }
+
+    public String getTime(int timeSlot) {
+        return times[timeSlot];
+    }
+
+    public String getDutyName(int timeSlot, int position) {
+        return dutyNames[timeSlot][position];
+    }
+
+    public String getRoom(int timeSlot, int position) {
+        return rooms[timeSlot][position];
+    }
+
+    @Override
+    public String toString() {
+        return "SlotLayout" + Arrays.deepToString(dutyNames);
+    }
+}
@@ -0,0 +1,192 @@
+package com.jamesdegroot.calendar;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * The terms of a school year, compiled into a term number per epoch day so that
+ * looking up the term of a date is a single array read. Terms can follow any model
+ * (semesters, quadmesters, trimesters) and may leave gaps between them.
+ */
+public class TermTable {
+    public static final int NO_TERM = -1;
+    public static final int MAX_TERMS = Byte.MAX_VALUE;
+    private static final int DAYS_IN_FIRST_WEEK = 7;
+
+    // Term names of the default four-term year
+    private static final String[] QUADMESTER_NAMES = {
+        "Term 1 (Fall Term 1)",
+        "Term 2 (Fall Term 2)",
+        "Term 3 (Spring Term 1)",
+        "Term 4 (Spring Term 2)"
+    };
+
+    private final String[] names;
+    private final LocalDate[] startDates;
+    private final LocalDate[] endDates;
+    private final long firstEpochDay;
+    private final byte[] termByOffset;  // term of each day from firstEpochDay, NO_TERM between terms
+
+    /**
+     * Creates a term table.
+     * @param names the name of each term
+     * @param startDates the first day of each term
+     * @param endDates the last day of each term, inclusive
+     * @throws IllegalArgumentException if the arrays differ in length, a term ends before it starts, or terms overlap
+     */
+    public TermTable(String[] names, LocalDate[] startDates, LocalDate[] endDates) {
+        if (names.length != startDates.length || endDates.length != startDates.length) {
+            throw new IllegalArgumentException("Every term needs a name, a start date and an end date");
+        }
+        if (names.length > MAX_TERMS) {
+            throw new IllegalArgumentException("At most " + MAX_TERMS + " terms are supported");
+        }
+        this.names = names.clone();
+        this.startDates = startDates.clone();
+        this.endDates = endDates.clone();
+
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (int term = 0; term < names.length; term++) {
+            if (endDates[term].isBefore(startDates[term])) {
+                throw new IllegalArgumentException(names[term] + " ends before it starts");
+            }
+            first = Math.min(first, startDates[term].toEpochDay());
+            last = Math.max(last, endDates[term].toEpochDay());
+        }
+        this.firstEpochDay = names.length == 0 ? 0 : first;
+        this.termByOffset = new byte[names.length == 0 ? 0 : Math.toIntExact(last - first + 1)];
+        Arrays.fill(termByOffset, (byte) NO_TERM);
+        for (int term = 0; term < names.length; term++) {
+            for (long day = startDates[term].toEpochDay(); day <= endDates[term].toEpochDay(); day++) {
+                int offset = (int) (day - firstEpochDay);
+                if (termByOffset[offset] != NO_TERM) {
+                    throw new IllegalArgumentException(names[term] + " overlaps " + names[termByOffset[offset]]);
+                }
+                termByOffset[offset] = (byte) term;
+            }
+        }
+    }
+
+    /**
+     * Creates the default four-term year: September to October, November to January,
+     * February to March and April to the end of the year. A year that does not run
+     * across those dates, for example one starting in January, is split into four
+     * terms of about equal length instead, or one term if it is shorter than four days.
+     * @param startDate the first day of the school year
+     * @param endDate the last day of the school year
+     * @return the term table, without terms if the year ends before it starts
+     */
+    public static TermTable forSchoolYear(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return new TermTable(new String[0], new LocalDate[0], new LocalDate[0]);
+        }
+        int fallYear = startDate.getYear();
+        LocalDate fallEnd = LocalDate.of(fallYear, Month.OCTOBER, 31);
+        LocalDate springStart = LocalDate.of(fallYear + 1, Month.APRIL, 1);
+        if (!startDate.isAfter(fallEnd) && !endDate.isBefore(springStart)) {
+            LocalDate[] starts = {
+                startDate,
+                LocalDate.of(fallYear, Month.NOVEMBER, 1),
+                LocalDate.of(fallYear + 1, Month.FEBRUARY, 1),
+                springStart
+            };
+            LocalDate[] ends = {
+                fallEnd,
+                LocalDate.of(fallYear + 1, Month.JANUARY, 31),
+                LocalDate.of(fallYear + 1, Month.MARCH, 31),
+                endDate
+            };
+            return new TermTable(QUADMESTER_NAMES, starts, ends);
+        }
+        return evenTerms(startDate, endDate);
+    }
+
+    /**
+     * Splits a range into up to four terms of about equal length, named by number.
+     */
+    private static TermTable evenTerms(LocalDate startDate, LocalDate endDate) {
+        long days = endDate.toEpochDay() - startDate.toEpochDay() + 1;
+        int terms = (int) Math.min(QUADMESTER_NAMES.length, days);
+        if (terms < QUADMESTER_NAMES.length) {
+            terms = 1;
+        }
+        String[] termNames = new String[terms];
+        LocalDate[] starts = new LocalDate[terms];
+        LocalDate[] ends = new LocalDate[terms];
+        for (int term = 0; term < terms; term++) {
+            termNames[term] = "Term " + (term + 1);
+            starts[term] = startDate.plusDays(days * term / terms);
+            ends[term] = startDate.plusDays(days * (term + 1) / terms - 1);
+        }
+        return new TermTable(termNames, starts, ends);
+    }
+
+    /**
+     * Derives terms from calendar events: every event whose summary contains the keyword
+     * starts a new term, named after the event, and the first term starts with the year.
+     * For example the keyword "Semester" with a "First Day of Semester 2" event gives two semesters.
+     * @param holidayIndex the calendar's events
+     * @param keyword the text marking term start events
+     * @param startDate the first day of the school year
+     * @param endDate the last day of the school year
+     * @return the term table
+     */
+    public static TermTable fromEvents(HolidayIndex holidayIndex, String keyword, LocalDate startDate, LocalDate endDate) {
+        TreeMap<LocalDate, String> termStarts = new TreeMap<>();
+        termStarts.put(startDate, "Term 1");
+        for (Holiday event : holidayIndex.findOverlapping(startDate.plusDays(1), endDate)) {
+            LocalDate termStart = event.getStartDate();
+            if (event.getSummary().contains(keyword) && termStart.isAfter(startDate) && !termStart.isAfter(endDate)) {
+                termStarts.putIfAbsent(termStart, event.getSummary());
+            }
+        }
+
+        int terms = termStarts.size();
+        String[] termNames = termStarts.values().toArray(new String[0]);
+        LocalDate[] starts = termStarts.keySet().toArray(new LocalDate[0]);
+        LocalDate[] ends = new LocalDate[terms];
+        for (int term = 0; term < terms; term++) {
+            ends[term] = term + 1 < terms ? starts[term + 1].minusDays(1) : endDate;
+        }
+        return new TermTable(termNames, starts, ends);
+    }
+
+    /**
+     * Gets the term of a date.
+     * @param date the date
+     * @return the term number from 0, or NO_TERM if no term holds the date
+     */
+    public int getTerm(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset >= 0 && offset < termByOffset.length ? termByOffset[(int) offset] : NO_TERM;
+    }
+
+    /**
+     * Checks if a date falls in the first seven days of its term.
+     * @param date the date
+     * @return true if the date is in a term and within a week of its start
+     */
+    public boolean isFirstWeekOfTerm(LocalDate date) {
+        int term = getTerm(date);
+        return term != NO_TERM && date.toEpochDay() - startDates[term].toEpochDay() < DAYS_IN_FIRST_WEEK;
+    }
+
+    public int getTermCount() {
+        return names.length;
+    }
+
+    public String getName(int term) {
+        return names[term];
+    }
+
+    public LocalDate getStartDate(int term) {
+        return startDates[term];
+    }
+
+    public LocalDate getEndDate(int term) {
+        return endDates[term];
+    }
+}
@@ -1,47 +1,170 @@
 package com.jamesdegroot.duty_assigment;
 
 import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
 import com.jamesdegroot.calendar.Calendar;
 import com.jamesdegroot.calendar.Day;
 import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.SchoolDayIndex;
+import com.jamesdegroot.calendar.TermTable;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.Month;
-import java.util.List;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class DutyAssigner {
     // Calendar and teacher references
     private final Calendar calendar;
     private final List<Teacher> teachers;
-    private final DutyScheduleTemplate[] termTemplates;
+    private DutyScheduleTemplate[] termTemplates;  // one per term of the calendar's term table
+    private TermDutyCells[] termCells;
+    private TermDutyState[] termStates;  // duty counts of the last solve, null until duties are assigned
+    private final TeacherAvailabilityIndex availabilityIndex;
+    
+    // Solve the four terms concurrently instead of one after another
+    private boolean parallelTerms = false;
+    
+    // Engine that fills the template cells of each term
+    private DutySolver solver = new GreedyDutySolver();
+    
+    // Stop before solving when the analyzer finds slots that cannot be staffed
+    private boolean failFast = false;
+    private DutyFeasibilityAnalyzer.Report feasibilityReport;
+    
+    // Optional local search run on the solved terms, null to keep the solver's roster
+    private DutyScheduleOptimizer optimizer = null;
     
     // Random number generator for teacher selection
     private final Random random = new Random();
     
+    // Edited days that kept their own duties through the last reassign
+    private final List<Day> staleOverrides = new ArrayList<>();
+    
     public DutyAssigner(Calendar calendar, List<Teacher> teachers) {
         this.calendar = calendar;
         this.teachers = teachers;
-        this.termTemplates = new DutyScheduleTemplate[4];
+        this.availabilityIndex = new TeacherAvailabilityIndex(teachers, calendar.getSlotLayout().getTimeSlots());
         initializeTemplates();
+        
+        // Duties store teacher IDs, so teachers not read from disk, or registered before
+        // the registry was cleared, need one too; registered teachers keep theirs
+        for (Teacher teacher : teachers) {
+            TeacherRegistry.register(teacher);
+        }
     }
     
     private void initializeTemplates() {
-        for (int i = 0; i < 4; i++) {
+        int terms = calendar.getTermTable().getTermCount();
+        termTemplates = new DutyScheduleTemplate[terms];
+        termCells = new TermDutyCells[terms];
+        for (int i = 0; i < terms; i++) {
             termTemplates[i] = new DutyScheduleTemplate(i);
         }
     }
     
+    /**
+     * Chooses between solving the terms sequentially (default) or in parallel.
+     * Both modes produce the same templates.
+     * @param parallelTerms true to solve the terms concurrently on the common ForkJoin pool
+     */
+    public void setParallelTerms(boolean parallelTerms) {
+        this.parallelTerms = parallelTerms;
+    }
+    
+    /**
+     * Sets the engine used to fill each term's templates.
+     * @param solver the solver, GreedyDutySolver by default
+     */
+    public void setSolver(DutySolver solver) {
+        this.solver = solver;
+    }
+    
+    /**
+     * Sets a local search that improves the solved terms before they are applied.
+     * @param optimizer the optimizer, or null to skip the improvement stage
+     */
+    public void setOptimizer(DutyScheduleOptimizer optimizer) {
+        this.optimizer = optimizer;
+    }
+    
+    /**
+     * Chooses whether assignDuties stops when the demand cannot be covered.
+     * @param failFast true to throw instead of solving an infeasible calendar
+     */
+    public void setFailFast(boolean failFast) {
+        this.failFast = failFast;
+    }
+    
+    /**
+     * Gets the feasibility check of the last assignDuties call.
+     * @return the report, or null if duties have not been assigned yet
+     */
+    public DutyFeasibilityAnalyzer.Report getFeasibilityReport() {
+        return feasibilityReport;
+    }
+    
+    /**
+     * Gets the edited days whose template changed in the last reassignTeacher or reassignDay.
+     * These days keep their own duties instead of the new template, so their teachers may no
+     * longer match the term's duty counts and should be reviewed.
+     * @return the days, in date order per weekday
+     */
+    public List<Day> getStaleOverrides() {
+        return staleOverrides;
+    }
+    
+    /**
+     * Drops a day's own edits and makes it show its template again.
+     * @param day the edited day
+     */
+    public void resetOverride(Day day) {
+        staleOverrides.remove(day);
+        if (day.isSchoolDay()) {
+            applyTemplateToDay(day);
+        }
+    }
+    
+    /**
+     * Gets the duty templates created for a term.
+     * @param term the term number, from 0 to one less than the calendar's term count
+     * @return the term's templates
+     */
+    public DutyScheduleTemplate getTermTemplate(int term) {
+        return termTemplates[term];
+    }
+    
     /**
      * Main method to assign duties for the entire semester
+     * @throws IllegalStateException if fail-fast is on and the demand cannot be covered
      */
     public void assignDuties() {
+        if (termTemplates.length != calendar.getTermTable().getTermCount()) {
+            initializeTemplates();
+        }
         List<Day> schoolDays = getSchoolDays();
+        SchoolDayIndex dayIndex = indexSchoolDays();
+        
+        // Check the demand against the teachers' capacity before spending time on solving
+        List<List<Day>> termSampleDays = new ArrayList<>();
+        for (int term = 0; term < termTemplates.length; term++) {
+            termSampleDays.add(getSampleDays(term, dayIndex));
+        }
+        feasibilityReport = new DutyFeasibilityAnalyzer(availabilityIndex, calendar.getTermTable()).analyze(termSampleDays);
+        if (failFast && !feasibilityReport.isFeasible()) {
+            throw new IllegalStateException("Duties cannot be covered:\n" + feasibilityReport);
+        }
         
         // Create templates for each term
-        createTemplates(schoolDays);
+        createTemplates(dayIndex);
         
-        // Apply templates to all school days
+        // Apply templates to all school days, dropping any edits
+        staleOverrides.clear();
         for (Day day : schoolDays) {
             applyTemplateToDay(day);
         }
@@ -50,223 +173,343 @@ public class DutyAssigner {
     /**
      * Creates duty schedule templates for each term
      */
-    private void createTemplates(List<Day> schoolDays) {
-        // Process each term
-        for (int term = 0; term < 4; term++) {
-            final int currentTerm = term;  // Make term effectively final for lambda
-            
-            // Reset duty counts for teachers at the start of each term
-            for (Teacher teacher : teachers) {
-                teacher.resetDutiesThisSemester();
+    private void createTemplates(SchoolDayIndex dayIndex) {
+        termStates = new TermDutyState[termTemplates.length];
+        
+        if (parallelTerms) {
+            // Terms are independent, each one counts duties in its own state
+            List<Callable<TermDutyState>> tasks = new ArrayList<>();
+            for (int term = 0; term < termTemplates.length; term++) {
+                final int currentTerm = term;
+                tasks.add(() -> createTermTemplates(currentTerm, dayIndex));
             }
-            
-            // Get a sample week of days for this term
-            List<Day> termDays = schoolDays.stream()
-                .filter(day -> getTermNumber(day.getDate()) == currentTerm)
-                .toList();
-            
-            if (!termDays.isEmpty()) {
-                // Create templates for each weekday
-                for (int dayOfWeek = 1; dayOfWeek <= 5; dayOfWeek++) {
-                    final int currentDayOfWeek = dayOfWeek;
-                    List<Day> daysForThisWeekday = termDays.stream()
-                        .filter(day -> day.getDate().getDayOfWeek().getValue() == currentDayOfWeek)
-                        .toList();
-                    
-                    if (!daysForThisWeekday.isEmpty()) {
-                        Day sampleDay = daysForThisWeekday.get(0);
-                        
-                        // Create and assign duties for Day 1
-                        Day day1Template = new Day(sampleDay.getDate());
-                        Duty[][] originalDuties = sampleDay.getDutySchedule();
-                        for (int timeSlot = 0; timeSlot < originalDuties.length; timeSlot++) {
-                            for (int pos = 0; pos < originalDuties[timeSlot].length; pos++) {
-                                if (originalDuties[timeSlot][pos] != null) {
-                                    Duty templateDuty = new Duty(
-                                        originalDuties[timeSlot][pos].getName(),
-                                        originalDuties[timeSlot][pos].getDescription(),
-                                        originalDuties[timeSlot][pos].getRoom(),
-                                        originalDuties[timeSlot][pos].getTimeSlot()
-                                    );
-                                    day1Template.addDuty(timeSlot, pos, templateDuty);
-                                }
-                            }
-                        }
-                        assignDutiesForDay(day1Template, true);
-
-                        // Create and assign duties for Day 2
-                        Day day2Template = new Day(sampleDay.getDate());
-                        for (int timeSlot = 0; timeSlot < originalDuties.length; timeSlot++) {
-                            for (int pos = 0; pos < originalDuties[timeSlot].length; pos++) {
-                                if (originalDuties[timeSlot][pos] != null) {
-                                    Duty templateDuty = new Duty(
-                                        originalDuties[timeSlot][pos].getName(),
-                                        originalDuties[timeSlot][pos].getDescription(),
-                                        originalDuties[timeSlot][pos].getRoom(),
-                                        originalDuties[timeSlot][pos].getTimeSlot()
-                                    );
-                                    day2Template.addDuty(timeSlot, pos, templateDuty);
-                                }
-                            }
-                        }
-                        assignDutiesForDay(day2Template, false);
-
-                        // Store both templates for this term and weekday
-                        termTemplates[currentTerm].setDayTemplate(
-                            sampleDay.getDate().getDayOfWeek(),
-                            new Day[]{day1Template, day2Template}
-                        );
-                    }
+            List<Future<TermDutyState>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+            for (int term = 0; term < termTemplates.length; term++) {
+                try {
+                    termStates[term] = results.get(term).get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while creating duty templates", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Error creating duty templates for term " + (term + 1), e.getCause());
                 }
             }
+        } else {
+            for (int term = 0; term < termTemplates.length; term++) {
+                termStates[term] = createTermTemplates(term, dayIndex);
+            }
         }
+        
+        if (optimizer != null) {
+            optimizer.improve(Arrays.asList(termCells), Arrays.asList(termStates));
+        }
+        
+        publishDutyCounts();
     }
     
     /**
-     * Applies the appropriate template to a given day
+     * Copies the duty counts of the last term to the teachers, as when the terms ran one after another
      */
-    private void applyTemplateToDay(Day day) {
-        int termNumber = getTermNumber(day.getDate());
+    private void publishDutyCounts() {
+        if (termStates.length == 0) {
+            return;
+        }
+        TermDutyState lastTerm = termStates[termStates.length - 1];
+        for (int i = 0; i < teachers.size(); i++) {
+            teachers.get(i).setDutiesThisSemester(lastTerm.getLoad(i));
+        }
+    }
+    
+    /**
+     * Updates the roster after a teacher's schedule or quota was edited.
+     * Only the duties the teacher held and the duties nobody could take are re-solved,
+     * and only the days whose templates changed are rewritten.
+     * Falls back to a full assignDuties if duties have not been assigned yet.
+     * @param teacher the edited teacher
+     */
+    public void reassignTeacher(Teacher teacher) {
+        int teacherIndex = teachers.indexOf(teacher);
+        if (termStates == null || teacherIndex < 0) {
+            assignDuties();
+            return;
+        }
         
-        // Get the template for this day from the correct term
-        Day[] templates = termTemplates[termNumber].getDayTemplate(day.getDate().getDayOfWeek());
-        if (templates != null && templates.length > 0) {
-            Day template = templates[0]; // Use the first template since it has both Day 1 and Day 2 assignments
+        // Take back every duty of the teacher before their availability changes
+        for (int term = 0; term < termTemplates.length; term++) {
+            TermDutyCells cells = termCells[term];
+            for (int cell = 0; cell < cells.size(); cell++) {
+                if (cells.getAssignedTeacher(cell) == teacherIndex) {
+                    cells.unassign(cell);
+                    termStates[term].releaseDuty(teacherIndex);
+                }
+            }
+        }
+        availabilityIndex.refreshTeacher(teacherIndex);
+        staleOverrides.clear();
+        int teacherId = teacher.getId();
+        
+        SchoolDayIndex dayIndex = indexSchoolDays();
+        for (int term = 0; term < termTemplates.length; term++) {
+            TermDutyCells cells = termCells[term];
+            TermDutyState state = termStates[term];
+            state.refreshTeacher(teacherIndex);
             
-            // Copy duties from template to target day
-            Duty[][] templateDuties = template.getDutySchedule();
-            for (int timeSlot = 0; timeSlot < templateDuties.length; timeSlot++) {
-                for (int pos = 0; pos < templateDuties[timeSlot].length; pos++) {
-                    if (templateDuties[timeSlot][pos] != null) {
-                        Duty originalDuty = templateDuties[timeSlot][pos];
-                        Duty newDuty = new Duty(
-                            originalDuty.getName(),
-                            originalDuty.getDescription(),
-                            originalDuty.getRoom(),
-                            originalDuty.getTimeSlot()
-                        );
-                        
-                        // Copy both Day 1 and Day 2 teacher assignments from the template
-                        for (String teacher : originalDuty.getDay1Teachers()) {
-                            newDuty.addDay1Teacher(teacher);
-                        }
-                        for (String teacher : originalDuty.getDay2Teachers()) {
-                            newDuty.addDay2Teacher(teacher);
-                        }
-                        
-                        day.addDuty(timeSlot, pos, newDuty);
-                    }
+            // Fill the open cells with the least loaded available teacher not already on duty in the slot
+            boolean[] changedWeekdays = new boolean[DayOfWeek.values().length];
+            for (int cell = 0; cell < cells.size(); cell++) {
+                if (cells.getAssignedTeacher(cell) >= 0) {
+                    continue;
+                }
+                final int openCell = cell;
+                int selectedIndex = state.pickLeastLoaded(cells.getTimeSlot(cell), cells.getDate(cell),
+                    candidate -> cells.isInSlotGroup(openCell, candidate));
+                if (selectedIndex >= 0) {
+                    cells.assign(cell, selectedIndex, state.getTeacher(selectedIndex).getId());
+                    state.recordDuty(selectedIndex);
+                }
+                changedWeekdays[cells.getDate(cell).getDayOfWeek().ordinal()] = true;
+            }
+            
+            // Edited days keep their own duties, minus the teacher where they now teach
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                removeFromOverrides(term, dayOfWeek, dayIndex, teacherIndex, teacherId);
+                if (changedWeekdays[dayOfWeek.ordinal()]) {
+                    applyTemplateToDays(term, dayOfWeek, dayIndex);
                 }
             }
         }
+        publishDutyCounts();
     }
     
     /**
-     * Determines which term a date falls into
+     * Updates the roster after a day was edited, for example turned into a non-school day.
+     * If the day changes which date a term's weekday template is sampled from, only that
+     * weekday's Day 1 and Day 2 templates are rebuilt and solved; otherwise the day just
+     * gets its template applied again.
+     * Falls back to a full assignDuties if duties have not been assigned yet.
+     * @param day the edited day
      */
-    private int getTermNumber(LocalDate date) {
-        int month = date.getMonthValue();
+    public void reassignDay(Day day) {
+        if (termStates == null) {
+            assignDuties();
+            return;
+        }
+        DayOfWeek dayOfWeek = day.getDate().getDayOfWeek();
+        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+            return;
+        }
         
-        if (month >= Month.SEPTEMBER.getValue() && month <= Month.JANUARY.getValue()) {
-            // Fall semester
-            return month < Month.NOVEMBER.getValue() ? 
-                DutyScheduleTemplate.TERM_1 : DutyScheduleTemplate.TERM_2;
-        } else if (month >= Month.FEBRUARY.getValue() && month <= Month.JUNE.getValue()) {
-            // Spring semester
-            return month < Month.APRIL.getValue() ? 
-                DutyScheduleTemplate.TERM_3 : DutyScheduleTemplate.TERM_4;
+        int term = getTermNumber(day.getDate());
+        if (term == TermTable.NO_TERM) {
+            return;
+        }
+        staleOverrides.clear();
+        SchoolDayIndex dayIndex = indexSchoolDays();
+        Day sampleDay = dayIndex.getFirstDay(term, dayOfWeek);
+        Day[] currentTemplates = termTemplates[term].getDayTemplate(dayOfWeek);
+        LocalDate currentDate = currentTemplates[0].getDate();
+        
+        if (sampleDay != null && sampleDay.getDate().equals(currentDate)) {
+            // The template still comes from the same day, only this day needs its duties
+            // unless it has its own edited copy
+            if (day.isSchoolDay() && !day.isOverridden()) {
+                applyTemplateToDay(day);
+            }
+            return;
+        }
+        
+        // Give back the duties of the old weekday templates
+        TermDutyCells oldCells = termCells[term];
+        TermDutyState state = termStates[term];
+        for (int cell = 0; cell < oldCells.size(); cell++) {
+            if (oldCells.getDate(cell).getDayOfWeek() == dayOfWeek && oldCells.getAssignedTeacher(cell) >= 0) {
+                state.releaseDuty(oldCells.getAssignedTeacher(cell));
+            }
+        }
+        
+        // Solve new templates for the weekday against the term's remaining quotas
+        TermDutyCells weekdayCells = null;
+        if (sampleDay != null) {
+            Day day1Template = copyDutySlots(sampleDay);
+            Day day2Template = copyDutySlots(sampleDay);
+            termTemplates[term].setDayTemplate(dayOfWeek, new Day[]{day1Template, day2Template});
+            weekdayCells = new TermDutyCells(List.of(day1Template, day2Template));
+            solver.solveTerm(weekdayCells, state);
         } else {
-            // Summer months - default to last term
-            return DutyScheduleTemplate.TERM_4;
+            termTemplates[term].setDayTemplate(dayOfWeek, new Day[]{new Day(null, calendar.getSlotLayout()), new Day(null, calendar.getSlotLayout())});
+        }
+        
+        // Rebuild the term's cells in weekday order, keeping every other weekday's teachers
+        List<Day> templates = new ArrayList<>();
+        for (int weekday = 1; weekday <= 5; weekday++) {
+            Day[] rotationDays = termTemplates[term].getDayTemplate(DayOfWeek.of(weekday));
+            if (rotationDays[0].getDate() != null) {
+                templates.add(rotationDays[0]);
+                templates.add(rotationDays[1]);
+            }
+        }
+        termCells[term] = new TermDutyCells(templates);
+        termCells[term].copyAssignments(oldCells);
+        if (weekdayCells != null) {
+            termCells[term].copyAssignments(weekdayCells);
         }
+        
+        applyTemplateToDays(term, dayOfWeek, dayIndex);
+        publishDutyCounts();
     }
     
     /**
-     * Checks if a date is in the first week of its term
+     * Applies a term's weekday template to every school day of that term and weekday.
+     * Edited days keep their own duties and are listed in staleOverrides instead.
      */
-    private boolean isFirstWeekOfTerm(LocalDate date) {
-        int dayOfMonth = date.getDayOfMonth();
-        Month month = date.getMonth();
-        
-        return (month == Month.SEPTEMBER && dayOfMonth <= 7) ||  // Term 1
-               (month == Month.NOVEMBER && dayOfMonth <= 7) ||   // Term 2
-               (month == Month.FEBRUARY && dayOfMonth <= 7) ||   // Term 3
-               (month == Month.APRIL && dayOfMonth <= 7);        // Term 4
+    private void applyTemplateToDays(int term, DayOfWeek dayOfWeek, SchoolDayIndex dayIndex) {
+        for (Day day : dayIndex.getDays(term, dayOfWeek)) {
+            if (day.isOverridden()) {
+                markStale(day);
+            } else {
+                applyTemplateToDay(day);
+            }
+        }
     }
     
     /**
-     * Gets a list of all school days from the calendar
+     * Takes an edited teacher off the edited days of a term and weekday in the time slots
+     * where they now teach, listing the days changed in staleOverrides.
      */
-    private List<Day> getSchoolDays() {
-        return calendar.getDaysOfYear().stream()
-            .filter(Day::isSchoolDay)
-            .toList();
+    private void removeFromOverrides(int term, DayOfWeek dayOfWeek, SchoolDayIndex dayIndex,
+            int teacherIndex, int teacherId) {
+        for (Day day : dayIndex.getDays(term, dayOfWeek)) {
+            if (!day.isOverridden()) {
+                continue;
+            }
+            boolean changed = false;
+            Duty[][] duties = day.getDutySchedule();
+            for (int timeSlot = 0; timeSlot < duties.length; timeSlot++) {
+                if (timeSlot < availabilityIndex.getTimeSlots()
+                        && availabilityIndex.getFreeTeachers(timeSlot).get(teacherIndex)) {
+                    continue;
+                }
+                for (int position = 0; position < duties[timeSlot].length; position++) {
+                    Duty duty = duties[timeSlot][position];
+                    if (duty != null && duty.removeTeacherId(teacherId)) {
+                        changed = true;
+                    }
+                }
+            }
+            if (changed) {
+                markStale(day);
+            }
+        }
+    }
+    
+    private void markStale(Day day) {
+        if (!staleOverrides.contains(day)) {
+            staleOverrides.add(day);
+        }
     }
     
     /**
-     * Assigns duties for a specific day
+     * Creates the Day 1 and Day 2 templates of every weekday in a term
+     * @return the duty counts of the term
      */
-    private void assignDutiesForDay(Day day, boolean isDay1) {
-        LocalDate date = day.getDate();
-        Duty[][] dutySchedule = day.getDutySchedule();
+    private TermDutyState createTermTemplates(int term, SchoolDayIndex dayIndex) {
+        // Duty counts start at zero for each term
+        TermDutyState state = new TermDutyState(availabilityIndex, term, calendar.getTermTable());
         
-        // For each time slot
-        for (int timeSlot = 0; timeSlot < dutySchedule.length; timeSlot++) {
-            // For each duty position in the time slot
-            for (int position = 0; position < dutySchedule[timeSlot].length; position++) {
-                Duty duty = dutySchedule[timeSlot][position];
-                if (duty != null) {
-                    // Assign teachers for both Day 1 and Day 2
-                    assignTeacherToDuty(duty, timeSlot, date, true);  // Day 1
-                    assignTeacherToDuty(duty, timeSlot, date, false); // Day 2
-                }
+        // Create the templates for Day 1 and Day 2 of each weekday in a sample week
+        List<Day> templates = new ArrayList<>();
+        for (Day sampleDay : getSampleDays(term, dayIndex)) {
+            Day day1Template = copyDutySlots(sampleDay);
+            Day day2Template = copyDutySlots(sampleDay);
+            templates.add(day1Template);
+            templates.add(day2Template);
+
+            // Store both templates for this term and weekday
+            termTemplates[term].setDayTemplate(
+                sampleDay.getDate().getDayOfWeek(),
+                new Day[]{day1Template, day2Template}
+            );
+        }
+        
+        // Assign teachers to every template duty of the term
+        termCells[term] = new TermDutyCells(templates);
+        solver.solveTerm(termCells[term], state);
+        return state;
+    }
+    
+    /**
+     * Gets the first school day of each weekday in a term, Monday first
+     */
+    private List<Day> getSampleDays(int term, SchoolDayIndex dayIndex) {
+        List<Day> result = new ArrayList<>();
+        for (int weekday = 1; weekday <= 5; weekday++) {
+            Day sampleDay = dayIndex.getFirstDay(term, DayOfWeek.of(weekday));
+            if (sampleDay != null) {
+                result.add(sampleDay);
             }
         }
+        return result;
     }
     
     /**
-     * Assigns a teacher to a specific duty
+     * Creates an empty template day with the same duties as the sample day
      */
-    private void assignTeacherToDuty(Duty duty, int timeSlot, LocalDate date, boolean isDay1) {
-        List<Teacher> availableTeachers = findAvailableTeachers(timeSlot, date, isDay1);
-        
-        if (!availableTeachers.isEmpty()) {
-            // Get number of teachers needed for this duty
-            int teachersNeeded = 1;  // One teacher per duty
-            
-            // Sort teachers by number of duties (ascending)
-            availableTeachers.sort((t1, t2) -> 
-                Integer.compare(t1.getDutiesThisSemester(), t2.getDutiesThisSemester()));
-            
-            // Assign up to teachersNeeded teachers, prioritizing those with fewer duties
-            for (int i = 0; i < Math.min(teachersNeeded, availableTeachers.size()); i++) {
-                Teacher selectedTeacher = availableTeachers.get(i);
-                
-                // Assign the teacher to the duty
-                if (isDay1) {
-                    duty.addDay1Teacher(selectedTeacher.getName());
-                } else {
-                    duty.addDay2Teacher(selectedTeacher.getName());
+    private Day copyDutySlots(Day sampleDay) {
+        Day template = new Day(sampleDay.getDate(), sampleDay.getLayout());
+        Duty[][] originalDuties = sampleDay.getDutySchedule();
+        for (int timeSlot = 0; timeSlot < originalDuties.length; timeSlot++) {
+            for (int pos = 0; pos < originalDuties[timeSlot].length; pos++) {
+                if (originalDuties[timeSlot][pos] != null) {
+                    Duty templateDuty = new Duty(
+                        originalDuties[timeSlot][pos].getName(),
+                        originalDuties[timeSlot][pos].getDescription(),
+                        originalDuties[timeSlot][pos].getRoom(),
+                        originalDuties[timeSlot][pos].getTimeSlot()
+                    );
+                    template.addDuty(timeSlot, pos, templateDuty);
                 }
-                
-                // Increment the teacher's duty count
-                selectedTeacher.incrementDutiesThisSemester();
             }
         }
+        return template;
     }
     
     /**
-     * Finds available teachers for a duty
+     * Applies the appropriate template to a given day.
+     * The day shares the template's duties instead of copying them, so edits to a single day
+     * copy the template on write (see Day.editDuty) and never leak into other days.
      */
-    private List<Teacher> findAvailableTeachers(int timeSlot, LocalDate date, boolean isDay1) {
-        List<Teacher> availableTeachers = new ArrayList<>();
-        
-        for (Teacher teacher : teachers) {
-            if (DutyAssignmentRules.canAssignDuty(teacher, timeSlot, date, isDay1)) {
-                availableTeachers.add(teacher);
-            }
+    private void applyTemplateToDay(Day day) {
+        int termNumber = getTermNumber(day.getDate());
+        if (termNumber == TermTable.NO_TERM) {
+            return;
         }
         
-        return availableTeachers;
+        // Get the template for this day from the correct term
+        Day[] templates = termTemplates[termNumber].getDayTemplate(day.getDate().getDayOfWeek());
+        if (templates != null && templates.length > 0) {
+            Day template = templates[0]; // Use the first template since it has both Day 1 and Day 2 assignments
+            day.useTemplate(template.getDutySchedule());
+        }
+    }
+    
+    /**
+     * Determines which term a date falls into
+     */
+    private int getTermNumber(LocalDate date) {
+        return calendar.getTermTable().getTerm(date);
+    }
+    
+    /**
+     * Gets a list of all school days from the calendar
+     */
+    private List<Day> getSchoolDays() {
+        return calendar.getSchoolDays();
+    }
+    
+    /**
+     * Groups the school days by term and weekday in one pass
+     */
+    private SchoolDayIndex indexSchoolDays() {
+        return calendar.indexSchoolDays();
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,10 +1,11 @@
 package com.jamesdegroot.duty_assigment;
 
+import com.jamesdegroot.calendar.RotationTable;
+import com.jamesdegroot.calendar.TermTable;
 import com.jamesdegroot.teacher.Teacher;
 import java.time.LocalDate;
 import java.time.DayOfWeek;
 import java.util.List;
-import java.time.Month;
 
 public class DutyAssignmentRules {
     // Constants for duty limits
@@ -24,21 +25,23 @@ public class DutyAssignmentRules {
     private static final int PERIOD_4_SLOT = 5;
     
     /**
-     * Determines if it's a Day 1 or Day 2 based on the date
+     * Determines if it's a Day 1 or Day 2 from the calendar's rotation table
+     * @param rotations The calendar's rotation table
      * @param date The date to check
-     * @return true if it's Day 1, false if Day 2
+     * @return true if it's Day 1, false if Day 2 or not a school day
      */
-    public static boolean isDay1(LocalDate date) {
-        return date.getDayOfMonth() % 2 != 0; // Odd days are Day 1
+    public static boolean isDay1(RotationTable rotations, LocalDate date) {
+        return rotations.getRotation(date) == RotationTable.DAY_1;
     }
     
     /**
      * Gets the day rotation identifier for a given date
+     * @param rotations The calendar's rotation table
      * @param date The date to check
      * @return "D1" or "D2" depending on the date
      */
-    public static String getDayRotation(LocalDate date) {
-        return isDay1(date) ? DAY_1_IDENTIFIER : DAY_2_IDENTIFIER;
+    public static String getDayRotation(RotationTable rotations, LocalDate date) {
+        return isDay1(rotations, date) ? DAY_1_IDENTIFIER : DAY_2_IDENTIFIER;
     }
     
     /**
@@ -47,9 +50,11 @@ public class DutyAssignmentRules {
      * @param timeSlot The time slot for the duty
      * @param date The date of the duty
      * @param isDay1Duty Whether this is a Day 1 duty assignment
+     * @param terms The terms of the school year
      * @return true if the teacher can be assigned the duty
      */
-    public static boolean canAssignDuty(Teacher teacher, int timeSlot, LocalDate date, boolean isDay1Duty) {
+    public static boolean canAssignDuty(Teacher teacher, int timeSlot, LocalDate date, boolean isDay1Duty,
+                                        TermTable terms) {
         // Skip weekends
         if (isWeekend(date)) {
             return false;
@@ -66,13 +71,33 @@ public class DutyAssignmentRules {
         }
         
         // Check if teacher has any classes in this term
-        if (!hasClassesInTerm(teacher, date)) {
+        if (!hasClassesInTerm(teacher, terms, date)) {
             return false;
         }
         
         return true;
     }
     
+    /**
+     * Checks the date-level part of canAssignDuty, which is the same for every teacher
+     * @param terms The terms of the school year
+     * @param date The date of the duty
+     * @return true if duties can be assigned on this date at all
+     */
+    static boolean isDutyDate(TermTable terms, LocalDate date) {
+        return !isWeekend(date) && terms.getTerm(date) != TermTable.NO_TERM;
+    }
+    
+    /**
+     * Checks the teacher-level part of canAssignDuty for a time slot, ignoring duty counts
+     * @param teacher The teacher to check
+     * @param timeSlot The time slot for the duty
+     * @return true if the teacher is free in the time slot and teaches this year
+     */
+    static boolean isFreeForTimeSlot(Teacher teacher, int timeSlot) {
+        return !hasClassDuringTimeSlot(teacher, timeSlot) && hasAnyClasses(teacher);
+    }
+    
     /**
      * Checks if the given date is a weekend
      */
@@ -155,38 +180,19 @@ public class DutyAssignmentRules {
     /**
      * Checks if a teacher has any classes in the given term
      */
-    private static boolean hasClassesInTerm(Teacher teacher, LocalDate date) {
-        int month = date.getMonthValue();
-        List<String> schedule = teacher.getSchedule();
-        
-        // Check if teacher has any classes in their schedule
-        boolean hasClasses = false;
-        for (String slot : schedule) {
+    private static boolean hasClassesInTerm(Teacher teacher, TermTable terms, LocalDate date) {
+        return hasAnyClasses(teacher) && terms.getTerm(date) != TermTable.NO_TERM;
+    }
+    
+    /**
+     * Checks if teacher has any classes in their schedule
+     */
+    private static boolean hasAnyClasses(Teacher teacher) {
+        for (String slot : teacher.getSchedule()) {
             if (!slot.trim().isEmpty()) {
-                hasClasses = true;
-                break;
+                return true;
             }
         }
-        
-        if (!hasClasses) {
-            return false;
-        }
-        
-        // Check which term this date falls into and if teacher has classes in that term
-        if (month >= Month.SEPTEMBER.getValue() && month < Month.NOVEMBER.getValue()) {
-            // Term 1 - Fall Term 1 (September-October)
-            return true;
-        } else if (month >= Month.NOVEMBER.getValue() && month <= Month.JANUARY.getValue()) {
-            // Term 2 - Fall Term 2 (November-January)
-            return true;
-        } else if (month >= Month.FEBRUARY.getValue() && month < Month.APRIL.getValue()) {
-            // Term 3 - Spring Term 1 (February-March)
-            return true;
-        } else if (month >= Month.APRIL.getValue() && month <= Month.JUNE.getValue()) {
-            // Term 4 - Spring Term 2 (April-June)
-            return true;
-        }
-        
         return false;
     }
-} 
\ No newline at end of file
+}
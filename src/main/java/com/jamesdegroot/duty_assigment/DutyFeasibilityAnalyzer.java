@@ -0,0 +1,130 @@
+package com.jamesdegroot.duty_assigment;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.TermTable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Checks before solving whether the teachers can cover the duties of each term.
+ * Demand is counted the way the solvers see it: every sample weekday of a term gets a
+ * Day 1 and a Day 2 template, and every duty of a template has a Day 1 and a Day 2 cell.
+ * Capacity is the number of free teachers in each time slot and the sum of their quotas,
+ * which reset every term.
+ */
+public class DutyFeasibilityAnalyzer {
+    private static final int TEMPLATES_PER_WEEKDAY = 2;  // Day 1 and Day 2 template
+    private static final int CELLS_PER_DUTY = 2;         // Day 1 and Day 2 teacher
+
+    private final TeacherAvailabilityIndex index;
+    private final TermTable terms;
+
+    /**
+     * Creates an analyzer for the teachers in an availability index.
+     * @param index the availability of the teachers
+     * @param terms the terms of the school year
+     */
+    public DutyFeasibilityAnalyzer(TeacherAvailabilityIndex index, TermTable terms) {
+        this.index = index;
+        this.terms = terms;
+    }
+
+    /**
+     * Compares the demand of each term with the teachers' capacity.
+     * @param termSampleDays the sample day of each weekday, per term
+     * @return the report listing every slot and term that cannot be fully staffed
+     */
+    public Report analyze(List<List<Day>> termSampleDays) {
+        int timeSlots = index.getTimeSlots();
+
+        // Free teachers with a quota and their summed quota per time slot, the same for every term
+        int[] freeTeachers = new int[timeSlots];
+        long[] slotCapacity = new long[timeSlots];
+        for (int timeSlot = 0; timeSlot < timeSlots; timeSlot++) {
+            BitSet free = index.getFreeTeachers(timeSlot);
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                if (index.getMaxDuties(i) > 0) {
+                    freeTeachers[timeSlot]++;
+                    slotCapacity[timeSlot] += index.getMaxDuties(i);
+                }
+            }
+        }
+        long totalCapacity = 0;
+        for (int i = 0; i < index.size(); i++) {
+            totalCapacity += index.getMaxDuties(i);
+        }
+
+        Report report = new Report();
+        for (int term = 0; term < termSampleDays.size(); term++) {
+            int[] demand = new int[timeSlots];
+            long termDemand = 0;
+            for (Day sampleDay : termSampleDays.get(term)) {
+                if (!DutyAssignmentRules.isDutyDate(terms, sampleDay.getDate())) {
+                    continue;
+                }
+                Duty[][] dutySchedule = sampleDay.getDutySchedule();
+                for (int timeSlot = 0; timeSlot < Math.min(timeSlots, dutySchedule.length); timeSlot++) {
+                    for (Duty duty : dutySchedule[timeSlot]) {
+                        if (duty != null) {
+                            demand[timeSlot] += TEMPLATES_PER_WEEKDAY * CELLS_PER_DUTY;
+                        }
+                    }
+                }
+            }
+
+            for (int timeSlot = 0; timeSlot < timeSlots; timeSlot++) {
+                termDemand += demand[timeSlot];
+                if (demand[timeSlot] == 0) {
+                    continue;
+                }
+                if (freeTeachers[timeSlot] == 0) {
+                    report.addIssue(String.format("Term %d, slot %d: %d cells but no teacher is free",
+                        term + 1, timeSlot + 1, demand[timeSlot]));
+                } else if (demand[timeSlot] > slotCapacity[timeSlot]) {
+                    report.addIssue(String.format("Term %d, slot %d: %d cells but only %d duties left among %d free teacher(s)",
+                        term + 1, timeSlot + 1, demand[timeSlot], slotCapacity[timeSlot], freeTeachers[timeSlot]));
+                }
+            }
+            if (termDemand > totalCapacity) {
+                report.addIssue(String.format("Term %d: %d cells but all teachers together can take only %d",
+                    term + 1, termDemand, totalCapacity));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * The slots and terms found to be infeasible.
+     */
+    public static class Report {
+        private final List<String> issues = new ArrayList<>();
+
+        private void addIssue(String issue) {
+            issues.add(issue);
+        }
+
+        /**
+         * Checks if every slot of every term can be staffed as far as counts go.
+         * The solvers may still leave cells open when teachers' free slots overlap badly.
+         * @return true if no issue was found
+         */
+        public boolean isFeasible() {
+            return issues.isEmpty();
+        }
+
+        /**
+         * Gets a description of every infeasible slot and term.
+         * @return the issues, empty if feasible
+         */
+        public List<String> getIssues() {
+            return issues;
+        }
+
+        @Override
+        public String toString() {
+            return isFeasible() ? "Duty demand can be covered" : String.join("\n", issues);
+        }
+    }
+}
@@ -0,0 +1,434 @@
+package com.jamesdegroot.duty_assigment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Optional improvement stage run after a solver has filled the term templates.
+ * Simulated annealing moves cells between teachers and swaps teachers between cells
+ * to make duties fairer, without ever leaving a filled cell empty or putting a teacher
+ * on two duties of the same template, time slot and rotation.
+ * Independent restarts run in parallel until the wall-clock budget is used up,
+ * and the best roster found replaces the solver's one if it is better.
+ */
+public class DutyScheduleOptimizer {
+    // Objective weights, lower cost is better
+    private static final long UNFILLED_CELL_PENALTY = 1_000_000L;  // per cell without a teacher
+    private static final long ROTATION_IMBALANCE_WEIGHT = 1;      // per |Day 1 - Day 2| duties of a teacher
+    // Duty spread is the sum of squared duty counts, which for a fixed number of
+    // filled cells is lowest when every teacher has the same count
+
+    // Annealing schedule
+    private static final double START_TEMPERATURE = 8.0;
+    private static final double END_TEMPERATURE = 0.05;
+    private static final double SWAP_PROBABILITY = 0.5;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final Duration budget;
+    private final int restarts;
+    private final long seed;
+    private final long iterations;
+
+    /**
+     * Creates an optimizer that runs one restart per available core.
+     * @param budget the wall-clock time to spend over all terms
+     */
+    public DutyScheduleOptimizer(Duration budget) {
+        this(budget, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Creates an optimizer.
+     * @param budget the wall-clock time to spend over all terms
+     * @param restarts the number of independent searches run in parallel
+     * @param seed the seed for the searches' random number generators
+     */
+    public DutyScheduleOptimizer(Duration budget, int restarts, long seed) {
+        this(budget, restarts, seed, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates an optimizer that also stops each search after a number of steps.
+     * Cooling then follows the steps instead of the clock, so a seeded run that
+     * finishes within its budget always gives the same roster.
+     * @param budget the wall-clock time to spend over all terms
+     * @param restarts the number of independent searches run in parallel
+     * @param seed the seed for the searches' random number generators
+     * @param iterations the number of steps of each search in each term
+     */
+    public DutyScheduleOptimizer(Duration budget, int restarts, long seed, long iterations) {
+        this.budget = budget;
+        this.restarts = Math.max(1, restarts);
+        this.seed = seed;
+        this.iterations = Math.max(1, iterations);
+    }
+
+    /**
+     * Improves the templates of several terms, splitting the budget evenly between them.
+     * @param termCells the filled cells of each term
+     * @param termStates the duty counts of each term, updated with the improved roster
+     */
+    public void improve(List<TermDutyCells> termCells, List<TermDutyState> termStates) {
+        int termsWithCells = 0;
+        for (TermDutyCells cells : termCells) {
+            if (cells.size() > 0) {
+                termsWithCells++;
+            }
+        }
+        if (termsWithCells == 0) {
+            return;
+        }
+
+        long termBudgetNanos = budget.toNanos() / termsWithCells;
+        ExecutorService executor = Executors.newFixedThreadPool(restarts);
+        try {
+            for (int term = 0; term < termCells.size(); term++) {
+                if (termCells.get(term).size() > 0) {
+                    improveTerm(termCells.get(term), termStates.get(term), termBudgetNanos, executor);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the restarts for one term and applies the best roster found.
+     */
+    private void improveTerm(TermDutyCells cells, TermDutyState state, long budgetNanos, ExecutorService executor) {
+        Problem problem = new Problem(cells, state);
+        Search initial = new Search(problem, new Random(seed));
+        long deadline = System.nanoTime() + budgetNanos;
+
+        List<Callable<Search>> tasks = new ArrayList<>();
+        for (int restart = 0; restart < restarts; restart++) {
+            final long restartSeed = seed + restart + 1;
+            tasks.add(() -> {
+                Search search = new Search(problem, new Random(restartSeed));
+                search.anneal(deadline, iterations);
+                return search;
+            });
+        }
+
+        Search best = initial;
+        try {
+            for (Future<Search> result : executor.invokeAll(tasks)) {
+                Search search = result.get();
+                if (search.bestCost < best.bestCost) {
+                    best = search;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error optimizing duty schedule", e.getCause());
+        }
+
+        // Write the changed cells back to the templates and the term's duty counts
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int oldTeacher = cells.getAssignedTeacher(cell);
+            int newTeacher = best.bestAssignment[cell];
+            if (oldTeacher != newTeacher) {
+                if (oldTeacher >= 0) {
+                    state.releaseDuty(oldTeacher);
+                }
+                cells.reassign(cell, newTeacher, state.getTeacher(newTeacher).getId());
+                state.recordDuty(newTeacher);
+            }
+        }
+    }
+
+    /**
+     * Computes the fairness cost of the roster currently in the cells.
+     * @param cells the filled cells of a term
+     * @param state the duty counts of the term
+     * @return the cost, lower is fairer
+     */
+    public static long evaluate(TermDutyCells cells, TermDutyState state) {
+        return new Search(new Problem(cells, state), new Random(0)).cost;
+    }
+
+    /**
+     * Read-only data of a term shared by all restarts.
+     */
+    private static class Problem {
+        final int cellCount;
+        final int[] cellSlots;         // time slot per cell, -1 if the cell cannot be staffed
+        final boolean[] day1Cells;
+        final int[] cellGroups;        // slot group per cell, see TermDutyCells.getSlotGroup
+        final int[][] groupCells;      // cells of each slot group
+        final int[][] freeBySlot;      // teacher indexes free in each time slot
+        final int[] maxDuties;
+        final int[] initialAssignment;
+        final int[] initialLoads;
+
+        Problem(TermDutyCells cells, TermDutyState state) {
+            cellCount = cells.size();
+            cellSlots = new int[cellCount];
+            day1Cells = new boolean[cellCount];
+            cellGroups = new int[cellCount];
+            initialAssignment = new int[cellCount];
+            int[] groupSizes = new int[cells.getSlotGroupCount()];
+            for (int cell = 0; cell < cellCount; cell++) {
+                int timeSlot = cells.getTimeSlot(cell);
+                boolean staffable = timeSlot >= 0 && timeSlot < state.getTimeSlots()
+                    && state.isDutyDate(cells.getDate(cell));
+                cellSlots[cell] = staffable ? timeSlot : -1;
+                day1Cells[cell] = cells.isDay1(cell);
+                initialAssignment[cell] = cells.getAssignedTeacher(cell);
+                cellGroups[cell] = cells.getSlotGroup(cell);
+                groupSizes[cellGroups[cell]]++;
+            }
+            groupCells = new int[groupSizes.length][];
+            for (int group = 0; group < groupSizes.length; group++) {
+                groupCells[group] = new int[groupSizes[group]];
+                groupSizes[group] = 0;
+            }
+            for (int cell = 0; cell < cellCount; cell++) {
+                groupCells[cellGroups[cell]][groupSizes[cellGroups[cell]]++] = cell;
+            }
+
+            freeBySlot = new int[state.getTimeSlots()][];
+            maxDuties = new int[state.getTeacherCount()];
+            initialLoads = new int[state.getTeacherCount()];
+            for (int timeSlot = 0; timeSlot < freeBySlot.length; timeSlot++) {
+                BitSet free = state.getFreeTeachers(timeSlot);
+                int[] teachers = new int[free.cardinality()];
+                int count = 0;
+                for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                    if (state.getMaxDuties(i) > 0) {
+                        teachers[count++] = i;
+                    }
+                }
+                freeBySlot[timeSlot] = Arrays.copyOf(teachers, count);
+            }
+            for (int i = 0; i < maxDuties.length; i++) {
+                maxDuties[i] = state.getMaxDuties(i);
+                initialLoads[i] = state.getLoad(i);
+            }
+        }
+    }
+
+    /**
+     * One annealing run with its own copy of the roster.
+     */
+    private static class Search {
+        private final Problem problem;
+        private final Random random;
+        private final int[] assignment;
+        private final int[] loads;
+        private final int[] day1Duties;
+        private final int[] day2Duties;
+        private long cost;
+        private int[] bestAssignment;
+        private long bestCost;
+
+        Search(Problem problem, Random random) {
+            this.problem = problem;
+            this.random = random;
+            this.assignment = problem.initialAssignment.clone();
+            this.loads = problem.initialLoads.clone();
+            this.day1Duties = new int[loads.length];
+            this.day2Duties = new int[loads.length];
+
+            for (int cell = 0; cell < assignment.length; cell++) {
+                int teacher = assignment[cell];
+                if (teacher >= 0) {
+                    if (problem.day1Cells[cell]) {
+                        day1Duties[teacher]++;
+                    } else {
+                        day2Duties[teacher]++;
+                    }
+                } else if (problem.cellSlots[cell] >= 0) {
+                    cost += UNFILLED_CELL_PENALTY;
+                }
+            }
+            for (int i = 0; i < loads.length; i++) {
+                cost += (long) loads[i] * loads[i];
+                cost += ROTATION_IMBALANCE_WEIGHT * Math.abs(day1Duties[i] - day2Duties[i]);
+            }
+            bestAssignment = assignment.clone();
+            bestCost = cost;
+        }
+
+        void anneal(long deadline, long iterations) {
+            if (problem.cellCount == 0) {
+                return;
+            }
+            long start = System.nanoTime();
+            double span = Math.max(1, deadline - start);
+            double temperature = START_TEMPERATURE;
+
+            for (long iteration = 0; iteration < iterations; iteration++) {
+                if (iteration % TIME_CHECK_INTERVAL == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline || Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                    // Geometric cooling over the step limit if there is one, otherwise the time budget
+                    double progress = iterations == Long.MAX_VALUE ? (now - start) / span
+                        : (double) iteration / iterations;
+                    temperature = START_TEMPERATURE * Math.pow(END_TEMPERATURE / START_TEMPERATURE, progress);
+                }
+
+                if (random.nextDouble() < SWAP_PROBABILITY) {
+                    trySwap(temperature);
+                } else {
+                    tryMove(temperature);
+                }
+
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    System.arraycopy(assignment, 0, bestAssignment, 0, assignment.length);
+                }
+            }
+        }
+
+        /**
+         * Gives a random cell to another free teacher with capacity left.
+         */
+        private void tryMove(double temperature) {
+            int cell = random.nextInt(problem.cellCount);
+            int timeSlot = problem.cellSlots[cell];
+            if (timeSlot < 0 || problem.freeBySlot[timeSlot].length == 0) {
+                return;
+            }
+            int[] candidates = problem.freeBySlot[timeSlot];
+            int newTeacher = candidates[random.nextInt(candidates.length)];
+            int oldTeacher = assignment[cell];
+            if (newTeacher == oldTeacher || loads[newTeacher] >= problem.maxDuties[newTeacher]
+                    || isOnDutyWith(newTeacher, cell, cell)) {
+                return;
+            }
+
+            boolean day1 = problem.day1Cells[cell];
+            long delta = rotationChange(newTeacher, day1, 1) + 2L * loads[newTeacher] + 1;
+            if (oldTeacher >= 0) {
+                delta += rotationChange(oldTeacher, day1, -1) - 2L * loads[oldTeacher] + 1;
+            } else {
+                delta -= UNFILLED_CELL_PENALTY;
+            }
+
+            if (accept(delta, temperature)) {
+                if (oldTeacher >= 0) {
+                    removeDuty(oldTeacher, day1);
+                }
+                addDuty(newTeacher, day1);
+                assignment[cell] = newTeacher;
+                cost += delta;
+            }
+        }
+
+        /**
+         * Exchanges the teachers of two random cells if each is free for the other's slot
+         * and neither would end up on two duties at the same time.
+         */
+        private void trySwap(double temperature) {
+            int first = random.nextInt(problem.cellCount);
+            int second = random.nextInt(problem.cellCount);
+            int firstTeacher = assignment[first];
+            int secondTeacher = assignment[second];
+            if (firstTeacher < 0 || secondTeacher < 0 || firstTeacher == secondTeacher) {
+                return;
+            }
+            if (!isFree(firstTeacher, problem.cellSlots[second]) || !isFree(secondTeacher, problem.cellSlots[first])) {
+                return;
+            }
+            if (isOnDutyWith(firstTeacher, second, first) || isOnDutyWith(secondTeacher, first, second)) {
+                return;
+            }
+            boolean firstDay1 = problem.day1Cells[first];
+            boolean secondDay1 = problem.day1Cells[second];
+            if (firstDay1 == secondDay1 && problem.cellSlots[first] == problem.cellSlots[second]) {
+                return;  // Nothing the objective can see would change
+            }
+
+            // Loads stay the same, only the rotation balance can change
+            removeDuty(firstTeacher, firstDay1);
+            removeDuty(secondTeacher, secondDay1);
+            addDuty(firstTeacher, secondDay1);
+            addDuty(secondTeacher, firstDay1);
+            long after = rotationCost(firstTeacher) + rotationCost(secondTeacher);
+            removeDuty(firstTeacher, secondDay1);
+            removeDuty(secondTeacher, firstDay1);
+            addDuty(firstTeacher, firstDay1);
+            addDuty(secondTeacher, secondDay1);
+            long delta = after - rotationCost(firstTeacher) - rotationCost(secondTeacher);
+
+            if (accept(delta, temperature)) {
+                removeDuty(firstTeacher, firstDay1);
+                removeDuty(secondTeacher, secondDay1);
+                addDuty(firstTeacher, secondDay1);
+                addDuty(secondTeacher, firstDay1);
+                assignment[first] = secondTeacher;
+                assignment[second] = firstTeacher;
+                cost += delta;
+            }
+        }
+
+        private boolean isFree(int teacher, int timeSlot) {
+            if (timeSlot < 0) {
+                return false;
+            }
+            return Arrays.binarySearch(problem.freeBySlot[timeSlot], teacher) >= 0;
+        }
+
+        /**
+         * Checks if a teacher holds a cell of another cell's slot group, other than the cell
+         * they would give up, so taking that cell would put them on two duties at once.
+         */
+        private boolean isOnDutyWith(int teacher, int cell, int givenUpCell) {
+            for (int other : problem.groupCells[problem.cellGroups[cell]]) {
+                if (other != cell && other != givenUpCell && assignment[other] == teacher) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean accept(long delta, double temperature) {
+            return delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature);
+        }
+
+        private long rotationCost(int teacher) {
+            return ROTATION_IMBALANCE_WEIGHT * Math.abs(day1Duties[teacher] - day2Duties[teacher]);
+        }
+
+        /**
+         * Change in rotation cost if a teacher gains (+1) or loses (-1) a duty on one rotation.
+         */
+        private long rotationChange(int teacher, boolean day1, int change) {
+            int difference = day1Duties[teacher] - day2Duties[teacher];
+            int newDifference = difference + (day1 ? change : -change);
+            return ROTATION_IMBALANCE_WEIGHT * (Math.abs(newDifference) - Math.abs(difference));
+        }
+
+        private void addDuty(int teacher, boolean day1) {
+            loads[teacher]++;
+            if (day1) {
+                day1Duties[teacher]++;
+            } else {
+                day2Duties[teacher]++;
+            }
+        }
+
+        private void removeDuty(int teacher, boolean day1) {
+            loads[teacher]--;
+            if (day1) {
+                day1Duties[teacher]--;
+            } else {
+                day2Duties[teacher]--;
+            }
+        }
+    }
+}
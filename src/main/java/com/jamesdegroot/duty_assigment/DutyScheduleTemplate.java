@@ -76,9 +76,13 @@ public class DutyScheduleTemplate {
                         
                         // Copy the appropriate teacher assignments based on Day 1/2
                         if (isDay1) {
-                            templateDuty.getDay1Teachers().forEach(newDuty::addDay1Teacher);
+                            for (int teacherId : templateDuty.getDay1TeacherIds()) {
+                                newDuty.addDay1TeacherId(teacherId);
+                            }
                         } else {
-                            templateDuty.getDay2Teachers().forEach(newDuty::addDay2Teacher);
+                            for (int teacherId : templateDuty.getDay2TeacherIds()) {
+                                newDuty.addDay2TeacherId(teacherId);
+                            }
                         }
                         
                         // Add the duty to the target day
@@ -0,0 +1,14 @@
+package com.jamesdegroot.duty_assigment;
+
+/**
+ * Strategy for filling the duty cells of one term.
+ * Implementations must not keep state between calls, since terms may be solved in parallel.
+ */
+public interface DutySolver {
+    /**
+     * Assigns teachers to the cells of a term.
+     * @param cells the Day 1 and Day 2 cells of every template duty in the term
+     * @param state the term's duty counts, updated for every assignment made
+     */
+    void solveTerm(TermDutyCells cells, TermDutyState state);
+}
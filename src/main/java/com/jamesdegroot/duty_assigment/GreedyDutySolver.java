@@ -0,0 +1,27 @@
+package com.jamesdegroot.duty_assigment;
+
+/**
+ * Fills cells in order with the least loaded available teacher who is not already on
+ * another duty of the same slot group.
+ * Fast, but an early cell can take the only teacher a later cell could have used.
+ */
+public class GreedyDutySolver implements DutySolver {
+
+    @Override
+    public void solveTerm(TermDutyCells cells, TermDutyState state) {
+        for (int cell = 0; cell < cells.size(); cell++) {
+            // One teacher per duty, taken from the top of the time slot's load heap
+            // unless they already hold another position of the slot
+            final int currentCell = cell;
+            int selectedIndex = state.pickLeastLoaded(cells.getTimeSlot(cell), cells.getDate(cell),
+                teacherIndex -> cells.isInSlotGroup(currentCell, teacherIndex));
+            
+            if (selectedIndex >= 0) {
+                cells.assign(cell, selectedIndex, state.getTeacher(selectedIndex).getId());
+                
+                // Increment the teacher's duty count for this term
+                state.recordDuty(selectedIndex);
+            }
+        }
+    }
+}
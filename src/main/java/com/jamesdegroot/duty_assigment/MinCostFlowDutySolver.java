@@ -0,0 +1,280 @@
+package com.jamesdegroot.duty_assigment;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Solves a term as a min-cost flow network:
+ * source -> teacher (one unit per remaining duty) -> teacher on a template -> slot group -> sink
+ * (one unit per cell). A slot group holds the cells of one template, time slot and rotation,
+ * and each teacher has one unit into a group, so nobody is given two duties at the same time.
+ * The maximum flow covers as many cells as the teachers' free periods and quotas allow.
+ * The k-th extra duty of a teacher costs their current load plus k, so the cheapest maximum
+ * flow spreads duties as evenly as possible; with loads tied, a teacher's k-th extra duty on
+ * the same template costs k, which spreads each teacher's duties over the week.
+ */
+public class MinCostFlowDutySolver implements DutySolver {
+    private static final int SOURCE = 0;
+    private static final int SINK = 1;
+    private static final int FIRST_GROUP_NODE = 2;
+    private static final long INFINITE_DISTANCE = Long.MAX_VALUE / 4;
+
+    @Override
+    public void solveTerm(TermDutyCells cells, TermDutyState state) {
+        int timeSlots = state.getTimeSlots();
+        int groupCount = cells.getSlotGroupCount();
+
+        // Collect the cells that can be staffed in each slot group
+        int[] demand = new int[groupCount];
+        int[] groupSlot = new int[groupCount];
+        int[] groupTemplate = new int[groupCount];
+        int templateCount = 0;
+        int totalDemand = 0;
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int timeSlot = cells.getTimeSlot(cell);
+            if (timeSlot >= 0 && timeSlot < timeSlots && state.isDutyDate(cells.getDate(cell))) {
+                int group = cells.getSlotGroup(cell);
+                demand[group]++;
+                groupSlot[group] = timeSlot;
+                groupTemplate[group] = cells.getTemplateIndex(cell);
+                templateCount = Math.max(templateCount, groupTemplate[group] + 1);
+                totalDemand++;
+            }
+        }
+        if (totalDemand == 0) {
+            return;
+        }
+        // A teacher's template costs add up to less than one extra duty, so they only break ties
+        long dutyCost = (long) totalDemand * totalDemand;
+
+        // Build the network from the teachers that can still take a duty in a group with demand
+        FlowNetwork network = new FlowNetwork(FIRST_GROUP_NODE + groupCount);
+        for (int group = 0; group < groupCount; group++) {
+            if (demand[group] > 0) {
+                network.addEdge(FIRST_GROUP_NODE + group, SINK, demand[group], 0);
+            }
+        }
+
+        List<int[]> groupEdges = new ArrayList<>();  // {teacher index, group, edge}
+        int[] reachableGroups = new int[templateCount];
+        BitSet candidates = state.getTeachersWithCapacity();
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Arrays.fill(reachableGroups, 0);
+            int reachableDemand = 0;
+            for (int group = 0; group < groupCount; group++) {
+                if (demand[group] > 0 && state.isFree(i, groupSlot[group])) {
+                    reachableGroups[groupTemplate[group]]++;
+                    reachableDemand++;
+                }
+            }
+            if (reachableDemand == 0) {
+                continue;
+            }
+
+            int remaining = Math.min(state.getRemainingDuties(i), reachableDemand);
+            int teacherNode = network.addNode();
+            network.addUnitEdges(SOURCE, teacherNode, remaining, state.getLoad(i) * dutyCost, dutyCost);
+
+            int[] templateNodes = new int[templateCount];
+            for (int template = 0; template < templateCount; template++) {
+                if (reachableGroups[template] > 0) {
+                    templateNodes[template] = network.addNode();
+                    network.addUnitEdges(teacherNode, templateNodes[template],
+                        Math.min(remaining, reachableGroups[template]), 0, 1);
+                }
+            }
+            for (int group = 0; group < groupCount; group++) {
+                if (demand[group] > 0 && state.isFree(i, groupSlot[group])) {
+                    int edge = network.addEdge(templateNodes[groupTemplate[group]], FIRST_GROUP_NODE + group, 1, 0);
+                    groupEdges.add(new int[]{i, group, edge});
+                }
+            }
+        }
+
+        network.minCostMaxFlow(SOURCE, SINK);
+
+        // Give each group's teachers its cells, in cell order
+        List<List<Integer>> teachersByGroup = new ArrayList<>(groupCount);
+        for (int group = 0; group < groupCount; group++) {
+            teachersByGroup.add(new ArrayList<>());
+        }
+        for (int[] groupEdge : groupEdges) {
+            if (network.getFlow(groupEdge[2]) > 0) {
+                teachersByGroup.get(groupEdge[1]).add(groupEdge[0]);
+            }
+        }
+        int[] nextTeacher = new int[groupCount];
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int timeSlot = cells.getTimeSlot(cell);
+            if (timeSlot < 0 || timeSlot >= timeSlots || !state.isDutyDate(cells.getDate(cell))) {
+                continue;
+            }
+            int group = cells.getSlotGroup(cell);
+            List<Integer> teachers = teachersByGroup.get(group);
+            if (nextTeacher[group] < teachers.size()) {
+                int teacherIndex = teachers.get(nextTeacher[group]++);
+                cells.assign(cell, teacherIndex, state.getTeacher(teacherIndex).getId());
+                state.recordDuty(teacherIndex);
+            }
+        }
+    }
+
+    /**
+     * Residual network solved with successive shortest paths (Dijkstra with potentials).
+     */
+    private static class FlowNetwork {
+        private int nodeCount;
+        private int edgeCount;
+        private int[] head;
+        private int[] next;
+        private int[] to;
+        private int[] capacity;
+        private int[] originalCapacity;
+        private long[] cost;
+        private int[] unitsLeft;   // unit edges still to be added into a node from its unit source
+        private int[] unitSource;
+        private long[] nextUnitCost;
+        private long[] unitCostStep;
+
+        FlowNetwork(int nodeCount) {
+            this.nodeCount = nodeCount;
+            this.head = new int[Math.max(16, nodeCount)];
+            Arrays.fill(head, -1);
+            this.next = new int[64];
+            this.to = new int[64];
+            this.capacity = new int[64];
+            this.originalCapacity = new int[64];
+            this.cost = new long[64];
+            this.unitsLeft = new int[head.length];
+            this.unitSource = new int[head.length];
+            this.nextUnitCost = new long[head.length];
+            this.unitCostStep = new long[head.length];
+        }
+
+        int addNode() {
+            if (nodeCount == head.length) {
+                int oldLength = head.length;
+                head = Arrays.copyOf(head, oldLength * 2);
+                Arrays.fill(head, oldLength, head.length, -1);
+                unitsLeft = Arrays.copyOf(unitsLeft, head.length);
+                unitSource = Arrays.copyOf(unitSource, head.length);
+                nextUnitCost = Arrays.copyOf(nextUnitCost, head.length);
+                unitCostStep = Arrays.copyOf(unitCostStep, head.length);
+            }
+            return nodeCount++;
+        }
+
+        /**
+         * Adds an edge and its residual twin.
+         * @return the index of the forward edge
+         */
+        int addEdge(int from, int target, int edgeCapacity, long edgeCost) {
+            int forward = appendEdge(from, target, edgeCapacity, edgeCost);
+            appendEdge(target, from, 0, -edgeCost);
+            return forward;
+        }
+
+        /**
+         * Adds capacity-one edges into a node with costs firstCost, firstCost + step, ...
+         * Only the cheapest unused edge is in the network at any time; the next one is added
+         * once it is used, which keeps the edge lists short. A node has one set of unit edges.
+         */
+        void addUnitEdges(int from, int target, int units, long firstCost, long step) {
+            if (units > 0) {
+                addEdge(from, target, 1, firstCost);
+                unitsLeft[target] = units - 1;
+                unitSource[target] = from;
+                nextUnitCost[target] = firstCost + step;
+                unitCostStep[target] = step;
+            }
+        }
+
+        private int appendEdge(int from, int target, int edgeCapacity, long edgeCost) {
+            if (edgeCount == to.length) {
+                int newLength = to.length * 2;
+                next = Arrays.copyOf(next, newLength);
+                to = Arrays.copyOf(to, newLength);
+                capacity = Arrays.copyOf(capacity, newLength);
+                originalCapacity = Arrays.copyOf(originalCapacity, newLength);
+                cost = Arrays.copyOf(cost, newLength);
+            }
+            to[edgeCount] = target;
+            capacity[edgeCount] = edgeCapacity;
+            originalCapacity[edgeCount] = edgeCapacity;
+            cost[edgeCount] = edgeCost;
+            next[edgeCount] = head[from];
+            head[from] = edgeCount;
+            return edgeCount++;
+        }
+
+        int getFlow(int edge) {
+            return originalCapacity[edge] - capacity[edge];
+        }
+
+        void minCostMaxFlow(int source, int sink) {
+            long[] potential = new long[nodeCount];
+            long[] distance = new long[nodeCount];
+            int[] parentEdge = new int[nodeCount];
+            PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+
+            while (true) {
+                Arrays.fill(distance, INFINITE_DISTANCE);
+                Arrays.fill(parentEdge, -1);
+                distance[source] = 0;
+                queue.add(new long[]{0, source});
+
+                while (!queue.isEmpty()) {
+                    long[] entry = queue.poll();
+                    int node = (int) entry[1];
+                    if (entry[0] > distance[node]) {
+                        continue;
+                    }
+                    for (int e = head[node]; e >= 0; e = next[e]) {
+                        if (capacity[e] <= 0) {
+                            continue;
+                        }
+                        int target = to[e];
+                        long reduced = distance[node] + cost[e] + potential[node] - potential[target];
+                        if (reduced < distance[target]) {
+                            distance[target] = reduced;
+                            parentEdge[target] = e;
+                            queue.add(new long[]{reduced, target});
+                        }
+                    }
+                }
+
+                if (distance[sink] == INFINITE_DISTANCE) {
+                    return;
+                }
+                for (int node = 0; node < nodeCount; node++) {
+                    if (distance[node] < INFINITE_DISTANCE) {
+                        potential[node] += distance[node];
+                    }
+                }
+
+                // Push the bottleneck along the shortest path
+                int bottleneck = Integer.MAX_VALUE;
+                for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+                    bottleneck = Math.min(bottleneck, capacity[parentEdge[node]]);
+                }
+                for (int node = sink; node != source; node = to[parentEdge[node] ^ 1]) {
+                    capacity[parentEdge[node]] -= bottleneck;
+                    capacity[parentEdge[node] ^ 1] += bottleneck;
+                    
+                    // Expose the next, dearer unit of a node fed by unit edges. Its reduced cost
+                    // is the cost step, since the used unit was on a shortest path.
+                    int from = to[parentEdge[node] ^ 1];
+                    if (unitsLeft[node] > 0 && from == unitSource[node]
+                            && cost[parentEdge[node]] == nextUnitCost[node] - unitCostStep[node]) {
+                        unitsLeft[node]--;
+                        addEdge(from, node, 1, nextUnitCost[node]);
+                        nextUnitCost[node] += unitCostStep[node];
+                    }
+                }
+            }
+        }
+    }
+}
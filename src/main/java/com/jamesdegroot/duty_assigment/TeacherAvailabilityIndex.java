@@ -0,0 +1,97 @@
+package com.jamesdegroot.duty_assigment;
+
+import com.jamesdegroot.teacher.Teacher;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Precomputed availability of teachers for duty time slots.
+ * Bit i of every set refers to the i-th teacher in the list the index was built from.
+ * The index is read-only while solving, so several terms can be solved against it at once;
+ * duty counts live in TermDutyState. refreshTeacher updates one teacher between solves.
+ */
+public class TeacherAvailabilityIndex {
+    private final List<Teacher> teachers;
+    private final BitSet[] freeBySlot;   // teachers without a class in each time slot
+    private final int[] maxDuties;       // max duties per semester of each teacher
+
+    /**
+     * Builds the index once from each teacher's schedule.
+     * @param teachers the teachers to index
+     * @param timeSlots the number of duty time slots in a day
+     */
+    public TeacherAvailabilityIndex(List<Teacher> teachers, int timeSlots) {
+        this.teachers = teachers;
+        this.freeBySlot = new BitSet[timeSlots];
+        this.maxDuties = new int[teachers.size()];
+
+        for (int timeSlot = 0; timeSlot < timeSlots; timeSlot++) {
+            BitSet free = new BitSet(teachers.size());
+            for (int i = 0; i < teachers.size(); i++) {
+                if (DutyAssignmentRules.isFreeForTimeSlot(teachers.get(i), timeSlot)) {
+                    free.set(i);
+                }
+            }
+            freeBySlot[timeSlot] = free;
+        }
+        for (int i = 0; i < teachers.size(); i++) {
+            maxDuties[i] = teachers.get(i).getMaxDutiesPerSemester();
+        }
+    }
+
+    /**
+     * Re-reads the schedule and quota of one teacher after it was edited.
+     * Must not be called while a term is being solved.
+     * @param teacherIndex the index of the edited teacher
+     */
+    public void refreshTeacher(int teacherIndex) {
+        Teacher teacher = teachers.get(teacherIndex);
+        for (int timeSlot = 0; timeSlot < freeBySlot.length; timeSlot++) {
+            freeBySlot[timeSlot].set(teacherIndex, DutyAssignmentRules.isFreeForTimeSlot(teacher, timeSlot));
+        }
+        maxDuties[teacherIndex] = teacher.getMaxDutiesPerSemester();
+    }
+
+    /**
+     * Gets the teachers that are free during a time slot, regardless of duty counts.
+     * @param timeSlot the time slot to check
+     * @return the set of free teacher indexes
+     */
+    public BitSet getFreeTeachers(int timeSlot) {
+        return freeBySlot[timeSlot];
+    }
+
+    /**
+     * Gets the maximum duties per semester of a teacher.
+     * @param teacherIndex the index of the teacher
+     * @return the teacher's quota
+     */
+    public int getMaxDuties(int teacherIndex) {
+        return maxDuties[teacherIndex];
+    }
+
+    /**
+     * Gets the teacher for an index.
+     * @param teacherIndex the index of the teacher
+     * @return the teacher
+     */
+    public Teacher getTeacher(int teacherIndex) {
+        return teachers.get(teacherIndex);
+    }
+
+    /**
+     * Gets the number of indexed teachers.
+     * @return the number of teachers
+     */
+    public int size() {
+        return teachers.size();
+    }
+
+    /**
+     * Gets the number of indexed time slots.
+     * @return the number of time slots
+     */
+    public int getTimeSlots() {
+        return freeBySlot.length;
+    }
+}
@@ -0,0 +1,146 @@
+package com.jamesdegroot.duty_assigment;
+
+import java.util.Arrays;
+
+/**
+ * Indexed min-heap of teacher indexes ordered by duty count.
+ * Ties go to the lower teacher index, which matches a stable sort of the teacher list.
+ */
+public class TeacherLoadHeap {
+    private static final int NOT_IN_HEAP = -1;
+
+    private final int[] loads;      // duty count per teacher index, shared with the owner
+    private final int[] heap;       // teacher indexes in heap order
+    private final int[] positions;  // heap position of each teacher index
+    private int size;
+
+    /**
+     * Creates an empty heap keyed by the given load array.
+     * @param loads the duty count of each teacher, read on every comparison
+     */
+    public TeacherLoadHeap(int[] loads) {
+        this.loads = loads;
+        this.heap = new int[loads.length];
+        this.positions = new int[loads.length];
+        Arrays.fill(positions, NOT_IN_HEAP);
+    }
+
+    /**
+     * Adds a teacher to the heap if they are not already in it.
+     * @param teacherIndex the teacher to add
+     */
+    public void add(int teacherIndex) {
+        if (contains(teacherIndex)) {
+            return;
+        }
+        heap[size] = teacherIndex;
+        positions[teacherIndex] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /**
+     * Removes a teacher from the heap if present.
+     * @param teacherIndex the teacher to remove
+     */
+    public void remove(int teacherIndex) {
+        int position = positions[teacherIndex];
+        if (position == NOT_IN_HEAP) {
+            return;
+        }
+        size--;
+        positions[teacherIndex] = NOT_IN_HEAP;
+        if (position != size) {
+            int last = heap[size];
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(position);
+        }
+    }
+
+    /**
+     * Restores heap order after a teacher's load has changed.
+     * @param teacherIndex the teacher whose load changed
+     */
+    public void update(int teacherIndex) {
+        int position = positions[teacherIndex];
+        if (position != NOT_IN_HEAP) {
+            siftDown(position);
+            siftUp(positions[teacherIndex]);
+        }
+    }
+
+    /**
+     * Gets the least loaded teacher without removing them.
+     * @return the teacher index, or -1 if the heap is empty
+     */
+    public int peek() {
+        return size == 0 ? NOT_IN_HEAP : heap[0];
+    }
+
+    /**
+     * Checks if a teacher is in the heap.
+     * @param teacherIndex the teacher to check
+     * @return true if the teacher is in the heap
+     */
+    public boolean contains(int teacherIndex) {
+        return positions[teacherIndex] != NOT_IN_HEAP;
+    }
+
+    /**
+     * Removes every teacher from the heap.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = NOT_IN_HEAP;
+        }
+        size = 0;
+    }
+
+    /**
+     * Gets the number of teachers in the heap.
+     * @return the heap size
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean less(int a, int b) {
+        return loads[a] < loads[b] || (loads[a] == loads[b] && a < b);
+    }
+
+    private void siftUp(int position) {
+        int teacherIndex = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!less(teacherIndex, heap[parent])) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = teacherIndex;
+        positions[teacherIndex] = position;
+    }
+
+    private void siftDown(int position) {
+        int teacherIndex = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], teacherIndex)) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = teacherIndex;
+        positions[teacherIndex] = position;
+    }
+}
@@ -0,0 +1,219 @@
+package com.jamesdegroot.duty_assigment;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Flat list of the duty cells of a term's templates.
+ * Every template duty has two cells, its Day 1 teacher followed by its Day 2 teacher,
+ * in the order the templates and time slots were given.
+ * The cells of one template, time slot and rotation form a slot group; a teacher can only
+ * hold one cell of a slot group, since they cannot be at two duties at once.
+ */
+public class TermDutyCells {
+    private final List<Duty> duties = new ArrayList<>();
+    private final List<LocalDate> dates = new ArrayList<>();
+    private final List<Integer> timeSlots = new ArrayList<>();
+    private final List<Integer> templateIndexes = new ArrayList<>();
+    private final List<Integer> slotGroupStarts = new ArrayList<>();  // first duty of each (template, time slot)
+    private int[] slotGroupOfDuty;
+    private int[] assignedTeachers;  // teacher index per cell, -1 if unassigned
+
+    /**
+     * Collects the cells of the given templates.
+     * @param templates the template days of the term
+     */
+    public TermDutyCells(List<Day> templates) {
+        for (int templateIndex = 0; templateIndex < templates.size(); templateIndex++) {
+            Day template = templates.get(templateIndex);
+            Duty[][] dutySchedule = template.getDutySchedule();
+            for (int timeSlot = 0; timeSlot < dutySchedule.length; timeSlot++) {
+                int slotStart = duties.size();
+                for (int position = 0; position < dutySchedule[timeSlot].length; position++) {
+                    Duty duty = dutySchedule[timeSlot][position];
+                    if (duty != null) {
+                        duties.add(duty);
+                        dates.add(template.getDate());
+                        timeSlots.add(timeSlot);
+                        templateIndexes.add(templateIndex);
+                    }
+                }
+                if (duties.size() > slotStart) {
+                    slotGroupStarts.add(slotStart);
+                }
+            }
+        }
+        slotGroupStarts.add(duties.size());
+        slotGroupOfDuty = new int[duties.size()];
+        for (int group = 0; group + 1 < slotGroupStarts.size(); group++) {
+            Arrays.fill(slotGroupOfDuty, slotGroupStarts.get(group), slotGroupStarts.get(group + 1), group);
+        }
+        assignedTeachers = new int[size()];
+        Arrays.fill(assignedTeachers, -1);
+    }
+
+    /**
+     * Gets the number of cells, two per duty.
+     * @return the number of cells
+     */
+    public int size() {
+        return duties.size() * 2;
+    }
+
+    /**
+     * Gets the duty a cell belongs to.
+     * @param cell the cell index
+     * @return the template duty
+     */
+    public Duty getDuty(int cell) {
+        return duties.get(cell / 2);
+    }
+
+    /**
+     * Gets the date of the template a cell belongs to.
+     * @param cell the cell index
+     * @return the template date
+     */
+    public LocalDate getDate(int cell) {
+        return dates.get(cell / 2);
+    }
+
+    /**
+     * Gets the time slot of a cell.
+     * @param cell the cell index
+     * @return the time slot
+     */
+    public int getTimeSlot(int cell) {
+        return timeSlots.get(cell / 2);
+    }
+
+    /**
+     * Gets the position of a cell's template in the list the cells were built from.
+     * @param cell the cell index
+     * @return the template index
+     */
+    public int getTemplateIndex(int cell) {
+        return templateIndexes.get(cell / 2);
+    }
+
+    /**
+     * Gets the slot group of a cell: the cells of the same template, time slot and rotation.
+     * @param cell the cell index
+     * @return the slot group, from 0 to getSlotGroupCount() - 1
+     */
+    public int getSlotGroup(int cell) {
+        return slotGroupOfDuty[cell / 2] * 2 + cell % 2;
+    }
+
+    /**
+     * Gets the number of slot groups.
+     * @return the number of slot groups
+     */
+    public int getSlotGroupCount() {
+        return (slotGroupStarts.size() - 1) * 2;
+    }
+
+    /**
+     * Checks if a teacher holds another cell of a cell's slot group, so giving them
+     * this cell would put them on two duties at the same time.
+     * @param cell the cell index
+     * @param teacherIndex the index of the teacher
+     * @return true if the teacher is already on duty at that time
+     */
+    public boolean isInSlotGroup(int cell, int teacherIndex) {
+        int group = slotGroupOfDuty[cell / 2];
+        int rotation = cell % 2;
+        for (int duty = slotGroupStarts.get(group); duty < slotGroupStarts.get(group + 1); duty++) {
+            int other = duty * 2 + rotation;
+            if (other != cell && assignedTeachers[other] == teacherIndex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a cell holds the Day 1 teacher of its duty.
+     * @param cell the cell index
+     * @return true for a Day 1 cell, false for a Day 2 cell
+     */
+    public boolean isDay1(int cell) {
+        return cell % 2 == 0;
+    }
+
+    /**
+     * Gets the teacher assigned to a cell by a solver.
+     * @param cell the cell index
+     * @return the teacher index, or -1 if the cell is unassigned
+     */
+    public int getAssignedTeacher(int cell) {
+        return assignedTeachers[cell];
+    }
+
+    /**
+     * Adds a teacher to the rotation of the duty that a cell refers to.
+     * @param cell the cell index
+     * @param teacherIndex the index of the teacher
+     * @param teacherId the TeacherRegistry ID of the teacher
+     */
+    public void assign(int cell, int teacherIndex, int teacherId) {
+        assignedTeachers[cell] = teacherIndex;
+        if (isDay1(cell)) {
+            getDuty(cell).addDay1TeacherId(teacherId);
+        } else {
+            getDuty(cell).addDay2TeacherId(teacherId);
+        }
+    }
+
+    /**
+     * Replaces the teacher of a cell.
+     * @param cell the cell index
+     * @param teacherIndex the index of the new teacher
+     * @param teacherId the TeacherRegistry ID of the new teacher
+     */
+    public void reassign(int cell, int teacherIndex, int teacherId) {
+        clearRotation(cell);
+        assign(cell, teacherIndex, teacherId);
+    }
+
+    /**
+     * Removes the teacher of a cell, leaving the cell unassigned.
+     * @param cell the cell index
+     */
+    public void unassign(int cell) {
+        assignedTeachers[cell] = -1;
+        clearRotation(cell);
+    }
+
+    private void clearRotation(int cell) {
+        if (isDay1(cell)) {
+            getDuty(cell).clearDay1Teachers();
+        } else {
+            getDuty(cell).clearDay2Teachers();
+        }
+    }
+
+    /**
+     * Takes over the teacher indexes of the cells of another list that refer to the same duties.
+     * Used when a term's cells are rebuilt after some of its templates were replaced.
+     * @param other the cells to copy assignments from
+     */
+    public void copyAssignments(TermDutyCells other) {
+        IdentityHashMap<Duty, Integer> otherCells = new IdentityHashMap<>();
+        for (int cell = 0; cell < other.size(); cell += 2) {
+            otherCells.put(other.getDuty(cell), cell);
+        }
+        for (int cell = 0; cell < size(); cell += 2) {
+            Integer otherCell = otherCells.get(getDuty(cell));
+            if (otherCell != null) {
+                assignedTeachers[cell] = other.assignedTeachers[otherCell];
+                assignedTeachers[cell + 1] = other.assignedTeachers[otherCell + 1];
+            }
+        }
+    }
+}
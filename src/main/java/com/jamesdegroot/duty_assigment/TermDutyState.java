@@ -0,0 +1,276 @@
+package com.jamesdegroot.duty_assigment;
+
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Duty counts of every teacher for a single term.
+ * Each time slot keeps a heap of its available teachers ordered by duty count,
+ * so the least loaded teacher can be picked without scanning or sorting.
+ * Terms each get their own state and never touch Teacher.dutiesThisSemester while solving.
+ */
+public class TermDutyState {
+    private final TeacherAvailabilityIndex index;
+    private final int termNumber;
+    private final TermTable terms;              // which dates duties can fall on
+    private final int[] loads;                  // duty count per teacher index
+    private final BitSet hasCapacity;           // teachers still below their max duties
+    private final BitSet available;             // reused result of findAvailable
+    private final TeacherLoadHeap[] heapBySlot; // free teachers with capacity, least loaded first
+    private final int[] setAside;               // teachers taken off a heap while picking
+
+    /**
+     * Creates the state for a term with every duty count at zero.
+     * @param index the shared availability index
+     * @param termNumber the term this state belongs to
+     * @param terms the terms of the school year
+     */
+    public TermDutyState(TeacherAvailabilityIndex index, int termNumber, TermTable terms) {
+        this.index = index;
+        this.termNumber = termNumber;
+        this.terms = terms;
+        this.loads = new int[index.size()];
+        this.hasCapacity = new BitSet(index.size());
+        this.available = new BitSet(index.size());
+        this.heapBySlot = new TeacherLoadHeap[index.getTimeSlots()];
+        this.setAside = new int[index.size()];
+
+        for (int i = 0; i < index.size(); i++) {
+            if (index.getMaxDuties(i) > 0) {
+                hasCapacity.set(i);
+            }
+        }
+        for (int timeSlot = 0; timeSlot < heapBySlot.length; timeSlot++) {
+            TeacherLoadHeap heap = new TeacherLoadHeap(loads);
+            BitSet free = index.getFreeTeachers(timeSlot);
+            for (int i = free.nextSetBit(0); i >= 0; i = free.nextSetBit(i + 1)) {
+                if (hasCapacity.get(i)) {
+                    heap.add(i);
+                }
+            }
+            heapBySlot[timeSlot] = heap;
+        }
+    }
+
+    /**
+     * Counts a duty against a teacher and drops them from the capacity set once their quota is used up.
+     * @param teacherIndex the index of the teacher
+     */
+    public void recordDuty(int teacherIndex) {
+        loads[teacherIndex]++;
+        boolean full = loads[teacherIndex] >= index.getMaxDuties(teacherIndex);
+        if (full) {
+            hasCapacity.clear(teacherIndex);
+        }
+        
+        // Move the teacher in every slot heap they belong to
+        for (int timeSlot = 0; timeSlot < heapBySlot.length; timeSlot++) {
+            if (index.getFreeTeachers(timeSlot).get(teacherIndex)) {
+                if (full) {
+                    heapBySlot[timeSlot].remove(teacherIndex);
+                } else {
+                    heapBySlot[timeSlot].update(teacherIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes a duty back from a teacher, returning them to the capacity set if they drop below their quota.
+     * @param teacherIndex the index of the teacher
+     */
+    public void releaseDuty(int teacherIndex) {
+        if (loads[teacherIndex] == 0) {
+            return;
+        }
+        loads[teacherIndex]--;
+        if (loads[teacherIndex] >= index.getMaxDuties(teacherIndex)) {
+            return;
+        }
+        hasCapacity.set(teacherIndex);
+        
+        // Add the teacher back to, or move them up in, every slot heap they belong to
+        for (int timeSlot = 0; timeSlot < heapBySlot.length; timeSlot++) {
+            if (index.getFreeTeachers(timeSlot).get(teacherIndex)) {
+                if (heapBySlot[timeSlot].contains(teacherIndex)) {
+                    heapBySlot[timeSlot].update(teacherIndex);
+                } else {
+                    heapBySlot[timeSlot].add(teacherIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates a teacher's place in the capacity set and slot heaps after the index refreshed them.
+     * @param teacherIndex the index of the edited teacher
+     */
+    public void refreshTeacher(int teacherIndex) {
+        boolean capacity = loads[teacherIndex] < index.getMaxDuties(teacherIndex);
+        hasCapacity.set(teacherIndex, capacity);
+        for (int timeSlot = 0; timeSlot < heapBySlot.length; timeSlot++) {
+            if (capacity && index.getFreeTeachers(timeSlot).get(teacherIndex)) {
+                heapBySlot[timeSlot].add(teacherIndex);
+                heapBySlot[timeSlot].update(teacherIndex);
+            } else {
+                heapBySlot[timeSlot].remove(teacherIndex);
+            }
+        }
+    }
+
+    /**
+     * Picks the available teacher with the fewest duties, lowest index first on ties.
+     * Gives the same teacher as sorting findAvailable by duty count and taking the first.
+     * @param timeSlot the time slot of the duty
+     * @param date the date of the duty
+     * @return the teacher index, or -1 if nobody is available
+     */
+    public int pickLeastLoaded(int timeSlot, LocalDate date) {
+        if (timeSlot < 0 || timeSlot >= heapBySlot.length || !isDutyDate(date)) {
+            return -1;
+        }
+        return heapBySlot[timeSlot].peek();
+    }
+
+    /**
+     * Picks the available teacher with the fewest duties, lowest index first on ties,
+     * passing over teachers the filter rejects, such as one already on another duty of the slot.
+     * Rejected teachers are taken off the heap while searching and put back afterwards.
+     * @param timeSlot the time slot of the duty
+     * @param date the date of the duty
+     * @param skip true for teachers that must not be picked
+     * @return the teacher index, or -1 if nobody else is available
+     */
+    public int pickLeastLoaded(int timeSlot, LocalDate date, IntPredicate skip) {
+        int picked = pickLeastLoaded(timeSlot, date);
+        if (picked < 0) {
+            return picked;
+        }
+        TeacherLoadHeap heap = heapBySlot[timeSlot];
+        int skipped = 0;
+        while (picked >= 0 && skip.test(picked)) {
+            setAside[skipped++] = picked;
+            heap.remove(picked);
+            picked = heap.peek();
+        }
+        for (int i = 0; i < skipped; i++) {
+            heap.add(setAside[i]);
+        }
+        return picked;
+    }
+
+    /**
+     * Finds the teachers that can take a duty, the same set DutyAssignmentRules.canAssignDuty accepts.
+     * The returned set is reused by the next call and must not be kept.
+     * @param timeSlot the time slot of the duty
+     * @param date the date of the duty
+     * @return the set of available teacher indexes
+     */
+    public BitSet findAvailable(int timeSlot, LocalDate date) {
+        available.clear();
+        if (timeSlot >= 0 && timeSlot < heapBySlot.length && isDutyDate(date)) {
+            available.or(index.getFreeTeachers(timeSlot));
+            available.and(hasCapacity);
+        }
+        return available;
+    }
+
+    /**
+     * Gets the number of duties a teacher has this term.
+     * @param teacherIndex the index of the teacher
+     * @return the duty count
+     */
+    public int getLoad(int teacherIndex) {
+        return loads[teacherIndex];
+    }
+
+    /**
+     * Gets how many more duties a teacher can take this term.
+     * @param teacherIndex the index of the teacher
+     * @return the remaining quota, never negative
+     */
+    public int getRemainingDuties(int teacherIndex) {
+        return Math.max(0, index.getMaxDuties(teacherIndex) - loads[teacherIndex]);
+    }
+
+    /**
+     * Checks if a teacher has no class during a time slot.
+     * @param teacherIndex the index of the teacher
+     * @param timeSlot the time slot to check
+     * @return true if the teacher is free
+     */
+    public boolean isFree(int teacherIndex, int timeSlot) {
+        return index.getFreeTeachers(timeSlot).get(teacherIndex);
+    }
+
+    /**
+     * Gets the maximum duties per semester of a teacher.
+     * @param teacherIndex the index of the teacher
+     * @return the teacher's quota
+     */
+    public int getMaxDuties(int teacherIndex) {
+        return index.getMaxDuties(teacherIndex);
+    }
+
+    /**
+     * Gets the teachers that are free during a time slot, regardless of duty counts.
+     * @param timeSlot the time slot to check
+     * @return the set of free teacher indexes
+     */
+    public BitSet getFreeTeachers(int timeSlot) {
+        return index.getFreeTeachers(timeSlot);
+    }
+
+    /**
+     * Gets the teacher for an index.
+     * @param teacherIndex the index of the teacher
+     * @return the teacher
+     */
+    public Teacher getTeacher(int teacherIndex) {
+        return index.getTeacher(teacherIndex);
+    }
+
+    /**
+     * Gets the number of teachers in the index.
+     * @return the number of teachers
+     */
+    public int getTeacherCount() {
+        return loads.length;
+    }
+
+    /**
+     * Gets the number of duty time slots in a day.
+     * @return the number of time slots
+     */
+    public int getTimeSlots() {
+        return heapBySlot.length;
+    }
+
+    /**
+     * Gets the set of teachers that can still take more duties.
+     * @return the set of teacher indexes below their quota
+     */
+    public BitSet getTeachersWithCapacity() {
+        return hasCapacity;
+    }
+
+    /**
+     * Checks if duties can fall on a date at all: a weekday inside one of the terms.
+     * @param date the date of the duty
+     * @return true if the date can have duties
+     */
+    public boolean isDutyDate(LocalDate date) {
+        return DutyAssignmentRules.isDutyDate(terms, date);
+    }
+
+    /**
+     * Gets the term this state belongs to.
+     * @return the term number
+     */
+    public int getTermNumber() {
+        return termNumber;
+    }
+}
@@ -68,9 +68,12 @@ public class AppWindow {
     private static final String HELP_BUTTON_TEXT = "Help";
     private static final String EDIT_TEACHER_BUTTON_TEXT = "Edit Teacher";
     private static final String EDIT_DAY_BUTTON_TEXT = "Edit Day";
+    private static final String LOAD_SLOTS_BUTTON_TEXT = "Load Slots";
+    private static final String LOAD_TERMS_BUTTON_TEXT = "Load Terms";
     private static final String SHOW_CONSOLE_TEXT = "Show Console";
     private static final String HIDE_CONSOLE_TEXT = "Hide Console";
     private static final String ASSIGN_DUTIES_TEXT = "Assign Duties";
+    private static final String EXPORT_CALENDAR_TEXT = "Export Calendar";
     
     // Layout constants
     private static final int LAYOUT_GAP = 5;
@@ -154,6 +157,11 @@ public class AppWindow {
         assignDutiesButton.addActionListener(e -> assignDuties());
         bottomPanel.add(assignDutiesButton);
         
+        JButton exportCalendarButton = new JButton(EXPORT_CALENDAR_TEXT);
+        styleButton(exportCalendarButton);
+        exportCalendarButton.addActionListener(e -> exportCalendar());
+        bottomPanel.add(exportCalendarButton);
+        
         mainPanel.add(bottomPanel, BorderLayout.SOUTH);
     }
 
@@ -299,8 +307,16 @@ public class AppWindow {
         JButton editDayButton = new JButton(EDIT_DAY_BUTTON_TEXT);
         styleButton(editDayButton);
         editDayButton.addActionListener(e -> showDayEditor());
+        JButton loadSlotsButton = new JButton(LOAD_SLOTS_BUTTON_TEXT);
+        styleButton(loadSlotsButton);
+        loadSlotsButton.addActionListener(e -> loadSlotLayout());
+        JButton loadTermsButton = new JButton(LOAD_TERMS_BUTTON_TEXT);
+        styleButton(loadTermsButton);
+        loadTermsButton.addActionListener(e -> loadTermTable());
         centerButtonPanel.add(editTeacherButton);
         centerButtonPanel.add(editDayButton);
+        centerButtonPanel.add(loadSlotsButton);
+        centerButtonPanel.add(loadTermsButton);
         leftButtonPanel.add(centerButtonPanel, BorderLayout.CENTER);
         
         JPanel rightButtonPanel = new JPanel(new BorderLayout());
@@ -381,13 +397,20 @@ public class AppWindow {
             "2. Loading Calendar:\n" +
             "   - Click 'Browse' next to 'Calendar File' to select your ICS calendar file\n" +
             "   - The calendar should contain school events, holidays, and PA days\n\n" +
+            "   - Click 'Load Slots' before loading the calendar to use your school's own duty\n" +
+            "     slots, from a CSV file with one row per duty: time slot, duty, room\n" +
+            "   - Click 'Load Terms' to replace the default four terms with a CSV file\n" +
+            "     with one row per term: name, start date, end date\n\n" +
             "3. Viewing Output:\n" +
             "   - Use the 'Show/Hide Console' button to toggle the console view\n" +
             "   - The console displays teacher schedules and calendar information\n\n" +
             "4. Understanding Results:\n" +
             "   - Teacher schedules show their teaching load and type\n" +
             "   - Calendar view shows school days and non-school days\n" +
-            "   - Warnings will appear for teachers with unusual schedules"
+            "   - Warnings will appear for teachers with unusual schedules\n\n" +
+            "5. Exporting:\n" +
+            "   - After assigning duties, click 'Export Calendar' to save them as an ICS file\n" +
+            "     that calendar apps can import, one event per duty on each school day"
         );
         
         JScrollPane scrollPane = new JScrollPane(helpText);
@@ -420,7 +443,7 @@ public class AppWindow {
         }
         
         Teacher firstTeacher = appLogic.getTeachers().get(0);
-        TeacherProfileEditor editor = new TeacherProfileEditor(frame, firstTeacher, appLogic.getTeachers());
+        TeacherProfileEditor editor = new TeacherProfileEditor(frame, firstTeacher, appLogic.getTeachers(), appLogic);
         editor.setVisible(true);
     }
 
@@ -437,10 +460,76 @@ public class AppWindow {
         }
         
         List<Day> days = appLogic.getCalendar().getDaysOfYear();
-        DayEditor editor = new DayEditor(frame, days.get(0), days);
+        DayEditor editor = new DayEditor(frame, days.get(0), days, appLogic);
         editor.setVisible(true);
     }
 
+    /**
+     * Loads the school's duty slots from a CSV file chosen by the user.
+     */
+    private void loadSlotLayout() {
+        File selectedFile = chooseFile(csvFilter);
+        if (selectedFile == null) {
+            return;
+        }
+        appLogic.loadSlotLayout(selectedFile);
+        if (!appLogic.getCalendar().getDaysOfYear().isEmpty()) {
+            System.out.println("Load the calendar again to use the new slots");
+        }
+    }
+
+    /**
+     * Loads the terms of the school year from a CSV file chosen by the user.
+     * The terms are used from the next duty assignment on.
+     */
+    private void loadTermTable() {
+        File selectedFile = chooseFile(csvFilter);
+        if (selectedFile != null) {
+            appLogic.loadTermTable(selectedFile);
+        }
+    }
+
+    /**
+     * Exports the duties to an ICS file chosen by the user.
+     */
+    private void exportCalendar() {
+        if (appLogic.getCalendar() == null || appLogic.getCalendar().getDaysOfYear().isEmpty()) {
+            JOptionPane.showMessageDialog(frame, 
+                "Please load a calendar file first.", 
+                "No Calendar Loaded", 
+                JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        
+        fileChooser.resetChoosableFileFilters();
+        fileChooser.setFileFilter(icsFilter);
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        if (fileChooser.showSaveDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File selectedFile = fileChooser.getSelectedFile();
+        if (!selectedFile.getName().toLowerCase().endsWith(".ics")) {
+            selectedFile = new File(selectedFile.getParentFile(), selectedFile.getName() + ".ics");
+        }
+        appLogic.exportCalendar(selectedFile);
+        System.out.println("Exported calendar file: " + selectedFile.getAbsolutePath());
+    }
+
+    /**
+     * Lets the user pick a file to open.
+     * @param filter the type of file to show
+     * @return the selected file, or null if the user cancelled
+     */
+    private File chooseFile(FileNameExtensionFilter filter) {
+        fileChooser.resetChoosableFileFilters();
+        fileChooser.setFileFilter(filter);
+        fileChooser.setAcceptAllFileFilterUsed(false);
+        if (fileChooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        return fileChooser.getSelectedFile();
+    }
+
     /**
      * Handles the duty assignment process
      */
@@ -3,6 +3,7 @@ package com.jamesdegroot.gui;
 import com.jamesdegroot.GenerateDutyCalendar;
 import com.jamesdegroot.calendar.Day;
 import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.Holiday;
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
@@ -25,6 +26,7 @@ public class DayEditor extends JDialog {
     private static final int FORM_PANEL_PADDING = 10;
     private static final String SCHOOL_DAY_CHECKBOX_TEXT = "School Day";
     private static final String DAY_TYPE_LABEL = "Day Type:";
+    private static final String EVENTS_LABEL = "Events:";
     private static final String DUTIES_PANEL_TITLE = "Duties";
     
     // Field constants
@@ -55,13 +57,15 @@ public class DayEditor extends JDialog {
     
     private Day day;
     private List<Day> allDays;
+    private GenerateDutyCalendar appLogic;
     private JComboBox<String> daySearch;
     private JPanel formPanel;
     
-    public DayEditor(JFrame parent, Day day, List<Day> allDays) {
+    public DayEditor(JFrame parent, Day day, List<Day> allDays, GenerateDutyCalendar appLogic) {
         super(parent, WINDOW_TITLE, true);
         this.day = day;
         this.allDays = allDays;
+        this.appLogic = appLogic;
         
         setLayout(new BorderLayout(DIALOG_PADDING, DIALOG_PADDING));
         
@@ -126,14 +130,23 @@ public class DayEditor extends JDialog {
         schoolDayCheck.addActionListener(e -> day.setSchoolDay(schoolDayCheck.isSelected()));
         formPanel.add(createRow(DAY_TYPE_LABEL, schoolDayCheck));
         
+        // Events covering this day
+        List<Holiday> events = appLogic.getCalendar().getHolidayIndex().findCovering(day.getDate());
+        if (!events.isEmpty()) {
+            String summaries = String.join(", ", events.stream().map(Holiday::getSummary).toList());
+            formPanel.add(createRow(EVENTS_LABEL, new JLabel(summaries)));
+        }
+        
         // Duties
         JPanel dutiesPanel = new JPanel();
         dutiesPanel.setLayout(new BoxLayout(dutiesPanel, BoxLayout.Y_AXIS));
         dutiesPanel.setBorder(BorderFactory.createTitledBorder(DUTIES_PANEL_TITLE));
         
         Duty[][] duties = day.getDutySchedule();
-        for (int timeSlot = 0; timeSlot < Day.TIME_SLOTS; timeSlot++) {
-            for (int position = 0; position < Day.DUTIES_PER_SLOT; position++) {
+        JTextField[][] teacherFields = new JTextField[duties.length][];
+        for (int timeSlot = 0; timeSlot < duties.length; timeSlot++) {
+            teacherFields[timeSlot] = new JTextField[duties[timeSlot].length];
+            for (int position = 0; position < duties[timeSlot].length; position++) {
                 Duty duty = duties[timeSlot][position];
                 if (duty != null) {
                     JPanel dutyPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, FLOW_LAYOUT_GAP, FLOW_LAYOUT_V_GAP));
@@ -150,6 +163,7 @@ public class DayEditor extends JDialog {
                     JTextField teacherField = new JTextField(
                         duty.getTeacher() != null ? duty.getTeacher() : "", TEACHER_FIELD_WIDTH);
                     dutyPanel.add(createLabeledField(TEACHER_LABEL, teacherField));
+                    teacherFields[timeSlot][position] = teacherField;
                     
                     dutiesPanel.add(dutyPanel);
                 }
@@ -172,7 +186,18 @@ public class DayEditor extends JDialog {
         cancelButton.setPreferredSize(buttonSize);
         
         saveButton.addActionListener(e -> {
-            // Save changes
+            // Save changed teachers to the day's own copy of its duties
+            for (int timeSlot = 0; timeSlot < teacherFields.length; timeSlot++) {
+                for (int position = 0; position < teacherFields[timeSlot].length; position++) {
+                    JTextField teacherField = teacherFields[timeSlot][position];
+                    if (teacherField != null && !teacherField.getText().equals(duties[timeSlot][position].getTeacher())) {
+                        day.editDuty(timeSlot, position).setTeacher(teacherField.getText().trim());
+                    }
+                }
+            }
+            
+            // Update only the duties that depend on this day
+            appLogic.updateDay(day);
             System.out.println("\nUpdated Day Schedule:");
             System.out.println("=".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
             System.out.println("Date: " + day.getDate().format(DateTimeFormatter.ofPattern(DATE_FORMAT_PATTERN)));
@@ -183,8 +208,8 @@ public class DayEditor extends JDialog {
                 System.out.printf(DUTY_FORMAT, "Time Slot", "Duty", "Location", "Teacher");
                 System.out.println("-".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
                 Duty[][] dutySchedule = day.getDutySchedule();
-                for (int timeSlot = 0; timeSlot < Day.TIME_SLOTS; timeSlot++) {
-                    for (int position = 0; position < Day.DUTIES_PER_SLOT; position++) {
+                for (int timeSlot = 0; timeSlot < dutySchedule.length; timeSlot++) {
+                    for (int position = 0; position < dutySchedule[timeSlot].length; position++) {
                         Duty duty = dutySchedule[timeSlot][position];
                         if (duty != null) {
                             System.out.printf(DUTY_FORMAT,
@@ -61,13 +61,15 @@ public class TeacherProfileEditor extends JDialog {
     
     private Teacher teacher;
     private List<Teacher> allTeachers;
+    private GenerateDutyCalendar appLogic;
     private JComboBox<String> teacherSearch;
     private JPanel formPanel;
     
-    public TeacherProfileEditor(JFrame parent, Teacher teacher, List<Teacher> allTeachers) {
+    public TeacherProfileEditor(JFrame parent, Teacher teacher, List<Teacher> allTeachers, GenerateDutyCalendar appLogic) {
         super(parent, WINDOW_TITLE, true);
         this.teacher = teacher;
         this.allTeachers = allTeachers;
+        this.appLogic = appLogic;
         
         setLayout(new BorderLayout(DIALOG_PADDING, DIALOG_PADDING));
         
@@ -193,6 +195,7 @@ public class TeacherProfileEditor extends JDialog {
             // Save changes
             teacher.setJobType((TeacherTypeEnum) typeCombo.getSelectedItem());
             // Add other save logic here
+            appLogic.updateTeacher(teacher);
             System.out.println("\nUpdated Teacher Summary:");
             System.out.println("=".repeat(GenerateDutyCalendar.NUM_OF_SEPERATORS_CHAR));
             for (Teacher t : allTeachers) {
@@ -0,0 +1,127 @@
+package com.jamesdegroot.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Splits CSV text into records of fields following RFC 4180, one character at a time.
+ * Fields may be quoted; quoted fields can hold commas and line breaks, and a doubled
+ * quote inside them is one quote. Records end at LF, CRLF or CR outside quotes.
+ * Unquoted fields are returned as written, without trimming.
+ */
+public class CsvTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private final StringBuilder field = new StringBuilder();
+    private int recordNumber;
+
+    /**
+     * Creates a tokenizer. The reader is buffered by the tokenizer itself.
+     * @param reader the CSV text
+     */
+    public CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next record.
+     * @param fields cleared, then filled with the record's fields in column order
+     * @return false if the text has no more records
+     * @throws IOException if the reader fails
+     */
+    public boolean readRecord(List<String> fields) throws IOException {
+        fields.clear();
+        field.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        recordNumber++;
+
+        boolean quoted = false;       // inside a quoted field
+        boolean wasQuoted = false;    // the current field had a closing quote
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    break;  // unterminated quote: keep what was read
+                }
+                if (c == QUOTE) {
+                    int next = read();
+                    if (next == QUOTE) {
+                        field.append(QUOTE);
+                    } else {
+                        quoted = false;
+                        wasQuoted = true;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c < 0 || c == '\n') {
+                break;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    position++;
+                }
+                break;
+            } else if (c == QUOTE && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return true;
+    }
+
+    /**
+     * Gets the number of records read so far, counting the header.
+     * @return the record number of the last record read
+     */
+    public int getRecordNumber() {
+        return recordNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
@@ -0,0 +1,345 @@
+package com.jamesdegroot.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import com.jamesdegroot.calendar.Holiday;
+
+/**
+ * Streaming parser for the VEVENTs of an ICS (RFC 5545) file. Bytes are scanned as they
+ * arrive, folded lines are joined back together, and only the summary and description are
+ * ever turned into Strings. Start and end dates are read straight from their yyyyMMdd digits,
+ * whether written as DATE values, date-times or date-times with a TZID parameter; the time
+ * of day is ignored. Each complete event is handed to a listener as a Holiday.
+ * Events nested in a VEVENT, such as VALARM, are skipped. Large feeds can be split at event
+ * boundaries and parsed in parallel with parseMapped.
+ */
+public class IcsEventParser {
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_LINE_CAPACITY = 256;
+    private static final int DATE_DIGITS = 8;
+    private static final int MIN_CHUNK_BYTES = 1 << 20;  // smaller files are not worth splitting
+
+    // Property names and component types, compared without regard to case
+    private static final byte[] BEGIN = ascii("BEGIN");
+    private static final byte[] END = ascii("END");
+    private static final byte[] VEVENT = ascii("VEVENT");
+    private static final byte[] SUMMARY = ascii("SUMMARY");
+    private static final byte[] DTSTART = ascii("DTSTART");
+    private static final byte[] DTEND = ascii("DTEND");
+    private static final byte[] DESCRIPTION = ascii("DESCRIPTION");
+    private static final byte[] EVENT_START = ascii("BEGIN:VEVENT");
+
+    private final Consumer<Holiday> listener;
+    private byte[] line = new byte[INITIAL_LINE_CAPACITY];  // current unfolded line
+    private int lineLength;
+    private boolean lineBreakPending;  // a line ended; the next byte says if it continues
+    private int eventCount;
+
+    // The event being read
+    private boolean inEvent;
+    private int nestedComponents;
+    private String summary;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String description;
+
+    /**
+     * Creates a parser.
+     * @param listener receives each complete event in file order
+     */
+    public IcsEventParser(Consumer<Holiday> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Parses an ICS file, reading it through a FileChannel.
+     * @param path the ICS file
+     * @param listener receives each complete event in file order
+     * @return the number of events found
+     * @throws IOException if the file cannot be read
+     */
+    public static int parse(Path path, Consumer<Holiday> listener) throws IOException {
+        IcsEventParser parser = new IcsEventParser(listener);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                parser.feed(buffer);
+                buffer.clear();
+            }
+        }
+        return parser.finish();
+    }
+
+    /**
+     * Parses an ICS file by memory-mapping it and splitting it at BEGIN:VEVENT lines,
+     * so the chunks are parsed in parallel on the common ForkJoin pool.
+     * Files too large to map in one piece are streamed instead.
+     * @param path the ICS file
+     * @return the events, ordered by start date and then by position in the file
+     * @throws IOException if the file cannot be read
+     */
+    public static List<Holiday> parseMapped(Path path) throws IOException {
+        long size = Files.size(path);
+        return parseMapped(path, (int) Math.max(1, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4L,
+            size / MIN_CHUNK_BYTES)));
+    }
+
+    /**
+     * Parses an ICS file by memory-mapping it and splitting it into about the given number of chunks.
+     * @param path the ICS file
+     * @param chunks the number of chunks to aim for; fewer are used when the file has fewer events
+     * @return the events, ordered by start date and then by position in the file
+     * @throws IOException if the file cannot be read
+     */
+    static List<Holiday> parseMapped(Path path, int chunks) throws IOException {
+        List<Holiday> events = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                parse(path, events::add);
+            } else {
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                List<Callable<List<Holiday>>> tasks = new ArrayList<>();
+                int chunkStart = 0;
+                for (int chunk = 1; chunk <= chunks; chunk++) {
+                    int chunkEnd = chunk == chunks ? mapped.limit()
+                        : nextEventStart(mapped, Math.max(chunkStart, (int) (channel.size() * chunk / chunks)));
+                    if (chunkEnd > chunkStart) {
+                        ByteBuffer slice = mapped.slice(chunkStart, chunkEnd - chunkStart);
+                        tasks.add(() -> {
+                            List<Holiday> chunkEvents = new ArrayList<>();
+                            IcsEventParser parser = new IcsEventParser(chunkEvents::add);
+                            parser.feed(slice);
+                            parser.finish();
+                            return chunkEvents;
+                        });
+                    }
+                    chunkStart = chunkEnd;
+                }
+                for (Future<List<Holiday>> result : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                    events.addAll(result.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing " + path, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error parsing " + path, e.getCause());
+        }
+        // Chunks are merged in file order, so the stable sort keeps same-day events in file order
+        events.sort(Comparator.comparing(Holiday::getStartDate));
+        return events;
+    }
+
+    /**
+     * Finds the first BEGIN:VEVENT line starting at or after a position.
+     * @param buffer the whole file
+     * @param from the position to search from
+     * @return the index of the line, or the end of the file if there is none
+     */
+    private static int nextEventStart(ByteBuffer buffer, int from) {
+        int last = buffer.limit() - EVENT_START.length;
+        for (int i = from; i <= last; i++) {
+            if ((i == 0 || buffer.get(i - 1) == '\n') && buffer.get(i) == EVENT_START[0]) {
+                int matched = 1;
+                while (matched < EVENT_START.length && buffer.get(i + matched) == EVENT_START[matched]) {
+                    matched++;
+                }
+                if (matched == EVENT_START.length) {
+                    return i;
+                }
+            }
+        }
+        return buffer.limit();
+    }
+
+    /**
+     * Parses the next bytes of the file. A line may be split across calls.
+     * @param buffer the bytes from its position to its limit, which are all consumed
+     */
+    public void feed(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (lineBreakPending) {
+                lineBreakPending = false;
+                if (b == ' ' || b == '\t') {
+                    continue;  // folded line: drop the break and the one leading space
+                }
+                endLine();
+            }
+            if (b == '\n') {
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    lineLength--;
+                }
+                lineBreakPending = true;
+            } else {
+                if (lineLength == line.length) {
+                    line = Arrays.copyOf(line, lineLength * 2);
+                }
+                line[lineLength++] = b;
+            }
+        }
+    }
+
+    /**
+     * Parses the last line after the final feed.
+     * @return the number of events found
+     */
+    public int finish() {
+        lineBreakPending = false;
+        endLine();
+        return eventCount;
+    }
+
+    private void endLine() {
+        if (lineLength > 0) {
+            parseLine();
+        }
+        lineLength = 0;
+    }
+
+    private void parseLine() {
+        // The name ends at the first ';' or ':', the value after the first ':' outside a quoted parameter
+        int nameEnd = 0;
+        while (nameEnd < lineLength && line[nameEnd] != ';' && line[nameEnd] != ':') {
+            nameEnd++;
+        }
+        int colon = nameEnd;
+        boolean quoted = false;
+        while (colon < lineLength && (quoted || line[colon] != ':')) {
+            if (line[colon] == '"') {
+                quoted = !quoted;
+            }
+            colon++;
+        }
+        if (colon == lineLength) {
+            return;
+        }
+        int valueStart = colon + 1;
+
+        if (nameIs(BEGIN, nameEnd)) {
+            if (inEvent) {
+                nestedComponents++;
+            } else if (valueIs(VEVENT, valueStart)) {
+                inEvent = true;
+                summary = null;
+                startDate = null;
+                endDate = null;
+                description = "";
+            }
+        } else if (nameIs(END, nameEnd)) {
+            if (nestedComponents > 0) {
+                nestedComponents--;
+            } else if (inEvent && valueIs(VEVENT, valueStart)) {
+                inEvent = false;
+                if (summary != null && startDate != null && endDate != null) {
+                    eventCount++;
+                    listener.accept(new Holiday(summary, startDate, endDate, description));
+                }
+            }
+        } else if (inEvent && nestedComponents == 0) {
+            if (nameIs(SUMMARY, nameEnd)) {
+                summary = readText(valueStart);
+            } else if (nameIs(DTSTART, nameEnd)) {
+                startDate = readDate(valueStart);
+            } else if (nameIs(DTEND, nameEnd)) {
+                endDate = readDate(valueStart);
+            } else if (nameIs(DESCRIPTION, nameEnd)) {
+                description = readText(valueStart);
+            }
+        }
+    }
+
+    private boolean nameIs(byte[] name, int nameEnd) {
+        return nameEnd == name.length && equalsIgnoreCase(name, 0);
+    }
+
+    private boolean valueIs(byte[] value, int valueStart) {
+        return lineLength - valueStart == value.length && equalsIgnoreCase(value, valueStart);
+    }
+
+    private boolean equalsIgnoreCase(byte[] upper, int from) {
+        for (int i = 0; i < upper.length; i++) {
+            byte b = line[from + i];
+            if (b != upper[i] && (b < 'a' || b > 'z' || b - ('a' - 'A') != upper[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the date at the start of a DATE or DATE-TIME value.
+     * @param valueStart the index of the value in the line
+     * @return the date, or null if the value does not start with a valid yyyyMMdd date
+     */
+    private LocalDate readDate(int valueStart) {
+        if (lineLength - valueStart >= DATE_DIGITS) {
+            int digits = 0;
+            int i = valueStart;
+            while (i < valueStart + DATE_DIGITS && line[i] >= '0' && line[i] <= '9') {
+                digits = digits * 10 + (line[i++] - '0');
+            }
+            if (i == valueStart + DATE_DIGITS) {
+                try {
+                    return LocalDate.of(digits / 10000, digits / 100 % 100, digits % 100);
+                } catch (DateTimeException e) {
+                    // fall through to the error below
+                }
+            }
+        }
+        System.err.println("Error parsing date: "
+            + new String(line, valueStart, lineLength - valueStart, StandardCharsets.UTF_8));
+        return null;
+    }
+
+    /**
+     * Reads a TEXT value, undoing the escapes for backslash, semicolon, comma and newline.
+     * @param valueStart the index of the value in the line
+     * @return the text
+     */
+    private String readText(int valueStart) {
+        int end = valueStart;
+        while (end < lineLength && line[end] != '\\') {
+            end++;
+        }
+        if (end == lineLength) {
+            return new String(line, valueStart, lineLength - valueStart, StandardCharsets.UTF_8);
+        }
+        byte[] text = new byte[lineLength - valueStart];
+        int length = 0;
+        for (int i = valueStart; i < lineLength; i++) {
+            byte b = line[i];
+            if (b == '\\' && i + 1 < lineLength) {
+                b = line[++i];
+                if (b == 'n' || b == 'N') {
+                    b = '\n';
+                }
+            }
+            text[length++] = b;
+        }
+        return new String(text, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,372 @@
+package com.jamesdegroot.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.DutyGrid;
+import com.jamesdegroot.calendar.DutyGridStorage;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+/**
+ * Duty grids of many schools kept in one memory-mapped file.
+ * The file is a fixed header followed by fixed-width records, one per (school, date ordinal, time slot),
+ * each holding the Day 1 and Day 2 teacher ID of every position. Date ordinals count every calendar
+ * day from the first date, so a record's place follows from its key alone. The OS pages the records
+ * in and out as they are used, and the file can be reopened after a restart.
+ * TeacherRegistry IDs only last for one run, so the records hold the store's own teacher numbers
+ * and a table of teachers follows the records. Each entry is the teacher's name and name occurrence,
+ * so staff who share a name keep their own duties. Grids read and write registry IDs; stored
+ * entries are mapped to registry IDs when the file is opened, through TeacherRegistry.idFor.
+ */
+public class MappedScheduleStore implements Closeable {
+    // Header layout
+    private static final int MAGIC = 0x44475244;  // "DGRD"
+    private static final int VERSION = 3;
+    private static final int HEADER_BYTES = 64;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int SCHOOLS_OFFSET = 8;
+    private static final int DAYS_OFFSET = 12;
+    private static final int TIME_SLOTS_OFFSET = 16;
+    private static final int POSITIONS_OFFSET = 20;
+    private static final int FIRST_EPOCH_DAY_OFFSET = 24;
+    private static final int TEACHERS_OFFSET = 32;   // number of entries in the teacher table
+
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final IntBuffer cells;         // every record after the header
+    private final int schools;
+    private final int dayCount;
+    private final int timeSlots;
+    private final int positions;
+    private final long firstEpochDay;
+    private final int cellsPerSchool;
+    private final long tableOffset;        // where the teacher table starts, right after the records
+
+    // Store teacher numbers and the registry IDs they stand for
+    private final List<String> teacherNames = new ArrayList<>();
+    private final List<Integer> nameOccurrences = new ArrayList<>();  // see TeacherRegistry.getNameOccurrence
+    private volatile int[] registryIds = new int[0];  // read without locking by every cell lookup
+    private final Map<Integer, Integer> storeIdsByRegistryId = new HashMap<>();
+    private boolean tableChanged;
+
+    private MappedScheduleStore(FileChannel channel, MappedByteBuffer mapped, int schools, int dayCount,
+                                int timeSlots, int positions, long firstEpochDay) {
+        this.channel = channel;
+        this.mapped = mapped;
+        this.schools = schools;
+        this.dayCount = dayCount;
+        this.timeSlots = timeSlots;
+        this.positions = positions;
+        this.firstEpochDay = firstEpochDay;
+        this.cellsPerSchool = DutyGrid.cellCount(dayCount, timeSlots, positions);
+        this.tableOffset = HEADER_BYTES + (long) schools * cellsPerSchool * Integer.BYTES;
+        this.cells = mapped.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Creates a new store file, replacing any file at the path, with every slot empty.
+     * @param path the file to create
+     * @param schools the number of schools
+     * @param firstDate the first date of every school's range
+     * @param dayCount the number of consecutive days per school
+     * @param timeSlots the number of time slots per day
+     * @param positions the number of duties per time slot
+     * @return the open store
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static MappedScheduleStore create(Path path, int schools, LocalDate firstDate, int dayCount,
+                                             int timeSlots, int positions) throws IOException {
+        long cellBytes = (long) schools * DutyGrid.cellCount(dayCount, timeSlots, positions) * Integer.BYTES;
+        if (HEADER_BYTES + cellBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Store of " + cellBytes + " bytes is larger than one mapping");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + cellBytes);
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        mapped.putInt(MAGIC_OFFSET, MAGIC);
+        mapped.putInt(VERSION_OFFSET, VERSION);
+        mapped.putInt(SCHOOLS_OFFSET, schools);
+        mapped.putInt(DAYS_OFFSET, dayCount);
+        mapped.putInt(TIME_SLOTS_OFFSET, timeSlots);
+        mapped.putInt(POSITIONS_OFFSET, positions);
+        mapped.putLong(FIRST_EPOCH_DAY_OFFSET, firstDate.toEpochDay());
+
+        MappedScheduleStore store = new MappedScheduleStore(channel, mapped, schools, dayCount,
+            timeSlots, positions, firstDate.toEpochDay());
+        for (int index = 0; index < store.cells.capacity(); index++) {
+            store.cells.put(index, DutyGrid.NO_DUTY);
+        }
+        store.tableChanged = true;
+        store.force();
+        return store;
+    }
+
+    /**
+     * Opens a store file written earlier.
+     * @param path the file to open
+     * @return the open store
+     * @throws IOException if the file cannot be read or is not a schedule store
+     */
+    public static MappedScheduleStore open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() < HEADER_BYTES) {
+                throw new IOException("Not a duty schedule store: " + path);
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+                throw new IOException("Not a duty schedule store: " + path);
+            }
+            int schools = header.getInt(SCHOOLS_OFFSET);
+            int dayCount = header.getInt(DAYS_OFFSET);
+            int timeSlots = header.getInt(TIME_SLOTS_OFFSET);
+            int positions = header.getInt(POSITIONS_OFFSET);
+            long tableOffset = HEADER_BYTES
+                + (long) schools * DutyGrid.cellCount(dayCount, timeSlots, positions) * Integer.BYTES;
+            if (channel.size() < tableOffset || tableOffset > Integer.MAX_VALUE) {
+                throw new IOException("Duty schedule store is truncated: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, tableOffset);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            MappedScheduleStore store = new MappedScheduleStore(channel, mapped, schools, dayCount,
+                timeSlots, positions, header.getLong(FIRST_EPOCH_DAY_OFFSET));
+            store.readTeacherTable(header.getInt(TEACHERS_OFFSET), path);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the grid of a school, reading and writing the mapped records directly.
+     * @param school the school number, from 0
+     * @return the school's grid over every day of the store's range
+     */
+    public DutyGrid getGrid(int school) {
+        return new DutyGrid(getEpochDays(), timeSlots, positions, getStorage(school));
+    }
+
+    /**
+     * Gets the grid of a school, with duty names and day views taken from the school's layout.
+     * @param school the school number, from 0
+     * @param layout the school's slot layout, as wide as the store
+     * @return the school's grid over every day of the store's range
+     */
+    public DutyGrid getGrid(int school, SlotLayout layout) {
+        if (layout.getTimeSlots() != timeSlots || layout.getMaxPositions() != positions) {
+            throw new IllegalArgumentException("Layout does not match the store's " + timeSlots + " x " + positions + " slots");
+        }
+        return new DutyGrid(getEpochDays(), layout, getStorage(school));
+    }
+
+    /**
+     * Writes the duties of a school's days into the store.
+     * @param school the school number, from 0
+     * @param days consecutive days starting at the store's first date, such as Calendar.getDaysOfYear()
+     * @return the school's grid
+     * @throws IllegalArgumentException if the days do not match the store's date range,
+     *         or a duty has more than one teacher on a rotation
+     */
+    public DutyGrid save(int school, List<Day> days) {
+        if (days.size() != dayCount || (!days.isEmpty() && days.get(0).getDate().toEpochDay() != firstEpochDay)) {
+            throw new IllegalArgumentException("Days do not match the store's date range");
+        }
+        return new DutyGrid(days, timeSlots, positions, getStorage(school));
+    }
+
+    /**
+     * Writes changed records and the teacher table to the file.
+     * @throws UncheckedIOException if the teacher table cannot be written
+     */
+    public synchronized void force() {
+        mapped.force();
+        if (tableChanged) {
+            try {
+                writeTeacherTable();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing the teacher table", e);
+            }
+            tableChanged = false;
+        }
+    }
+
+    public int getSchools() {
+        return schools;
+    }
+
+    public int getDayCount() {
+        return dayCount;
+    }
+
+    public LocalDate getFirstDate() {
+        return LocalDate.ofEpochDay(firstEpochDay);
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * Reads the teacher table after the records and maps each entry to a registry ID.
+     */
+    private void readTeacherTable(int count, Path path) throws IOException {
+        ByteBuffer table = ByteBuffer.allocate((int) (channel.size() - tableOffset)).order(ByteOrder.LITTLE_ENDIAN);
+        while (table.hasRemaining()) {
+            if (channel.read(table, tableOffset + table.position()) < 0) {
+                break;
+            }
+        }
+        table.flip();
+        for (int storeId = 0; storeId < count; storeId++) {
+            if (table.remaining() < Integer.BYTES) {
+                throw new IOException("Duty schedule store is truncated: " + path);
+            }
+            int length = table.getInt();
+            if (length < 0 || length > table.remaining()) {
+                throw new IOException("Duty schedule store is truncated: " + path);
+            }
+            byte[] name = new byte[length];
+            table.get(name);
+            if (table.remaining() < Integer.BYTES) {
+                throw new IOException("Duty schedule store is truncated: " + path);
+            }
+            String teacherName = new String(name, StandardCharsets.UTF_8);
+            int occurrence = table.getInt();
+            addTeacher(teacherName, occurrence, TeacherRegistry.idFor(teacherName, occurrence));
+        }
+    }
+
+    /**
+     * Writes the teacher table after the records, replacing the old one.
+     */
+    private void writeTeacherTable() throws IOException {
+        List<byte[]> encoded = new ArrayList<>(teacherNames.size());
+        int bytes = 0;
+        for (String name : teacherNames) {
+            byte[] name8 = name.getBytes(StandardCharsets.UTF_8);
+            encoded.add(name8);
+            bytes += Integer.BYTES + name8.length + Integer.BYTES;
+        }
+        ByteBuffer table = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int storeId = 0; storeId < encoded.size(); storeId++) {
+            byte[] name = encoded.get(storeId);
+            table.putInt(name.length).put(name).putInt(nameOccurrences.get(storeId));
+        }
+        table.flip();
+        long position = tableOffset;
+        while (table.hasRemaining()) {
+            position += channel.write(table, position);
+        }
+        channel.truncate(position);
+        mapped.putInt(TEACHERS_OFFSET, teacherNames.size());
+        mapped.force();
+    }
+
+    /**
+     * Adds a teacher to the table.
+     * @param name the teacher's name
+     * @param occurrence the teacher's name occurrence
+     * @param registryId the teacher's registry ID
+     * @return the store's number for the teacher
+     */
+    private int addTeacher(String name, int occurrence, int registryId) {
+        int storeId = teacherNames.size();
+        teacherNames.add(name);
+        nameOccurrences.add(occurrence);
+        int[] ids = registryIds;
+        if (storeId == ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(16, storeId * 2));
+        }
+        ids[storeId] = registryId;
+        registryIds = ids;
+        storeIdsByRegistryId.putIfAbsent(registryId, storeId);
+        return storeId;
+    }
+
+    /**
+     * Gets the store's number for a registry ID, adding the teacher to the table if needed.
+     */
+    private synchronized int toStoreId(int registryId) {
+        if (registryId < 0) {
+            return registryId;  // NO_TEACHER and NO_DUTY are stored as they are
+        }
+        Integer storeId = storeIdsByRegistryId.get(registryId);
+        if (storeId != null) {
+            return storeId;
+        }
+        String name = TeacherRegistry.getName(registryId);
+        if (name == null) {
+            throw new IllegalArgumentException("Unknown teacher ID " + registryId);
+        }
+        tableChanged = true;
+        return addTeacher(name, TeacherRegistry.getNameOccurrence(registryId), registryId);
+    }
+
+    private int toRegistryId(int storeId) {
+        return storeId < 0 ? storeId : registryIds[storeId];
+    }
+
+    private long[] getEpochDays() {
+        long[] epochDays = new long[dayCount];
+        for (int ordinal = 0; ordinal < dayCount; ordinal++) {
+            epochDays[ordinal] = firstEpochDay + ordinal;
+        }
+        return epochDays;
+    }
+
+    private DutyGridStorage getStorage(int school) {
+        if (school < 0 || school >= schools) {
+            throw new IndexOutOfBoundsException("School " + school + " of " + schools);
+        }
+        return new SchoolStorage(school * cellsPerSchool);
+    }
+
+    /**
+     * The records of one school as grid storage.
+     */
+    private class SchoolStorage implements DutyGridStorage {
+        private final int offset;
+
+        SchoolStorage(int offset) {
+            this.offset = offset;
+        }
+
+        @Override
+        public int size() {
+            return cellsPerSchool;
+        }
+
+        @Override
+        public int get(int index) {
+            return toRegistryId(cells.get(offset + index));
+        }
+
+        @Override
+        public void set(int index, int value) {
+            cells.put(offset + index, toStoreId(value));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jamesdegroot.io;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jamesdegroot.calendar.SlotLayout;
+
+public class ReadSlotLayoutFromDisk {
+    // Column positions in the layout CSV: Time Slot, Duty, Room
+    private static final int TIME_COLUMN = 0;
+    private static final int DUTY_COLUMN = 1;
+    private static final int ROOM_COLUMN = 2;
+
+    /**
+     * Reads a school's slot layout from a CSV file with a header row and one row per duty.
+     * Consecutive rows with the same time slot are the positions of that slot.
+     * @param file the layout CSV file
+     * @return the layout, or SlotLayout.DEFAULT if the file cannot be read or has no duties
+     * @throws IOException if file reading fails (caught internally)
+     */
+    public static SlotLayout readSlotLayout(File file) {
+        List<String> times = new ArrayList<>();
+        List<List<String>> dutyNames = new ArrayList<>();
+        List<List<String>> rooms = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new FileReader(file))) {
+            List<String> parts = new ArrayList<>();
+            csv.readRecord(parts);  // header
+            while (csv.readRecord(parts)) {
+                if (parts.size() <= DUTY_COLUMN) {
+                    continue;
+                }
+                String time = parts.get(TIME_COLUMN).trim();
+                String dutyName = parts.get(DUTY_COLUMN).trim();
+                String room = parts.size() > ROOM_COLUMN ? parts.get(ROOM_COLUMN).trim() : "";
+                if (time.isEmpty() || dutyName.isEmpty()) {
+                    continue;
+                }
+                if (times.isEmpty() || !times.get(times.size() - 1).equals(time)) {
+                    times.add(time);
+                    dutyNames.add(new ArrayList<>());
+                    rooms.add(new ArrayList<>());
+                }
+                dutyNames.get(dutyNames.size() - 1).add(dutyName);
+                rooms.get(rooms.size() - 1).add(room);
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading slot layout file: " + e.getMessage());
+            return SlotLayout.DEFAULT;
+        }
+        if (times.isEmpty()) {
+            System.err.println("Slot layout file has no duties, using the default layout: " + file);
+            return SlotLayout.DEFAULT;
+        }
+
+        String[][] nameArray = new String[times.size()][];
+        String[][] roomArray = new String[times.size()][];
+        for (int timeSlot = 0; timeSlot < times.size(); timeSlot++) {
+            nameArray[timeSlot] = dutyNames.get(timeSlot).toArray(new String[0]);
+            roomArray[timeSlot] = rooms.get(timeSlot).toArray(new String[0]);
+        }
+        return new SlotLayout(times.toArray(new String[0]), nameArray, roomArray);
+    }
+}
@@ -1,52 +1,373 @@
 package com.jamesdegroot.io;
 
-import java.io.BufferedReader;
+import java.io.CharArrayReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
 
 public class ReadTeachersFromDisk {
-    
+    // Timetable layout: two semesters of five periods (blocks A-D and the extra period)
+    private static final int TOTAL_PERIODS = 10;
+    private static final int PERIODS_PER_SEMESTER = 5;
+    private static final String BLOCKS = "ABCD";
+    private static final int EXTRA_BLOCK = 4;
+
+    // Header text used to find the columns
+    private static final String[] NAME_HEADERS = {"Teacher", "Name"};
+    private static final String DAY_1_BLOCK_PREFIX = "D1(";
+    private static final String EXTRA_BLOCK_PREFIX = "Extra";
+    private static final int NOT_MAPPED = -1;
+
+    // Parallel import: files are split into chunks of at least this many bytes
+    private static final int MIN_CHUNK_BYTES = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /**
+     * The teachers read from a timetable file and how fast the rows were read.
+     */
+    public static class ImportResult {
+        private final List<Teacher> teachers;
+        private final int rows;
+        private final long elapsedNanos;
+
+        ImportResult(List<Teacher> teachers, int rows, long elapsedNanos) {
+            this.teachers = teachers;
+            this.rows = rows;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<Teacher> getTeachers() {
+            return teachers;
+        }
+
+        /**
+         * Gets the number of rows read after the header, including rows without a teacher.
+         * @return the number of rows
+         */
+        public int getRows() {
+            return rows;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos > 0 ? rows * 1e9 / elapsedNanos : 0;
+        }
+    }
+
     /**
      * Reads teacher data from a CSV file and creates Teacher objects.
+     * Columns are found from the header row: the "Teacher" column holds the name and
+     * period columns such as "S1-D1(A) D2(B)" are placed by semester and Day 1 block.
+     * If the period headers are not recognised, the ten columns after the name are used in order.
+     * Every teacher is given an ID from TeacherRegistry.
      * @param filename Path to the CSV file
      * @return List of Teacher objects with their schedules
      * @throws IOException if file reading fails (caught internally)
      */
     public static List<Teacher> readTeachersNames(String filename) {
+        return importTeachers(filename, false).getTeachers();
+    }
+
+    /**
+     * Reads teacher data from a CSV file like readTeachersNames, optionally in parallel.
+     * In parallel mode the file is memory-mapped and split at record boundaries outside
+     * quoted fields; the chunks are parsed and their teachers built on the common ForkJoin pool,
+     * then registered with TeacherRegistry in file order, so IDs match a sequential read.
+     * @param filename Path to the CSV file
+     * @param parallel true to parse chunks of the file concurrently
+     * @return the teachers in file order, with the row count and time taken
+     * @throws IOException if file reading fails (caught internally)
+     */
+    public static ImportResult importTeachers(String filename, boolean parallel) {
+        long start = System.nanoTime();
         List<Teacher> teachers = new ArrayList<>();
-        try (BufferedReader br = new BufferedReader(new FileReader(filename))) {
-            String line;
-            boolean firstLine = true;
-            
-            while ((line = br.readLine()) != null) {
-                if (firstLine) {
-                    firstLine = false;
-                    continue;
-                }
-                
-                String[] parts = line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
-                if (parts.length > 0) {
-                    String teacherName = parts[0].replaceAll("[\"',]", "").trim();
-                    if (!teacherName.isEmpty() && teacherName.matches(".*[a-zA-Z].*")) {
-                        Teacher teacher = new Teacher(teacherName);
-                        
-                        for (int i = 1; i < Math.min(parts.length, 11); i++) {
-                            teacher.addScheduleItem(parts[i].trim(), i - 1);
-                        }
-                        
-                        teacher.calculateTimeAllocation();
-                        teacher.calculateMaxDutiesPerSemester();
-                        teachers.add(teacher);
+        int rows = 0;
+        try {
+            rows = parallel ? readParallel(Path.of(filename), teachers) : readSequential(filename, teachers);
+        } catch (IOException e) {
+            System.err.println("Error reading CSV file: " + e.getMessage());
+        }
+        for (Teacher teacher : teachers) {
+            TeacherRegistry.register(teacher);
+        }
+        return new ImportResult(teachers, rows, System.nanoTime() - start);
+    }
+
+    private static int readSequential(String filename, List<Teacher> teachers) throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new FileReader(filename))) {
+            List<String> fields = new ArrayList<>();
+            if (!csv.readRecord(fields)) {
+                return 0;
+            }
+            int nameColumn = findNameColumn(fields);
+            int[] periodColumns = mapPeriodColumns(fields, nameColumn);
+            return readRows(csv, nameColumn, periodColumns, teachers);
+        }
+    }
+
+    private static int readParallel(Path path, List<Teacher> teachers) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: " + path);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int chunks = (int) Math.max(1, Math.min(
+                (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD, channel.size() / MIN_CHUNK_BYTES));
+            int[] boundaries = findRecordBoundaries(mapped, chunks);
+            if (boundaries[0] == mapped.limit()) {
+                return readSequential(path.toString(), teachers);  // no LF record breaks to split at
+            }
+
+            List<String> header = new ArrayList<>();
+            try (CsvTokenizer csv = new CsvTokenizer(decode(mapped, 0, boundaries[0]))) {
+                csv.readRecord(header);
+            }
+            int nameColumn = findNameColumn(header);
+            int[] periodColumns = mapPeriodColumns(header, nameColumn);
+
+            List<Callable<List<Teacher>>> tasks = new ArrayList<>();
+            int[] chunkRows = new int[boundaries.length - 1];
+            for (int chunk = 0; chunk < chunkRows.length; chunk++) {
+                final int currentChunk = chunk;
+                final int chunkStart = boundaries[chunk];
+                final int chunkEnd = boundaries[chunk + 1];
+                tasks.add(() -> {
+                    List<Teacher> chunkTeachers = new ArrayList<>();
+                    try (CsvTokenizer csv = new CsvTokenizer(decode(mapped, chunkStart, chunkEnd))) {
+                        chunkRows[currentChunk] = readRows(csv, nameColumn, periodColumns, chunkTeachers);
                     }
+                    return chunkTeachers;
+                });
+            }
+
+            int rows = 0;
+            List<Future<List<Teacher>>> results = ForkJoinPool.commonPool().invokeAll(tasks);
+            for (int chunk = 0; chunk < results.size(); chunk++) {
+                teachers.addAll(results.get(chunk).get());
+                rows += chunkRows[chunk];
+            }
+            return rows;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading " + path, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Error reading " + path, e.getCause());
+        }
+    }
+
+    /**
+     * Reads the rows after the header and builds a teacher for each row with a name.
+     * @return the number of rows read
+     */
+    private static int readRows(CsvTokenizer csv, int nameColumn, int[] periodColumns, List<Teacher> teachers)
+            throws IOException {
+        List<String> fields = new ArrayList<>();
+        int rows = 0;
+        while (csv.readRecord(fields)) {
+            rows++;
+            Teacher teacher = createTeacher(fields, nameColumn, periodColumns);
+            if (teacher != null) {
+                teachers.add(teacher);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Creates a teacher from a row, working out their load and duty limit.
+     * The teacher is not registered yet.
+     * @return the teacher, or null if the row has no name
+     */
+    private static Teacher createTeacher(List<String> fields, int nameColumn, int[] periodColumns) {
+        if (nameColumn >= fields.size()) {
+            return null;
+        }
+        String teacherName = cleanName(fields.get(nameColumn));
+        if (teacherName.isEmpty() || !hasLetter(teacherName)) {
+            return null;
+        }
+
+        Teacher teacher = new Teacher(teacherName);
+        String[] schedule = new String[TOTAL_PERIODS];
+        for (int period = 0; period < TOTAL_PERIODS; period++) {
+            int column = periodColumns[period];
+            if (column != NOT_MAPPED && column < fields.size()) {
+                schedule[period] = fields.get(column).trim();
+            }
+        }
+        teacher.setSchedule(schedule);
+
+        teacher.calculateTimeAllocation();
+        teacher.calculateMaxDutiesPerSemester();
+        return teacher;
+    }
+
+    /**
+     * Splits a file into chunks of whole records in one pass, following the quote rules of
+     * CsvTokenizer so that line breaks inside quoted fields never end a chunk: a quote only
+     * opens a quoted field at the start of the field, and a doubled quote inside one is a literal.
+     * @param file the whole file
+     * @param chunks the number of chunks wanted
+     * @return the end of the header record followed by the end of each chunk
+     */
+    private static int[] findRecordBoundaries(ByteBuffer file, int chunks) {
+        int size = file.limit();
+        int[] boundaries = new int[chunks + 1];
+        int found = 0;
+        long target = 0;  // the header ends at the first record break
+        boolean quoted = false;
+        boolean fieldStart = true;  // nothing of the current field has been read
+        for (int i = 0; i < size && found < chunks; i++) {
+            byte b = file.get(i);
+            if (quoted) {
+                if (b == '"') {
+                    if (i + 1 < size && file.get(i + 1) == '"') {
+                        i++;  // doubled quote
+                    } else {
+                        quoted = false;
+                    }
+                }
+            } else if (b == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (b == ',' || b == '\r') {
+                fieldStart = true;
+            } else if (b == '\n') {
+                fieldStart = true;
+                if (i >= target) {
+                    boundaries[found++] = i + 1;
+                    target = boundaries[0] + (size - boundaries[0]) * (long) found / chunks;
                 }
+            } else {
+                fieldStart = false;
+            }
+        }
+        if (found == 0) {
+            boundaries[found++] = size;  // only a header
+        }
+        boundaries[found++] = size;
+        return Arrays.copyOf(boundaries, found);
+    }
+
+    private static CharArrayReader decode(ByteBuffer file, int start, int end) {
+        CharBuffer chars = Charset.defaultCharset().decode(file.slice(start, end - start));
+        return new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+    }
+
+    /**
+     * Finds the name column from the header row.
+     * @param header the header fields
+     * @return the column titled Teacher or Name, or the first column
+     */
+    private static int findNameColumn(List<String> header) {
+        for (int column = 0; column < header.size(); column++) {
+            String title = header.get(column).trim();
+            for (String nameHeader : NAME_HEADERS) {
+                if (title.equalsIgnoreCase(nameHeader)) {
+                    return column;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the column of each period from the header row.
+     * @param header the header fields
+     * @param nameColumn the name column, which is never a period
+     * @return the column of each period index, or NOT_MAPPED
+     */
+    private static int[] mapPeriodColumns(List<String> header, int nameColumn) {
+        int[] periodColumns = new int[TOTAL_PERIODS];
+        Arrays.fill(periodColumns, NOT_MAPPED);
+        boolean recognised = false;
+        for (int column = 0; column < header.size(); column++) {
+            int period = column == nameColumn ? NOT_MAPPED : periodOfHeader(header.get(column).trim());
+            if (period != NOT_MAPPED && periodColumns[period] == NOT_MAPPED) {
+                periodColumns[period] = column;
+                recognised = true;
+            }
+        }
+
+        if (!recognised) {
+            int period = 0;
+            for (int column = nameColumn + 1; column < header.size() && period < TOTAL_PERIODS; column++) {
+                periodColumns[period++] = column;
+            }
+        }
+        return periodColumns;
+    }
+
+    /**
+     * Works out the period of a header such as "S1-D1(A) D2(B)" or "S2-D1(Extra1) D2(Extra2)".
+     * @param title the header text
+     * @return the period index, or NOT_MAPPED if the header is not a period
+     */
+    private static int periodOfHeader(String title) {
+        if (title.length() < 2 || Character.toUpperCase(title.charAt(0)) != 'S' || !Character.isDigit(title.charAt(1))) {
+            return NOT_MAPPED;
+        }
+        int semester = title.charAt(1) - '1';
+        int blockStart = title.indexOf(DAY_1_BLOCK_PREFIX);
+        if (semester < 0 || semester >= TOTAL_PERIODS / PERIODS_PER_SEMESTER || blockStart < 0) {
+            return NOT_MAPPED;
+        }
+        blockStart += DAY_1_BLOCK_PREFIX.length();
+
+        int block;
+        if (title.startsWith(EXTRA_BLOCK_PREFIX, blockStart)) {
+            block = EXTRA_BLOCK;
+        } else if (blockStart + 1 < title.length() && title.charAt(blockStart + 1) == ')') {
+            block = BLOCKS.indexOf(Character.toUpperCase(title.charAt(blockStart)));
+        } else {
+            return NOT_MAPPED;
+        }
+        return block < 0 ? NOT_MAPPED : semester * PERIODS_PER_SEMESTER + block;
+    }
+
+    /**
+     * Removes quotes, apostrophes and commas from a name, so "Alam, Michael" becomes "Alam Michael".
+     */
+    private static String cleanName(String field) {
+        StringBuilder name = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '"' && c != '\'' && c != ',') {
+                name.append(c);
+            }
+        }
+        return name.toString().trim();
+    }
+
+    private static boolean hasLetter(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                return true;
             }
-        } catch (IOException e) {
-            System.err.println("Error reading CSV file: " + e.getMessage());
         }
-        return teachers;
+        return false;
     }
 }
@@ -0,0 +1,64 @@
+package com.jamesdegroot.io;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.jamesdegroot.calendar.TermTable;
+
+public class ReadTermTableFromDisk {
+    // Column positions in the terms CSV: Term, Start, End
+    private static final int NAME_COLUMN = 0;
+    private static final int START_COLUMN = 1;
+    private static final int END_COLUMN = 2;
+
+    /**
+     * Reads the terms of a school year from a CSV file with a header row and one row per term.
+     * Dates are written as yyyy-MM-dd and both ends are inclusive.
+     * @param file the terms CSV file
+     * @return the term table, or null if the file cannot be read or holds no valid terms
+     * @throws IOException if file reading fails (caught internally)
+     */
+    public static TermTable readTermTable(File file) {
+        List<String> names = new ArrayList<>();
+        List<LocalDate> startDates = new ArrayList<>();
+        List<LocalDate> endDates = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new FileReader(file))) {
+            List<String> parts = new ArrayList<>();
+            csv.readRecord(parts);  // header
+            while (csv.readRecord(parts)) {
+                if (parts.size() <= END_COLUMN || parts.get(NAME_COLUMN).isBlank()) {
+                    continue;
+                }
+                try {
+                    LocalDate startDate = LocalDate.parse(parts.get(START_COLUMN).trim());
+                    LocalDate endDate = LocalDate.parse(parts.get(END_COLUMN).trim());
+                    names.add(parts.get(NAME_COLUMN).trim());
+                    startDates.add(startDate);
+                    endDates.add(endDate);
+                } catch (DateTimeParseException e) {
+                    System.err.println("Error parsing term dates: " + String.join(",", parts));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading terms file: " + e.getMessage());
+            return null;
+        }
+        if (names.isEmpty()) {
+            System.err.println("Terms file has no terms: " + file);
+            return null;
+        }
+
+        try {
+            return new TermTable(names.toArray(new String[0]), startDates.toArray(new LocalDate[0]),
+                endDates.toArray(new LocalDate[0]));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid terms in " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,5 +1,277 @@
 package com.jamesdegroot.io;
 
-public class WriteCalendarToDisk {
-    
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.RotationTable;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+/**
+ * Streams assigned duty calendars to an ICS (RFC 5545) file, one all-day VEVENT per duty
+ * on each school day. Events are encoded straight into a fixed buffer that is written to a
+ * FileChannel whenever it fills, so the document is never held in memory. Several schools
+ * can be written into the same file, which is finished on close.
+ */
+public class WriteCalendarToDisk implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LINE_BYTES = 75;  // longer lines are folded
+    private static final int MAX_CHAR_BYTES = 4;
+    private static final String CRLF = "\r\n";
+    private static final String PRODUCT_ID = "-//jamesdegroot//Duty Calendar//EN";
+    private static final String UID_DOMAIN = "@duty-calendar";
+    private static final String DAY_PREFIX = "Day ";
+    private static final String UNASSIGNED_TEXT = "UNASSIGNED";
+    private static final DateTimeFormatter STAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final StringBuilder value = new StringBuilder();  // escaped value of the current property
+    private final String timestamp;
+    private int lineBytes;   // bytes written on the current line, for folding
+    private int eventCount;
+
+    /**
+     * Writes the assigned school days of a calendar to an ICS file.
+     * @param calendar the assigned calendar
+     * @param file the ICS file to create or replace
+     * @return the number of events written
+     * @throws IOException if writing fails (caught internally)
+     */
+    public static int writeCalendarToICS(Calendar calendar, File file) {
+        try (WriteCalendarToDisk writer = new WriteCalendarToDisk(file.toPath())) {
+            writer.writeCalendar(calendar, null);
+            return writer.getEventCount();
+        } catch (IOException e) {
+            System.err.println("Error writing ICS file: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Creates or replaces an ICS file and writes its header.
+     * @param path the ICS file
+     * @throws IOException if the file cannot be opened
+     */
+    public WriteCalendarToDisk(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        this.timestamp = ZonedDateTime.now(ZoneOffset.UTC).format(STAMP_FORMAT);
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:" + PRODUCT_ID);
+        writeLine("CALSCALE:GREGORIAN");
+    }
+
+    /**
+     * Writes an event for every duty of every school day in the calendar.
+     * Each event is named after the duty and the teachers on duty that rotation day.
+     * @param calendar the assigned calendar
+     * @param school the school name, added to each event's location and UID, or null for a single school
+     * @throws IOException if writing fails
+     */
+    public void writeCalendar(Calendar calendar, String school) throws IOException {
+        writeDays(calendar.getDaysOfYear(), calendar.getRotationTable(), school);
+    }
+
+    /**
+     * Writes an event for every duty of the given school days.
+     * @param days the days to write, days that are not school days are skipped
+     * @param rotations the rotation of each school day
+     * @param school the school name, added to each event's location and UID, or null for a single school
+     * @throws IOException if writing fails
+     */
+    public void writeDays(List<Day> days, RotationTable rotations, String school) throws IOException {
+        String uidSuffix = (school == null ? "" : "-" + uidPart(school)) + UID_DOMAIN;
+        for (Day day : days) {
+            if (!day.isSchoolDay()) {
+                continue;
+            }
+            LocalDate date = day.getDate();
+            String startDate = date.format(DateTimeFormatter.BASIC_ISO_DATE);
+            String endDate = date.plusDays(1).format(DateTimeFormatter.BASIC_ISO_DATE);
+            int rotation = Math.max(rotations.getRotation(date), RotationTable.DAY_1);
+            Duty[][] duties = day.getDutySchedule();
+            for (int timeSlot = 0; timeSlot < duties.length; timeSlot++) {
+                for (int position = 0; position < duties[timeSlot].length; position++) {
+                    Duty duty = duties[timeSlot][position];
+                    if (duty != null) {
+                        writeEvent(duty, rotation, school, startDate, endDate,
+                            startDate + "-" + timeSlot + "-" + position + uidSuffix);
+                    }
+                }
+            }
+        }
+    }
+
+    private void writeEvent(Duty duty, int rotation, String school, String startDate, String endDate, String uid)
+            throws IOException {
+        String teachers = teacherNames(duty.getTeacherIds(rotation));
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:" + uid);
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("DTSTART;VALUE=DATE:" + startDate);
+        writeLine("DTEND;VALUE=DATE:" + endDate);
+        writeText("SUMMARY:", duty.getName(), ": ", teachers);
+        if (school == null) {
+            writeText("LOCATION:", duty.getRoom(), null, null);
+        } else {
+            writeText("LOCATION:", school, " - ", duty.getRoom());
+        }
+        writeText("DESCRIPTION:", duty.getTimeSlot(), "\n" + DAY_PREFIX + (rotation + 1) + "\nTeachers: ", teachers);
+        writeLine("END:VEVENT");
+        eventCount++;
+    }
+
+    /**
+     * Keeps the letters and digits of a school name for use in UIDs, replacing everything else with '-'.
+     */
+    private static String uidPart(String school) {
+        StringBuilder part = new StringBuilder(school.length());
+        for (int i = 0; i < school.length(); i++) {
+            char c = school.charAt(i);
+            part.append(c < 0x80 && Character.isLetterOrDigit(c) ? c : '-');
+        }
+        return part.toString();
+    }
+
+    private static String teacherNames(int[] teacherIds) {
+        if (teacherIds.length == 0) {
+            return UNASSIGNED_TEXT;
+        }
+        StringBuilder names = new StringBuilder();
+        for (int teacherId : teacherIds) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(TeacherRegistry.getName(teacherId));
+        }
+        return names.toString();
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Ends the calendar, writes what is left in the buffer and closes the file.
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            writeLine("END:VCALENDAR");
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes a TEXT property made of up to two escaped values joined by a literal separator.
+     */
+    private void writeText(String property, String first, String separator, String second) throws IOException {
+        value.setLength(0);
+        value.append(property);
+        escape(first);
+        if (separator != null) {
+            escape(separator);
+            escape(second);
+        }
+        writeLine(value);
+    }
+
+    private void escape(String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == ';' || c == ',') {
+                value.append('\\').append(c);
+            } else if (c == '\n') {
+                value.append("\\n");
+            } else if (c != '\r') {
+                value.append(c);
+            }
+        }
+    }
+
+    /**
+     * Writes a content line as UTF-8, folding it after 75 bytes without splitting a character.
+     */
+    private void writeLine(CharSequence line) throws IOException {
+        lineBytes = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            int codePoint = c;
+            if (Character.isHighSurrogate(c) && i + 1 < line.length() && Character.isLowSurrogate(line.charAt(i + 1))) {
+                codePoint = Character.toCodePoint(c, line.charAt(++i));
+            }
+            int bytes = codePoint < 0x80 ? 1 : codePoint < 0x800 ? 2 : codePoint < 0x10000 ? 3 : 4;
+            if (lineBytes + bytes > MAX_LINE_BYTES) {
+                put(CRLF);
+                put(" ");
+                lineBytes = 1;
+            }
+            if (buffer.remaining() < MAX_CHAR_BYTES) {
+                flush();
+            }
+            putCodePoint(codePoint, bytes);
+            lineBytes += bytes;
+        }
+        put(CRLF);
+    }
+
+    private void put(String ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) ascii.charAt(i));
+        }
+    }
+
+    private void putCodePoint(int codePoint, int bytes) {
+        switch (bytes) {
+            case 1:
+                buffer.put((byte) codePoint);
+                break;
+            case 2:
+                buffer.put((byte) (0xC0 | codePoint >> 6));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+                break;
+            case 3:
+                buffer.put((byte) (0xE0 | codePoint >> 12));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+                break;
+            default:
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+                break;
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
 }
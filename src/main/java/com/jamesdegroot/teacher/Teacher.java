@@ -50,6 +50,7 @@ public class Teacher {
     private static final String DUTIES_FORMAT = "Duties: %d/%d\n";
     private static final String SPECIAL_PERIODS_NOTE = "\n* Periods 5 and 10 are optional periods\n";
     
+    private int id = TeacherRegistry.NO_TEACHER; // compact ID from TeacherRegistry
     private String name;
     private List<String> schedule;
     private double timeAllocation; // percentage of time allocated to teaching
@@ -86,6 +87,20 @@ public class Teacher {
         }
     }
 
+    /**
+     * Sets every period of the teacher's schedule at once and updates their type.
+     * Same as calling addScheduleItem for each period, but the type is worked out only once.
+     * @param items The class/period details of each period from 0, missing periods are left as they are
+     */
+    public void setSchedule(String[] items) {
+        for (int periodIndex = 0; periodIndex < Math.min(items.length, TOTAL_PERIODS); periodIndex++) {
+            if (items[periodIndex] != null) {
+                schedule.set(periodIndex, items[periodIndex]);
+            }
+        }
+        this.jobType = determineTeacherType();
+    }
+
     /**
      * Calculates the teacher's time allocation based on their schedule.
      * Considers periods 5 and 10 only if they contain classes.
@@ -177,9 +192,7 @@ public class Teacher {
             // Split multiple courses in the same time slot
             String[] coursesInSlot = timeSlot.split(",");
             for (String courseEntry : coursesInSlot) {
-                String courseCode = courseEntry.toUpperCase()
-                    .replaceAll("\"", "")         // Remove quotes
-                    .split("[ ,-]")[0];           // Split on space, comma, or dash and take first part
+                String courseCode = courseCodeOf(courseEntry.toUpperCase());
                 
                 // Check for excluded course codes
                 if (courseCode.contains(GYM_CODE) || 
@@ -218,6 +231,26 @@ public class Teacher {
         return TeacherTypeEnum.REGULAR;
     }
 
+    /**
+     * Gets the course code at the start of a course entry: quotes are removed and the
+     * code ends at the first space, comma or dash.
+     * @param courseEntry the course entry, such as "MPM1D.-01 Rm 101"
+     * @return the course code, empty if the entry starts with a separator
+     */
+    private static String courseCodeOf(String courseEntry) {
+        StringBuilder code = new StringBuilder();
+        for (int i = 0; i < courseEntry.length(); i++) {
+            char c = courseEntry.charAt(i);
+            if (c == ' ' || c == ',' || c == '-') {
+                break;
+            }
+            if (c != '"') {
+                code.append(c);
+            }
+        }
+        return code.toString();
+    }
+
     /**
      * Calculates the maximum number of duties per semester based on type and allocation
      */
@@ -286,6 +319,14 @@ public class Teacher {
         return name;
     }
 
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
     public double getTimeAllocation() {
         return timeAllocation;
     }
@@ -328,6 +369,10 @@ public class Teacher {
         dutiesThisSemester = 0;
     }
 
+    public void setDutiesThisSemester(int dutiesThisSemester) {
+        this.dutiesThisSemester = dutiesThisSemester;
+    }
+
     public List<String> getSchedule() {
         return schedule;
     }
@@ -0,0 +1,121 @@
+package com.jamesdegroot.teacher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out compact integer IDs for teachers and resolves them back for display.
+ * Each Teacher object gets its own ID, so staff who share a display name stay apart.
+ * Names typed by hand, which have no Teacher behind them, get an ID of their own
+ * unless a registered teacher already has that exact name.
+ * IDs are only meaningful until clear is called, so clear the registry only when no
+ * duties refer to the old IDs, such as when a new calendar is started. Data kept across
+ * runs identifies a teacher by name and name occurrence instead, see getNameOccurrence.
+ */
+public class TeacherRegistry {
+    public static final int NO_TEACHER = -1;
+
+    private static final List<Teacher> teachers = new ArrayList<>();       // teacher per ID, null for typed names
+    private static final List<String> names = new ArrayList<>();           // name per ID when it was handed out
+    private static final Map<String, Integer> firstIdByName = new HashMap<>();
+    private static final Map<String, List<Integer>> teacherIdsByName = new HashMap<>();  // registration order
+
+    /**
+     * Gives a teacher an ID of its own. A teacher that is already registered keeps its ID.
+     * @param teacher the teacher to register
+     * @return the teacher's ID
+     */
+    public static synchronized int register(Teacher teacher) {
+        int id = teacher.getId();
+        if (id >= 0 && id < teachers.size() && teachers.get(id) == teacher) {
+            return id;
+        }
+        id = add(teacher, teacher.getName());
+        teacherIdsByName.computeIfAbsent(teacher.getName(), name -> new ArrayList<>()).add(id);
+        teacher.setId(id);
+        return id;
+    }
+
+    /**
+     * Gets the ID for a name typed by hand: the first registered teacher with exactly that
+     * name, or else an ID for the name alone, added if it has not been seen before.
+     * @param name the teacher name, compared case-sensitively
+     * @return the ID of the name
+     */
+    public static synchronized int idFor(String name) {
+        Integer id = firstIdByName.get(name);
+        return id != null ? id : add(null, name);
+    }
+
+    /**
+     * Gets how many teachers with the same name were registered before a teacher.
+     * Staff lists are registered in file order, so the name and this number tell staff
+     * who share a name apart from one run to the next.
+     * @param id the teacher ID
+     * @return the occurrence from 0, or 0 for typed names and unknown IDs
+     */
+    public static synchronized int getNameOccurrence(int id) {
+        if (id < 0 || id >= teachers.size() || teachers.get(id) == null) {
+            return 0;
+        }
+        return teacherIdsByName.get(names.get(id)).indexOf(id);
+    }
+
+    /**
+     * Gets the ID of a teacher saved by name and name occurrence, the reverse of getNameOccurrence.
+     * A first occurrence without a registered teacher resolves like idFor(name). A later occurrence
+     * without one gets an ID of its own, so it is not merged with another teacher of that name.
+     * @param name the teacher name, compared case-sensitively
+     * @param occurrence the number of same-named teachers registered before this one
+     * @return the ID of the teacher
+     */
+    public static synchronized int idFor(String name, int occurrence) {
+        List<Integer> ids = teacherIdsByName.get(name);
+        if (ids != null && occurrence >= 0 && occurrence < ids.size()) {
+            return ids.get(occurrence);
+        }
+        return occurrence <= 0 ? idFor(name) : add(null, name);
+    }
+
+    private static int add(Teacher teacher, String name) {
+        int id = teachers.size();
+        teachers.add(teacher);
+        names.add(name);
+        firstIdByName.putIfAbsent(name, id);
+        return id;
+    }
+
+    /**
+     * Gets the name of an ID, following the teacher's current name.
+     * @param id the teacher ID
+     * @return the name, or null for an unknown ID
+     */
+    public static synchronized String getName(int id) {
+        if (id < 0 || id >= names.size()) {
+            return null;
+        }
+        Teacher teacher = teachers.get(id);
+        return teacher != null ? teacher.getName() : names.get(id);
+    }
+
+    /**
+     * Gets the number of IDs handed out since the registry was last cleared.
+     * @return the number of IDs handed out
+     */
+    public static synchronized int size() {
+        return names.size();
+    }
+
+    /**
+     * Forgets every ID, so the next teacher registered gets ID 0 again.
+     * Teachers that were registered keep their old ID until they are registered again.
+     */
+    public static synchronized void clear() {
+        teachers.clear();
+        names.clear();
+        firstIdByName.clear();
+        teacherIdsByName.clear();
+    }
+}
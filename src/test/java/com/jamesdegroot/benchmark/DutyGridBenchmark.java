@@ -0,0 +1,62 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.DutyGrid;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+/*
+ * Compares whole-year per-teacher totals over Day/Duty objects with the same scan over a DutyGrid.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.DutyGridBenchmark
+ */
+public class DutyGridBenchmark {
+    private static final int TEACHERS = 150;
+    private static final int ROUNDS = 200;
+    private static final long SEED = 7L;
+
+    public static void main(String[] args) {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+        new DutyAssigner(calendar, SyntheticDistrict.createTeachers(TEACHERS, SEED)).assignDuties();
+        DutyGrid grid = calendar.createDutyGrid();
+
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum += countWithObjects(calendar)[0];
+        }
+        double objectMillis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+        start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            checksum += grid.countDutiesPerTeacher()[0];
+        }
+        double gridMillis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+
+        int[] coverage = grid.countCoverage();
+        System.out.printf("School days: %d, cells: %d, assigned: %d%n", grid.getDayCount(), coverage[0], coverage[1]);
+        System.out.printf("Per-teacher totals over objects: %.3f ms%n", objectMillis);
+        System.out.printf("Per-teacher totals over grid:    %.3f ms%n", gridMillis);
+        System.out.println("Checksum: " + checksum);
+    }
+
+    private static int[] countWithObjects(Calendar calendar) {
+        int[] counts = new int[TeacherRegistry.size()];
+        for (Day day : calendar.getSchoolDays()) {
+            for (Duty[] duties : day.getDutySchedule()) {
+                for (Duty duty : duties) {
+                    if (duty != null) {
+                        for (int teacherId : duty.getDay1TeacherIds()) {
+                            counts[teacherId]++;
+                        }
+                        for (int teacherId : duty.getDay2TeacherIds()) {
+                            counts[teacherId]++;
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,117 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.duty_assigment.DutyScheduleTemplate;
+import com.jamesdegroot.duty_assigment.DutySolver;
+import com.jamesdegroot.duty_assigment.GreedyDutySolver;
+import com.jamesdegroot.duty_assigment.MinCostFlowDutySolver;
+import com.jamesdegroot.teacher.Teacher;
+import java.time.DayOfWeek;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Compares the greedy and min-cost flow solvers on synthetic districts.
+ * Coverage is the share of Day 1 / Day 2 cells in the term templates that got a teacher,
+ * which is what both solvers are given to fill. Clashes count teachers placed on two
+ * positions of one slot and rotation, which neither solver may do; the two-position
+ * district is where that rule constrains them.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.DutySolverBenchmark
+ */
+public class DutySolverBenchmark {
+    private static final int[] TEACHER_COUNTS = {15, 30, 5_000};
+    private static final int[] CONSTRAINED_TEACHER_COUNTS = {30, 45, 60};
+    private static final long SEED = 7L;
+    private static final int MULTI_POSITIONS = 2;
+    private static final DayOfWeek[] WEEKDAYS = {
+        DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY
+    };
+
+    public static void main(String[] args) {
+        System.out.printf("%-12s | %-10s | %-8s | %-12s | %-10s | %-8s%n",
+            "District", "Teachers", "Solver", "Runtime ms", "Coverage", "Clashes");
+        SlotLayout multiPosition = SlotLayout.createDefault(Day.TIME_SLOTS, MULTI_POSITIONS);
+        for (int count : TEACHER_COUNTS) {
+            run("random", SyntheticDistrict.createTeachers(count, SEED), SlotLayout.DEFAULT, "greedy", new GreedyDutySolver());
+            run("random", SyntheticDistrict.createTeachers(count, SEED), SlotLayout.DEFAULT, "flow", new MinCostFlowDutySolver());
+        }
+        for (int count : CONSTRAINED_TEACHER_COUNTS) {
+            run("constrained", SyntheticDistrict.createConstrainedTeachers(count), SlotLayout.DEFAULT,
+                "greedy", new GreedyDutySolver());
+            run("constrained", SyntheticDistrict.createConstrainedTeachers(count), SlotLayout.DEFAULT,
+                "flow", new MinCostFlowDutySolver());
+        }
+        for (int count : TEACHER_COUNTS) {
+            run("2-position", SyntheticDistrict.createTeachers(count, SEED), multiPosition, "greedy", new GreedyDutySolver());
+            run("2-position", SyntheticDistrict.createTeachers(count, SEED), multiPosition, "flow", new MinCostFlowDutySolver());
+        }
+    }
+
+    private static void run(String district, List<Teacher> teachers, SlotLayout layout, String name, DutySolver solver) {
+        Calendar calendar = SyntheticDistrict.createCalendar(layout);
+
+        DutyAssigner assigner = new DutyAssigner(calendar, teachers);
+        assigner.setSolver(solver);
+        long start = System.nanoTime();
+        assigner.assignDuties();
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("%-12s | %-10d | %-8s | %-12.1f | %-9.2f%% | %-8d%n",
+            district, teachers.size(), name, millis, 100.0 * coverage(assigner), clashes(assigner));
+    }
+
+    /**
+     * Counts teachers listed more than once among the positions of a template slot and rotation.
+     */
+    private static int clashes(DutyAssigner assigner) {
+        int clashes = 0;
+        for (int term = DutyScheduleTemplate.TERM_1; term <= DutyScheduleTemplate.TERM_4; term++) {
+            for (DayOfWeek dayOfWeek : WEEKDAYS) {
+                for (Day template : assigner.getTermTemplate(term).getDayTemplate(dayOfWeek)) {
+                    for (Duty[] duties : template.getDutySchedule()) {
+                        Set<Integer> day1 = new HashSet<>();
+                        Set<Integer> day2 = new HashSet<>();
+                        for (Duty duty : duties) {
+                            if (duty == null) {
+                                continue;
+                            }
+                            for (int teacherId : duty.getDay1TeacherIds()) {
+                                clashes += day1.add(teacherId) ? 0 : 1;
+                            }
+                            for (int teacherId : duty.getDay2TeacherIds()) {
+                                clashes += day2.add(teacherId) ? 0 : 1;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return clashes;
+    }
+
+    private static double coverage(DutyAssigner assigner) {
+        int cells = 0;
+        int filled = 0;
+        for (int term = DutyScheduleTemplate.TERM_1; term <= DutyScheduleTemplate.TERM_4; term++) {
+            for (DayOfWeek dayOfWeek : WEEKDAYS) {
+                for (Day template : assigner.getTermTemplate(term).getDayTemplate(dayOfWeek)) {
+                    for (Duty[] duties : template.getDutySchedule()) {
+                        for (Duty duty : duties) {
+                            if (duty != null && template.getDate() != null) {
+                                cells += 2;
+                                filled += duty.getDay1Teachers().isEmpty() ? 0 : 1;
+                                filled += duty.getDay2Teachers().isEmpty() ? 0 : 1;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return cells == 0 ? 0 : (double) filled / cells;
+    }
+}
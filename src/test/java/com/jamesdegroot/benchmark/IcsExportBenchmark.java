@@ -0,0 +1,50 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.io.IcsEventParser;
+import com.jamesdegroot.io.WriteCalendarToDisk;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Streams the same assigned year for every school of a district into one ICS file,
+ * then parses the file back to check that every duty event can be read.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.IcsExportBenchmark
+ */
+public class IcsExportBenchmark {
+    private static final int SCHOOLS = 200;
+    private static final int TEACHERS = 150;
+    private static final int RUNS = 3;
+    private static final long SEED = 25L;
+
+    public static void main(String[] args) throws IOException {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+        new DutyAssigner(calendar, SyntheticDistrict.createTeachers(TEACHERS, SEED)).assignDuties();
+
+        Path file = Files.createTempFile("district-duties", ".ics");
+        try {
+            for (int run = 1; run <= RUNS; run++) {
+                long start = System.nanoTime();
+                int written;
+                try (WriteCalendarToDisk writer = new WriteCalendarToDisk(file)) {
+                    for (int school = 0; school < SCHOOLS; school++) {
+                        writer.writeCalendar(calendar, "School " + school);
+                    }
+                    written = writer.getEventCount();
+                }
+                double writeMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                int read = IcsEventParser.parse(file, event -> { });
+                double readMillis = (System.nanoTime() - start) / 1e6;
+
+                System.out.printf("Run %d: wrote %d events (%d MB) in %.1f ms, parsed back %d in %.1f ms%n",
+                    run, written, Files.size(file) >> 20, writeMillis, read, readMillis);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
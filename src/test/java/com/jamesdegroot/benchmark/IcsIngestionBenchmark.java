@@ -0,0 +1,111 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Holiday;
+import com.jamesdegroot.io.IcsEventParser;
+import com.jamesdegroot.io.ReadCalendarFromDisk;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Loads a synthetic board-wide ICS feed three ways: the line-by-line BufferedReader loop the
+ * io reader used before the streaming parser, the streaming parser, and the memory-mapped
+ * parallel parser. The old loop only understands DTSTART;VALUE=DATE, so it finds a third of the events.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.IcsIngestionBenchmark
+ */
+public class IcsIngestionBenchmark {
+    private static final int EVENTS = 120_000;
+    private static final int RUNS = 5;
+    private static final long SEED = 22L;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("district-feed", ".ics");
+        try {
+            SyntheticDistrict.writeIcsFeed(file, EVENTS, SEED);
+            System.out.printf("Feed: %d events, %d MB%n", EVENTS, Files.size(file) >> 20);
+            for (int run = 1; run <= RUNS; run++) {
+                long start = System.nanoTime();
+                int lineEvents = readLineByLine(file).size();
+                double lineMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                List<Holiday> streamed = new ArrayList<>();
+                IcsEventParser.parse(file, streamed::add);
+                double streamMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                List<Holiday> mapped = IcsEventParser.parseMapped(file);
+                double mappedMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                Calendar calendar = SyntheticDistrict.createCalendar();
+                ReadCalendarFromDisk.loadCalendarFromMappedICS(calendar, file.toFile());
+                double loadMillis = (System.nanoTime() - start) / 1e6;
+
+                System.out.printf("Run %d: line reader %.1f ms (%d events), streaming %.1f ms (%d), "
+                    + "mapped parallel %.1f ms (%d, same events: %b), mapped into Calendar %.1f ms (%d)%n",
+                    run, lineMillis, lineEvents, streamMillis, streamed.size(), mappedMillis, mapped.size(),
+                    sameEvents(streamed, mapped), loadMillis, calendar.getEvents().size());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean sameEvents(List<Holiday> fileOrder, List<Holiday> dateOrder) {
+        List<Holiday> sorted = new ArrayList<>(fileOrder);
+        sorted.sort((a, b) -> a.getStartDate().compareTo(b.getStartDate()));
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).getSummary().equals(dateOrder.get(i).getSummary())
+                    || !sorted.get(i).getEndDate().equals(dateOrder.get(i).getEndDate())) {
+                return false;
+            }
+        }
+        return sorted.size() == dateOrder.size();
+    }
+
+    /**
+     * The reader loop ReadCalendarFromDisk used before IcsEventParser.
+     */
+    private static List<Holiday> readLineByLine(Path file) throws IOException {
+        List<Holiday> events = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+            String line;
+            String summary = null;
+            LocalDate startDate = null;
+            LocalDate endDate = null;
+            String description = "";
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("BEGIN:VEVENT")) {
+                    summary = null;
+                    startDate = null;
+                    endDate = null;
+                    description = "";
+                } else if (line.startsWith("SUMMARY:")) {
+                    summary = line.substring(8);
+                } else if (line.startsWith("DTSTART;VALUE=DATE:")) {
+                    startDate = parseDate(line.substring(19));
+                } else if (line.startsWith("DTEND;VALUE=DATE:")) {
+                    endDate = parseDate(line.substring(17));
+                } else if (line.startsWith("DESCRIPTION:")) {
+                    description = line.substring(12);
+                } else if (line.startsWith("END:VEVENT") && summary != null && startDate != null && endDate != null) {
+                    events.add(new Holiday(summary, startDate, endDate, description));
+                }
+            }
+        }
+        return events;
+    }
+
+    private static LocalDate parseDate(String dateStr) {
+        dateStr = dateStr.replaceAll("[^0-9]", "");
+        return LocalDate.parse(dateStr, DateTimeFormatter.ofPattern("yyyyMMdd"));
+    }
+}
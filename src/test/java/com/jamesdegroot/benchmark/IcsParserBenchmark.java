@@ -0,0 +1,36 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Holiday;
+import com.jamesdegroot.io.IcsEventParser;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Parses a synthetic board-wide ICS feed of about 50 MB with the streaming parser.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.IcsParserBenchmark
+ */
+public class IcsParserBenchmark {
+    private static final int EVENTS = 120_000;
+    private static final int RUNS = 5;
+    private static final long SEED = 21L;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("district-feed", ".ics");
+        try {
+            SyntheticDistrict.writeIcsFeed(file, EVENTS, SEED);
+            for (int run = 1; run <= RUNS; run++) {
+                long[] checksum = new long[1];
+                long start = System.nanoTime();
+                int events = IcsEventParser.parse(file, (Holiday event) ->
+                    checksum[0] += event.getEndDate().toEpochDay() - event.getStartDate().toEpochDay()
+                        + event.getSummary().length() + event.getDescription().length());
+                double millis = (System.nanoTime() - start) / 1e6;
+                System.out.printf("Run %d: %d events from %d MB in %.1f ms (checksum %d)%n",
+                    run, events, Files.size(file) >> 20, millis, checksum[0]);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
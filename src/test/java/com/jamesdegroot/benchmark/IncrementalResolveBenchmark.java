@@ -0,0 +1,55 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.teacher.Teacher;
+import java.util.List;
+
+/*
+ * Compares a full assignDuties with the incremental updates used by the editors.
+ * The teacher edit gives the first teacher a class in period 1, the day edit turns the
+ * first school day of the year into a non-school day so its weekday template moves.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.IncrementalResolveBenchmark
+ */
+public class IncrementalResolveBenchmark {
+    private static final int[] TEACHER_COUNTS = {150, 1_000, 5_000};
+    private static final long SEED = 7L;
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s | %-14s | %-16s | %-14s%n",
+            "Teachers", "Full solve ms", "Teacher edit ms", "Day edit ms");
+        for (int count : TEACHER_COUNTS) {
+            run(SyntheticDistrict.createTeachers(count, SEED));
+        }
+    }
+
+    private static void run(List<Teacher> teachers) {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+        DutyAssigner assigner = new DutyAssigner(calendar, teachers);
+
+        long start = System.nanoTime();
+        assigner.assignDuties();
+        double fullMillis = (System.nanoTime() - start) / 1e6;
+
+        Teacher teacher = teachers.get(0);
+        teacher.addScheduleItem("MPM1D.-09, Rm 101", 0);
+        teacher.calculateTimeAllocation();
+        teacher.calculateMaxDutiesPerSemester();
+        start = System.nanoTime();
+        assigner.reassignTeacher(teacher);
+        double teacherMillis = (System.nanoTime() - start) / 1e6;
+
+        Day day = calendar.getDaysOfYear().stream()
+            .filter(Day::isSchoolDay)
+            .findFirst()
+            .orElseThrow();
+        day.setSchoolDay(false);
+        start = System.nanoTime();
+        assigner.reassignDay(day);
+        double dayMillis = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("%-10d | %-14.2f | %-16.2f | %-14.2f%n",
+            teachers.size(), fullMillis, teacherMillis, dayMillis);
+    }
+}
@@ -0,0 +1,65 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import java.time.LocalDate;
+import java.util.Random;
+
+/*
+ * Compares building five past school years eagerly with adding them as lazy years,
+ * then looks up random audit dates and evicts the years again.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.LazyCalendarBenchmark
+ */
+public class LazyCalendarBenchmark {
+    private static final int PAST_YEARS = 5;
+    private static final int FIRST_YEAR = 2019;
+    private static final int LOOKUPS = 2_000;
+    private static final long SEED = 7L;
+
+    public static void main(String[] args) {
+        long start = System.nanoTime();
+        Calendar eager = new Calendar();
+        for (int year = FIRST_YEAR; year < FIRST_YEAR + PAST_YEARS; year++) {
+            eager.initializeDaysOfYear(startOf(year), endOf(year));
+        }
+        double eagerMillis = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        Calendar lazy = SyntheticDistrict.createCalendar();
+        for (int year = FIRST_YEAR; year < FIRST_YEAR + PAST_YEARS; year++) {
+            lazy.addSchoolYear(startOf(year), endOf(year));
+        }
+        double lazyMillis = (System.nanoTime() - start) / 1e6;
+
+        Random random = new Random(SEED);
+        long firstDay = startOf(FIRST_YEAR).toEpochDay();
+        long lastDay = endOf(FIRST_YEAR + PAST_YEARS - 1).toEpochDay();
+        int schoolDays = 0;
+        start = System.nanoTime();
+        for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+            LocalDate date = LocalDate.ofEpochDay(firstDay + random.nextInt((int) (lastDay - firstDay + 1)));
+            if (lazy.getDay(date) != null && lazy.isSchoolDay(date)) {
+                schoolDays++;
+            }
+        }
+        double lookupMillis = (System.nanoTime() - start) / 1e6;
+        int materialized = lazy.countMaterializedDays();
+
+        for (int year = FIRST_YEAR; year < FIRST_YEAR + PAST_YEARS; year++) {
+            lazy.evictSchoolYear(startOf(year));
+        }
+
+        System.out.printf("Eager build of %d past years (one at a time): %.1f ms%n", PAST_YEARS, eagerMillis);
+        System.out.printf("Active year plus %d lazy past years:         %.1f ms%n", PAST_YEARS, lazyMillis);
+        System.out.printf("%d random lookups: %.1f ms, %d school days, %d days created%n",
+            LOOKUPS, lookupMillis, schoolDays, materialized);
+        System.out.println("Days left after evicting: " + lazy.countMaterializedDays());
+    }
+
+    private static LocalDate startOf(int year) {
+        return LocalDate.of(year, 9, 1);
+    }
+
+    private static LocalDate endOf(int year) {
+        return LocalDate.of(year + 1, 6, 30);
+    }
+}
@@ -0,0 +1,63 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.DutyGrid;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.io.MappedScheduleStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Writes the same assigned year for many schools into a mapped store, reopens it and
+ * totals the duties of every teacher across the district straight from the file.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.MappedScheduleStoreBenchmark
+ */
+public class MappedScheduleStoreBenchmark {
+    private static final int SCHOOLS = 200;
+    private static final int TEACHERS = 150;
+    private static final long SEED = 7L;
+
+    public static void main(String[] args) throws IOException {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+        new DutyAssigner(calendar, SyntheticDistrict.createTeachers(TEACHERS, SEED)).assignDuties();
+        List<Day> days = calendar.getDaysOfYear();
+        int[] expected = DutyGrid.fromDays(days).countDutiesPerTeacher();
+
+        Path file = Files.createTempFile("duty-schedule", ".grid");
+        try {
+            long start = System.nanoTime();
+            try (MappedScheduleStore store = MappedScheduleStore.create(file, SCHOOLS,
+                    days.get(0).getDate(), days.size(), Day.TIME_SLOTS, Day.DUTIES_PER_SLOT)) {
+                for (int school = 0; school < SCHOOLS; school++) {
+                    store.save(school, days);
+                }
+            }
+            double writeMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            int mismatches = 0;
+            long duties = 0;
+            try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+                for (int school = 0; school < store.getSchools(); school++) {
+                    int[] counts = store.getGrid(school).countDutiesPerTeacher();
+                    if (!Arrays.equals(Arrays.copyOf(counts, expected.length), expected)) {
+                        mismatches++;
+                    }
+                    duties += Arrays.stream(counts).sum();
+                }
+            }
+            double readMillis = (System.nanoTime() - start) / 1e6;
+
+            System.out.printf("Schools: %d, file: %d KB%n", SCHOOLS, Files.size(file) / 1024);
+            System.out.printf("Write all schools:        %.1f ms%n", writeMillis);
+            System.out.printf("Reopen and total duties:  %.1f ms%n", readMillis);
+            System.out.println("Duties: " + duties + ", mismatched schools: " + mismatches);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
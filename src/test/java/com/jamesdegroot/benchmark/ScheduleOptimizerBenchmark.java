@@ -0,0 +1,93 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import com.jamesdegroot.duty_assigment.DutyScheduleOptimizer;
+import com.jamesdegroot.duty_assigment.DutyScheduleTemplate;
+import com.jamesdegroot.teacher.Teacher;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Shows how much fairer the rosters get when the local search runs after the greedy solver.
+ * Spread is the largest minus the smallest duty count in a term among teachers with duties,
+ * imbalance is the sum of |Day 1 - Day 2| duties over teachers; both are summed over the terms.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.ScheduleOptimizerBenchmark
+ */
+public class ScheduleOptimizerBenchmark {
+    private static final int[] TEACHER_COUNTS = {30, 60, 500};
+    private static final long[] BUDGETS_MS = {0, 500, 2_000};
+    private static final long SEED = 7L;
+    private static final DayOfWeek[] WEEKDAYS = {
+        DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY
+    };
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s | %-10s | %-12s | %-8s | %-10s%n",
+            "Teachers", "Budget ms", "Runtime ms", "Spread", "Imbalance");
+        for (int count : TEACHER_COUNTS) {
+            for (long budget : BUDGETS_MS) {
+                run(SyntheticDistrict.createTeachers(count, SEED), budget);
+            }
+        }
+    }
+
+    private static void run(List<Teacher> teachers, long budgetMillis) {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+
+        DutyAssigner assigner = new DutyAssigner(calendar, teachers);
+        if (budgetMillis > 0) {
+            assigner.setOptimizer(new DutyScheduleOptimizer(Duration.ofMillis(budgetMillis),
+                Runtime.getRuntime().availableProcessors(), SEED));
+        }
+        long start = System.nanoTime();
+        assigner.assignDuties();
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        int spread = 0;
+        int imbalance = 0;
+        for (int term = DutyScheduleTemplate.TERM_1; term <= DutyScheduleTemplate.TERM_4; term++) {
+            Map<String, int[]> counts = countDuties(assigner.getTermTemplate(term));
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int[] count : counts.values()) {
+                min = Math.min(min, count[0] + count[1]);
+                max = Math.max(max, count[0] + count[1]);
+                imbalance += Math.abs(count[0] - count[1]);
+            }
+            spread += counts.isEmpty() ? 0 : max - min;
+        }
+
+        System.out.printf("%-10d | %-10d | %-12.1f | %-8d | %-10d%n",
+            teachers.size(), budgetMillis, millis, spread, imbalance);
+    }
+
+    /**
+     * Counts the Day 1 and Day 2 duties of each teacher in a term's templates.
+     */
+    private static Map<String, int[]> countDuties(DutyScheduleTemplate template) {
+        Map<String, int[]> counts = new HashMap<>();
+        for (DayOfWeek dayOfWeek : WEEKDAYS) {
+            Day[] days = template.getDayTemplate(dayOfWeek);
+            if (days == null) {
+                continue;
+            }
+            for (Day day : days) {
+                for (Duty[] duties : day.getDutySchedule()) {
+                    for (Duty duty : duties) {
+                        if (duty != null) {
+                            duty.getDay1Teachers().forEach(name -> counts.computeIfAbsent(name, k -> new int[2])[0]++);
+                            duty.getDay2Teachers().forEach(name -> counts.computeIfAbsent(name, k -> new int[2])[1]++);
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+}
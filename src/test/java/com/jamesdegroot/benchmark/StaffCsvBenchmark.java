@@ -0,0 +1,115 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.io.CsvTokenizer;
+import com.jamesdegroot.io.ReadTeachersFromDisk;
+import com.jamesdegroot.teacher.Teacher;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Reads a synthetic 100k-row staff timetable export: once with the lookahead regex split the
+ * teacher reader used before CsvTokenizer, once with the tokenizer alone, and through
+ * ReadTeachersFromDisk sequentially and in parallel, which also build and register every teacher.
+ * Some cells hold quoted line breaks, so the parallel split has to respect quotes.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.StaffCsvBenchmark
+ */
+public class StaffCsvBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int RUNS = 3;
+    private static final long SEED = 23L;
+    private static final String HEADER = "Teacher,S1-D1(A) D2(B),S1-D1(B) D2(A),S1-D1(C) D2(D),S1-D1(D) D2(C),"
+        + "S1-D1(Extra2) D2(Extra1),S2-D1(A) D2(B),S2-D1(B) D2(A),S2-D1(C) D2(D),S2-D1(D) D2(C),S2-D1(Extra1) D2(Extra2)";
+
+    public static void main(String[] args) throws IOException {
+        Path file = Files.createTempFile("staff-export", ".csv");
+        try {
+            writeExport(file);
+            System.out.printf("Export: %d rows, %d MB%n", ROWS, Files.size(file) >> 20);
+            for (int run = 1; run <= RUNS; run++) {
+                long start = System.nanoTime();
+                long regexFields = 0;
+                try (BufferedReader reader = new BufferedReader(new FileReader(file.toFile()))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        regexFields += line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)").length;
+                    }
+                }
+                double regexMillis = (System.nanoTime() - start) / 1e6;
+
+                start = System.nanoTime();
+                long tokenizerFields = 0;
+                try (CsvTokenizer csv = new CsvTokenizer(new FileReader(file.toFile()))) {
+                    List<String> fields = new ArrayList<>();
+                    while (csv.readRecord(fields)) {
+                        tokenizerFields += fields.size();
+                    }
+                }
+                double tokenizerMillis = (System.nanoTime() - start) / 1e6;
+
+                ReadTeachersFromDisk.ImportResult sequential = ReadTeachersFromDisk.importTeachers(file.toString(), false);
+                ReadTeachersFromDisk.ImportResult parallel = ReadTeachersFromDisk.importTeachers(file.toString(), true);
+
+                System.out.printf("Run %d: regex split %.1f ms (%d fields), tokenizer %.1f ms (%d fields)%n",
+                    run, regexMillis, regexFields, tokenizerMillis, tokenizerFields);
+                System.out.printf("  sequential import %.1f ms (%.0f rows/sec), parallel import %.1f ms (%.0f rows/sec), "
+                    + "%d rows, same teachers: %b%n",
+                    sequential.getElapsedNanos() / 1e6, sequential.getRowsPerSecond(),
+                    parallel.getElapsedNanos() / 1e6, parallel.getRowsPerSecond(), parallel.getRows(),
+                    sameTeachers(sequential.getTeachers(), parallel.getTeachers()));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static boolean sameTeachers(List<Teacher> expected, List<Teacher> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Teacher a = expected.get(i);
+            Teacher b = actual.get(i);
+            // Each import registers new teachers, so IDs are compared relative to the first one
+            int idA = a.getId() - expected.get(0).getId();
+            int idB = b.getId() - actual.get(0).getId();
+            if (!a.getName().equals(b.getName()) || idA != idB || !a.getSchedule().equals(b.getSchedule())
+                    || a.getMaxDutiesPerSemester() != b.getMaxDutiesPerSemester()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeExport(Path file) throws IOException {
+        String[] courses = {"MPM1D.", "ENG2D.", "SNC1W.", "CHC2D.", "FSF1D.", "AVI1O.", "TEJ3M.", "SCH3U."};
+        Random random = new Random(SEED);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            for (int row = 0; row < ROWS; row++) {
+                writer.write("\"Teacher" + row + ", Staff\"");
+                for (int period = 0; period < 10; period++) {
+                    writer.write(',');
+                    if (random.nextInt(10) < 6) {
+                        String course = courses[random.nextInt(courses.length)];
+                        writer.write("\"" + course + "-0" + (period + 1) + ", Rm " + (100 + random.nextInt(300)));
+                        if (random.nextInt(4) == 0) {
+                            writer.write(", " + course + "-1" + period + ", Rm \"\"Portable\"\"");
+                        } else if (random.nextInt(20) == 0) {
+                            writer.write("\r\nShared with Library");
+                        }
+                        writer.write('"');
+                    }
+                }
+                writer.write("\r\n");
+            }
+        }
+    }
+}
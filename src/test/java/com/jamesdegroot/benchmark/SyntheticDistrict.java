@@ -0,0 +1,143 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.teacher.Teacher;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/*
+ * Builds synthetic teachers and calendars for the duty assignment benchmarks.
+ */
+public class SyntheticDistrict {
+    private static final String[] COURSE_CODES = {
+        "MPM1D.", "ENG2D.", "SNC1W.", "CHC2D.", "FSF1D.", "AVI1O.", "TEJ3M.", "SCH3U."
+    };
+    private static final int PERIODS = 10;
+    private static final int MIN_CLASSES = 2;
+    private static final int MAX_CLASSES = 6;
+    private static final LocalDate FEED_START = LocalDate.of(2024, 9, 3);
+    private static final int FEED_DAYS = 300;
+
+    /**
+     * Creates teachers with random regular course loads.
+     * @param count the number of teachers
+     * @param seed the random seed
+     * @return the synthetic teachers
+     */
+    public static List<Teacher> createTeachers(int count, long seed) {
+        Random random = new Random(seed);
+        List<Teacher> teachers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher("Teacher " + i);
+            int classes = MIN_CLASSES + random.nextInt(MAX_CLASSES - MIN_CLASSES + 1);
+            for (int c = 0; c < classes; c++) {
+                int period = random.nextInt(PERIODS);
+                String code = COURSE_CODES[random.nextInt(COURSE_CODES.length)];
+                teacher.addScheduleItem(code + "-0" + (c + 1) + ", Rm " + (100 + random.nextInt(300)), period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    /**
+     * Creates teachers where the order matters for a greedy pass.
+     * The first third only teach periods 1-2 and are the only ones free for periods 3, 4 and 6-9;
+     * the rest teach periods 3, 4 and 6-9 and are free for the early and optional slots.
+     * @param count the number of teachers
+     * @return the synthetic teachers
+     */
+    public static List<Teacher> createConstrainedTeachers(int count) {
+        int[] flexiblePeriods = {0, 1};
+        int[] busyPeriods = {2, 3, 5, 6, 7, 8};
+        List<Teacher> teachers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher("Teacher " + i);
+            int[] periods = i < count / 3 ? flexiblePeriods : busyPeriods;
+            for (int period : periods) {
+                teacher.addScheduleItem(COURSE_CODES[period % COURSE_CODES.length] + "-01, Rm 101", period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    /**
+     * Creates a calendar for the default school year with no holidays.
+     * @return the initialized calendar
+     */
+    public static Calendar createCalendar() {
+        return createCalendar(SlotLayout.DEFAULT);
+    }
+
+    /**
+     * Creates a calendar for the default school year with no holidays and the given duty slots.
+     * @param layout the duty slots of every school day
+     * @return the initialized calendar
+     */
+    public static Calendar createCalendar(SlotLayout layout) {
+        Calendar calendar = new Calendar();
+        calendar.setSlotLayout(layout);
+        calendar.initializeDaysOfYear();
+        return calendar;
+    }
+
+    /**
+     * Writes a board-wide ICS feed mixing all-day events, TZID and UTC date-times,
+     * folded descriptions with escapes and nested alarms, using CRLF line endings.
+     * @param file the file to write
+     * @param events the number of events
+     * @param seed the random seed
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeIcsFeed(Path file, int events, long seed) throws IOException {
+        Random random = new Random(seed);
+        DateTimeFormatter digits = DateTimeFormatter.BASIC_ISO_DATE;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("BEGIN:VCALENDAR\r\nVERSION:2.0\r\nPRODID:-//Synthetic District//EN\r\n");
+            for (int i = 0; i < events; i++) {
+                LocalDate start = FEED_START.plusDays(random.nextInt(FEED_DAYS));
+                LocalDate end = start.plusDays(random.nextInt(3));
+                writer.write("BEGIN:VEVENT\r\n");
+                writer.write("UID:event-" + i + "@district.example\r\n");
+                writer.write("DTSTAMP:20241211T152943Z\r\n");
+                switch (i % 3) {
+                    case 0:
+                        writer.write("DTSTART;VALUE=DATE:" + start.format(digits) + "\r\n");
+                        writer.write("DTEND;VALUE=DATE:" + end.format(digits) + "\r\n");
+                        break;
+                    case 1:
+                        writer.write("DTSTART;TZID=America/Toronto:" + start.format(digits) + "T083000\r\n");
+                        writer.write("DTEND;TZID=America/Toronto:" + end.format(digits) + "T150000\r\n");
+                        break;
+                    default:
+                        writer.write("DTSTART:" + start.format(digits) + "T130000Z\r\n");
+                        writer.write("DTEND:" + end.format(digits) + "T200000Z\r\n");
+                        break;
+                }
+                writer.write("SUMMARY:School " + random.nextInt(200) + " event " + i + "\r\n");
+                writer.write("DESCRIPTION:Board notice\\, school " + random.nextInt(200)
+                    + "\\; details follow. Staff should check the duty roster for th\r\n"
+                    + " e affected days and confirm coverage with the office before the \r\n"
+                    + " start of the day.\\nThank you.\r\n");
+                writer.write("BEGIN:VALARM\r\nACTION:DISPLAY\r\nDESCRIPTION:Reminder\r\n"
+                    + "TRIGGER:-PT15M\r\nEND:VALARM\r\n");
+                writer.write("END:VEVENT\r\n");
+            }
+            writer.write("END:VCALENDAR\r\n");
+        }
+    }
+}
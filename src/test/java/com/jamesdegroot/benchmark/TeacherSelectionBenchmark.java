@@ -0,0 +1,114 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.duty_assigment.DutyAssignmentRules;
+import com.jamesdegroot.duty_assigment.TeacherAvailabilityIndex;
+import com.jamesdegroot.duty_assigment.TermDutyState;
+import com.jamesdegroot.teacher.Teacher;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Compares picking the least loaded teacher by scanning and sorting (the old
+ * assignTeacherToDuty) against the per-slot load heaps in TermDutyState.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.TeacherSelectionBenchmark
+ */
+public class TeacherSelectionBenchmark {
+    private static final int[] TEACHER_COUNTS = {100, 1_000, 10_000};
+    private static final int TERMS = 4;
+    private static final int WEEKDAYS = 5;
+    private static final int TEMPLATES_PER_WEEKDAY = 2;
+    private static final int ROTATIONS = 2;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final long SEED = 42L;
+    private static final LocalDate DUTY_DATE = LocalDate.of(2025, 2, 4);
+    private static final TermTable TERM_TABLE = TermTable.forSchoolYear(LocalDate.of(2024, 9, 3), LocalDate.of(2025, 6, 28));
+
+    public static void main(String[] args) {
+        System.out.printf("%-10s | %-14s | %-14s | %-8s%n", "Teachers", "Scan+sort ms", "Heap ms", "Speedup");
+        for (int count : TEACHER_COUNTS) {
+            List<Teacher> teachers = SyntheticDistrict.createTeachers(count, SEED);
+
+            for (int i = 0; i < WARMUP_RUNS; i++) {
+                runScanAndSort(teachers);
+                runHeap(teachers);
+            }
+
+            long scanNanos = 0;
+            long heapNanos = 0;
+            List<Integer> scanPicks = null;
+            List<Integer> heapPicks = null;
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                scanPicks = runScanAndSort(teachers);
+                scanNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                heapPicks = runHeap(teachers);
+                heapNanos += System.nanoTime() - start;
+            }
+            if (!scanPicks.equals(heapPicks)) {
+                throw new IllegalStateException("Heap selection differs from scan and sort for " + count + " teachers");
+            }
+
+            double scanMs = scanNanos / 1e6 / MEASURED_RUNS;
+            double heapMs = heapNanos / 1e6 / MEASURED_RUNS;
+            System.out.printf("%-10d | %-14.3f | %-14.3f | %-8.1f%n", count, scanMs, heapMs, scanMs / heapMs);
+        }
+    }
+
+    /**
+     * The selection loop used before the heaps: check every teacher, sort the candidates, take the first.
+     */
+    private static List<Integer> runScanAndSort(List<Teacher> teachers) {
+        List<Integer> picks = new ArrayList<>();
+        for (int term = 0; term < TERMS; term++) {
+            teachers.forEach(Teacher::resetDutiesThisSemester);
+            for (int cell = 0; cell < cellsPerTerm(); cell++) {
+                int timeSlot = cell % Day.TIME_SLOTS;
+                List<Integer> available = new ArrayList<>();
+                for (int i = 0; i < teachers.size(); i++) {
+                    if (DutyAssignmentRules.canAssignDuty(teachers.get(i), timeSlot, DUTY_DATE, true, TERM_TABLE)) {
+                        available.add(i);
+                    }
+                }
+                available.sort((t1, t2) -> Integer.compare(
+                    teachers.get(t1).getDutiesThisSemester(), teachers.get(t2).getDutiesThisSemester()));
+                if (available.isEmpty()) {
+                    picks.add(-1);
+                } else {
+                    int selected = available.get(0);
+                    teachers.get(selected).incrementDutiesThisSemester();
+                    picks.add(selected);
+                }
+            }
+        }
+        return picks;
+    }
+
+    /**
+     * The current selection loop: peek the slot heap and record the duty.
+     */
+    private static List<Integer> runHeap(List<Teacher> teachers) {
+        List<Integer> picks = new ArrayList<>();
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(teachers, Day.TIME_SLOTS);
+        for (int term = 0; term < TERMS; term++) {
+            TermDutyState state = new TermDutyState(index, term, TERM_TABLE);
+            for (int cell = 0; cell < cellsPerTerm(); cell++) {
+                int selected = state.pickLeastLoaded(cell % Day.TIME_SLOTS, DUTY_DATE);
+                if (selected >= 0) {
+                    state.recordDuty(selected);
+                }
+                picks.add(selected);
+            }
+        }
+        return picks;
+    }
+
+    private static int cellsPerTerm() {
+        return WEEKDAYS * TEMPLATES_PER_WEEKDAY * ROTATIONS * Day.TIME_SLOTS * Day.DUTIES_PER_SLOT;
+    }
+}
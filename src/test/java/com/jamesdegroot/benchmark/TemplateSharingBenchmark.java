@@ -0,0 +1,52 @@
+package com.jamesdegroot.benchmark;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.duty_assigment.DutyAssigner;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/*
+ * Counts the distinct Duty objects a fully assigned year keeps alive and times applying the templates.
+ * Days share their term/weekday template, so the count stays at the number of template duties
+ * instead of growing with the number of school days.
+ * Run with: java -cp target/classes:target/test-classes com.jamesdegroot.benchmark.TemplateSharingBenchmark
+ */
+public class TemplateSharingBenchmark {
+    private static final int TEACHERS = 150;
+    private static final long SEED = 7L;
+
+    public static void main(String[] args) {
+        Calendar calendar = SyntheticDistrict.createCalendar();
+        DutyAssigner assigner = new DutyAssigner(calendar, SyntheticDistrict.createTeachers(TEACHERS, SEED));
+
+        long start = System.nanoTime();
+        assigner.assignDuties();
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        Set<Duty> distinctDuties = Collections.newSetFromMap(new IdentityHashMap<>());
+        int schoolDays = 0;
+        int dutySlots = 0;
+        for (Day day : calendar.getDaysOfYear()) {
+            if (!day.isSchoolDay()) {
+                continue;
+            }
+            schoolDays++;
+            for (Duty[] duties : day.getDutySchedule()) {
+                for (Duty duty : duties) {
+                    if (duty != null) {
+                        dutySlots++;
+                        distinctDuties.add(duty);
+                    }
+                }
+            }
+        }
+
+        System.out.printf("School days: %d%n", schoolDays);
+        System.out.printf("Duty slots: %d%n", dutySlots);
+        System.out.printf("Distinct Duty objects: %d%n", distinctDuties.size());
+        System.out.printf("Assign ms: %.1f%n", millis);
+    }
+}
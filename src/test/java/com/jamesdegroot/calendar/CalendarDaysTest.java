@@ -0,0 +1,68 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Tests looking up the days of the active school year by date.
+ */
+public class CalendarDaysTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);   // a Tuesday
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final LocalDate SATURDAY = LocalDate.of(2024, 9, 14);
+
+    private Calendar calendar;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+    }
+
+    @Test
+    public void testGetDayByDate() {
+        assertEquals(MONDAY, calendar.getDay(MONDAY).getDate());
+        assertEquals(YEAR_START, calendar.getDay(YEAR_START).getDate());
+        assertEquals(YEAR_END, calendar.getDay(YEAR_END).getDate());
+        assertNull(calendar.getDay(YEAR_START.minusDays(1)));
+        assertNull(calendar.getDay(YEAR_END.plusDays(1)));
+        assertNull(calendar.getDay(null));
+    }
+
+    @Test
+    public void testWeekendsAreNotSchoolDays() {
+        assertTrue(calendar.isSchoolDay(MONDAY));
+        assertFalse(calendar.isSchoolDay(SATURDAY));
+        assertFalse(calendar.isSchoolDay(SATURDAY.plusDays(1)));
+        assertFalse("Dates outside the calendar are not school days", calendar.isSchoolDay(YEAR_START.minusDays(1)));
+    }
+
+    @Test
+    public void testSchoolDayChangesAreIndexed() {
+        calendar.getDay(MONDAY).setSchoolDay(false);
+        assertFalse(calendar.isSchoolDay(MONDAY));
+        assertEquals(4, calendar.countSchoolDays(MONDAY, SATURDAY));
+        assertFalse(calendar.getSchoolDays(MONDAY, SATURDAY).contains(calendar.getDay(MONDAY)));
+    }
+
+    @Test
+    public void testRangesAreClippedToTheYear() {
+        List<Day> days = calendar.getDays(LocalDate.of(2024, 8, 1), LocalDate.of(2024, 9, 5));
+        assertEquals(3, days.size());
+        assertEquals(YEAR_START, days.get(0).getDate());
+        assertTrue(calendar.getDays(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 1)).isEmpty());
+        assertEquals(0, calendar.countSchoolDays(LocalDate.of(2024, 8, 1), LocalDate.of(2024, 8, 31)));
+    }
+
+    @Test
+    public void testCountSchoolDays() {
+        assertEquals(5, calendar.countSchoolDays(MONDAY, SATURDAY.plusDays(1)));
+        assertEquals(calendar.getSchoolDays().size(), calendar.countSchoolDays(YEAR_START, YEAR_END));
+        assertEquals(calendar.getSchoolDays(MONDAY, SATURDAY), calendar.getDays(MONDAY, MONDAY.plusDays(4)));
+    }
+}
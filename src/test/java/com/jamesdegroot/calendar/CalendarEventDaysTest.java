@@ -0,0 +1,82 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/*
+ * Tests how events mark the days they cover as days without school.
+ */
+public class CalendarEventDaysTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 10, 1);
+    private static final int DAY_COUNT = 10;
+
+    private Calendar calendar;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+    }
+
+    @Test
+    public void testEventsCoverStartAndEndDates() {
+        calendar.addHoliday(new Holiday("Break", FIRST_DAY.plusDays(2), FIRST_DAY.plusDays(4), ""));
+        assertEquals(bits(2, 3, 4), resolve());
+    }
+
+    @Test
+    public void testOverlappingEvents() {
+        calendar.addHoliday(new Holiday("Break", FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(4), ""));
+        calendar.addHoliday(new Holiday("PA Day", FIRST_DAY.plusDays(3), FIRST_DAY.plusDays(6), ""));
+        calendar.addHoliday(new Holiday("Assembly", FIRST_DAY.plusDays(4), FIRST_DAY.plusDays(4), ""));
+        assertEquals(bits(1, 2, 3, 4, 5, 6), resolve());
+    }
+
+    @Test
+    public void testEventsAreClippedToTheRange() {
+        calendar.addHoliday(new Holiday("Summer", FIRST_DAY.minusDays(30), FIRST_DAY, ""));
+        calendar.addHoliday(new Holiday("Winter", FIRST_DAY.plusDays(DAY_COUNT - 1), FIRST_DAY.plusDays(40), ""));
+        calendar.addHoliday(new Holiday("Earlier", FIRST_DAY.minusDays(5), FIRST_DAY.minusDays(2), ""));
+        calendar.addHoliday(new Holiday("Later", FIRST_DAY.plusDays(DAY_COUNT), FIRST_DAY.plusDays(20), ""));
+        assertEquals(bits(0, DAY_COUNT - 1), resolve());
+    }
+
+    @Test
+    public void testReversedEventCoversOnlyItsTwoDates() {
+        calendar.addHoliday(new Holiday("Typo", FIRST_DAY.plusDays(7), FIRST_DAY.plusDays(2), ""));
+        assertEquals(bits(2, 7), resolve());
+    }
+
+    @Test
+    public void testEventsWithoutDatesAreIgnored() {
+        calendar.addHoliday(new Holiday("Undated", null, null, ""));
+        assertTrue(resolve().isEmpty());
+    }
+
+    @Test
+    public void testCoveredDaysAreNotSchoolDays() {
+        LocalDate monday = LocalDate.of(2024, 10, 14);
+        calendar.addHoliday(new Holiday("Thanksgiving", monday, monday, ""));
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        assertFalse(calendar.isSchoolDay(monday));
+        assertTrue(calendar.isSchoolDay(monday.plusDays(1)));
+        assertNull("Days without school get no duties", calendar.getDay(monday).getDuties(0)[0]);
+    }
+
+    private BitSet resolve() {
+        return calendar.resolveEventDays(FIRST_DAY.toEpochDay(), DAY_COUNT);
+    }
+
+    private static BitSet bits(int... offsets) {
+        BitSet bits = new BitSet();
+        for (int offset : offsets) {
+            bits.set(offset);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,75 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+/*
+ * Tests the printed duty schedule of a range of school days.
+ */
+public class CalendarPrintTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+    private static final LocalDate FRIDAY = LocalDate.of(2024, 9, 6);
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final String TEACHER = "Print Test Teacher";
+
+    private Calendar calendar;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+        calendar.setSlotLayout(SlotLayout.createDefault(2, 1));
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        calendar.getDay(MONDAY).getDuties(0)[0].addDay1TeacherId(TeacherRegistry.idFor(TEACHER));
+    }
+
+    @Test
+    public void testPrintsOnlySchoolDaysInRange() {
+        String output = print(FRIDAY, MONDAY);
+        assertTrue(output.contains("Friday, September 6, 2024 (Day 2)"));
+        assertTrue(output.contains("Monday, September 9, 2024 (Day 1)"));
+        assertFalse(output.contains("Saturday"));
+        assertFalse(output.contains("Thursday"));
+        assertFalse(output.contains("Tuesday"));
+    }
+
+    @Test
+    public void testPrintsTeachersOfEachDuty() {
+        String output = print(MONDAY, MONDAY);
+        String[] lines = output.split("\n");
+        int teacherLines = 0;
+        int unassignedLines = 0;
+        for (String line : lines) {
+            if (line.contains(TEACHER)) {
+                assertTrue(line, line.contains(calendar.getDay(MONDAY).getDuties(0)[0].getName()));
+                teacherLines++;
+            } else if (line.contains("UNASSIGNED")) {
+                unassignedLines++;
+            }
+        }
+        assertEquals(1, teacherLines);
+        assertEquals("The second duty has no teacher", 1, unassignedLines);
+    }
+
+    @Test
+    public void testEmptyRangePrintsOnlyTheHeading() {
+        String output = print(LocalDate.of(2025, 7, 1), LocalDate.of(2025, 8, 1));
+        assertEquals("Duty Schedule:", output.trim().split("\n")[0].trim());
+        assertEquals(2, output.trim().split("\n").length);
+    }
+
+    private String print(LocalDate startDate, LocalDate endDate) {
+        StringWriter output = new StringWriter();
+        PrintWriter writer = new PrintWriter(output);
+        calendar.printSchoolDays(startDate, endDate, writer);
+        writer.flush();
+        return output.toString().replace("\r", "");
+    }
+}
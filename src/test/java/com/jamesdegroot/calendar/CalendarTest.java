@@ -0,0 +1,71 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Tests the school years a calendar holds: the active year and years added for lookup.
+ */
+public class CalendarTest {
+    private static final LocalDate ACTIVE_START = LocalDate.of(2024, 9, 3);
+    private static final LocalDate ACTIVE_END = LocalDate.of(2025, 6, 28);
+    private static final LocalDate PAST_START = LocalDate.of(2023, 9, 5);
+    private static final LocalDate PAST_END = LocalDate.of(2024, 6, 28);
+
+    private Calendar calendar;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+        calendar.initializeDaysOfYear(ACTIVE_START, ACTIVE_END);
+    }
+
+    @Test
+    public void testAddedYearIsCreatedOnLookup() {
+        calendar.addSchoolYear(PAST_START, PAST_END);
+        assertEquals(0, calendar.countMaterializedDays());
+
+        Day day = calendar.getDay(LocalDate.of(2023, 10, 2));
+        assertNotNull(day);
+        assertTrue("A Monday without events is a school day", day.isSchoolDay());
+        assertEquals(1, calendar.countMaterializedDays());
+
+        List<Day> year = calendar.getSchoolYear(PAST_START);
+        assertEquals(PAST_END.toEpochDay() - PAST_START.toEpochDay() + 1, year.size());
+        calendar.evictSchoolYear(PAST_START);
+        assertEquals(0, calendar.countMaterializedDays());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsYearOverlappingActiveYear() {
+        calendar.addSchoolYear(LocalDate.of(2025, 6, 1), LocalDate.of(2026, 6, 26));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsYearInsideActiveYear() {
+        calendar.addSchoolYear(LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 30));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsYearOverlappingAddedYear() {
+        calendar.addSchoolYear(PAST_START, PAST_END);
+        calendar.addSchoolYear(LocalDate.of(2022, 9, 6), PAST_START);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsReversedYear() {
+        calendar.addSchoolYear(PAST_END, PAST_START);
+    }
+
+    @Test
+    public void testAcceptsAdjacentYear() {
+        calendar.addSchoolYear(PAST_START, ACTIVE_START.minusDays(1));
+        calendar.addSchoolYear(ACTIVE_END.plusDays(1), LocalDate.of(2026, 6, 26));
+        assertNotNull(calendar.getDay(ACTIVE_START.minusDays(1)));
+        assertNotNull(calendar.getDay(ACTIVE_END.plusDays(1)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/*
+ * Tests copying days into a DutyGrid and the duty views it hands out.
+ */
+public class DutyGridTest {
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final SlotLayout LAYOUT = new SlotLayout(new String[] {"8:00", "12:00"},
+        new String[][] {{"Hall"}, {"Cafeteria", "Library"}},
+        new String[][] {{"Main"}, {"Cafe", "Lib"}});
+
+    private int smith;
+    private int jones;
+    private List<Day> days;
+
+    @Before
+    public void setUp() {
+        TeacherRegistry.clear();
+        smith = TeacherRegistry.register(new Teacher("Smith"));
+        jones = TeacherRegistry.register(new Teacher("Jones"));
+        days = List.of(new Day(MONDAY, LAYOUT), new Day(MONDAY.plusDays(1), LAYOUT));
+        for (Day day : days) {
+            for (int slot = 0; slot < LAYOUT.getTimeSlots(); slot++) {
+                for (int position = 0; position < LAYOUT.getPositions(slot); position++) {
+                    day.addDuty(slot, position, LAYOUT.createDuty(slot, position));
+                }
+            }
+        }
+        days.get(0).getDuties(0)[0].addDay1TeacherId(smith);
+        days.get(0).getDuties(1)[1].addDay2TeacherId(jones);
+        days.get(1).getDuties(1)[0].addDay1TeacherId(jones);
+    }
+
+    @Test
+    public void testCopiesDays() {
+        DutyGrid grid = DutyGrid.fromDays(days);
+        assertEquals(2, grid.getDayCount());
+        assertEquals(smith, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+        assertEquals(DutyGrid.NO_TEACHER, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_2));
+        assertEquals(jones, grid.getTeacherId(0, 1, 1, DutyGrid.DAY_2));
+        assertEquals(jones, grid.getTeacherId(1, 1, 0, DutyGrid.DAY_1));
+        assertFalse("The first slot has one position", grid.hasDuty(0, 0, 1));
+        assertEquals(DutyGrid.NO_DUTY, grid.getTeacherId(0, 0, 1, DutyGrid.DAY_1));
+        assertEquals(1, grid.getOrdinal(MONDAY.plusDays(1)));
+        assertEquals(-1, grid.getOrdinal(MONDAY.minusDays(1)));
+
+        assertArrayEquals(new int[] {12, 3}, grid.countCoverage());
+        int[] perTeacher = grid.countDutiesPerTeacher();
+        assertEquals(1, perTeacher[smith]);
+        assertEquals(2, perTeacher[jones]);
+    }
+
+    @Test
+    public void testGridIsASnapshot() {
+        DutyGrid grid = DutyGrid.fromDays(days);
+        grid.getDuty(0, 0, 0).addDay2TeacherId(jones);
+        assertArrayEquals(new int[0], days.get(0).getDuties(0)[0].getDay2TeacherIds());
+
+        days.get(0).getDuties(0)[0].clearDay1Teachers();
+        assertEquals(smith, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsTwoTeachersOnARotation() {
+        days.get(1).getDuties(1)[0].addDay1TeacherId(smith);
+        DutyGrid.fromDays(days);
+    }
+
+    @Test
+    public void testViewsReadAndWriteCells() {
+        DutyGrid grid = DutyGrid.fromDays(days);
+        Duty duty = grid.getDay(0).getDuties(1)[1];
+        assertEquals("Library", duty.getName());
+        assertEquals("Lib", duty.getRoom());
+        assertEquals(List.of("Jones"), duty.getDay2Teachers());
+
+        duty.addDay2TeacherId(smith);
+        assertArrayEquals("A cell keeps one teacher", new int[] {smith}, duty.getDay2TeacherIds());
+        assertEquals(smith, grid.getTeacherId(0, 1, 1, DutyGrid.DAY_2));
+        duty.clearDay2Teachers();
+        assertEquals(DutyGrid.NO_TEACHER, grid.getTeacherId(0, 1, 1, DutyGrid.DAY_2));
+        assertNull(grid.getDuty(0, 0, 1));
+    }
+
+    @Test
+    public void testReopenedGridNamesDutiesFromLayout() {
+        DutyGrid grid = DutyGrid.fromDays(days);
+        int size = DutyGrid.cellCount(2, LAYOUT.getTimeSlots(), LAYOUT.getMaxPositions());
+        ArrayDutyGridStorage storage = new ArrayDutyGridStorage(size);
+        for (int index = 0; index < size; index++) {
+            storage.set(index, grid.getCell(index));
+        }
+        DutyGrid reopened = new DutyGrid(new long[] {MONDAY.toEpochDay(), MONDAY.plusDays(1).toEpochDay()},
+            LAYOUT, storage);
+        List<Day> views = reopened.asDays();
+        assertEquals(2, views.size());
+        assertTrue(views.get(1).isSchoolDay());
+        Duty duty = views.get(1).getDuties(1)[0];
+        assertEquals("Cafeteria", duty.getName());
+        assertEquals(List.of("Jones"), duty.getDay1Teachers());
+    }
+}
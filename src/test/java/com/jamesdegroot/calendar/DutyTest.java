@@ -0,0 +1,43 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/*
+ * Tests taking teachers off duties, both plain ones and views of a DutyGrid.
+ */
+public class DutyTest {
+    private static final LocalDate DATE = LocalDate.of(2024, 9, 9);
+
+    @Test
+    public void testRemoveTeacherIdFromBothRotations() {
+        Duty duty = new Duty("Hall", "", "Main", "8:00");
+        duty.addDay1TeacherId(4);
+        duty.addDay1TeacherId(7);
+        duty.addDay2TeacherId(7);
+        assertTrue(duty.removeTeacherId(7));
+        assertArrayEquals(new int[] {4}, duty.getDay1TeacherIds());
+        assertArrayEquals(new int[0], duty.getDay2TeacherIds());
+        assertFalse(duty.removeTeacherId(7));
+        assertArrayEquals(new int[] {4}, duty.getDay1TeacherIds());
+    }
+
+    @Test
+    public void testRemoveTeacherIdFromGridDuty() {
+        DutyGrid grid = new DutyGrid(new long[] {DATE.toEpochDay()}, 1, 1,
+            new ArrayDutyGridStorage(DutyGrid.cellCount(1, 1, 1)));
+        grid.setTeacherId(0, 0, 0, DutyGrid.DAY_1, 3);
+        grid.setTeacherId(0, 0, 0, DutyGrid.DAY_2, 5);
+
+        Duty duty = grid.getDuty(0, 0, 0);
+        assertFalse(duty.removeTeacherId(9));
+        assertEquals(3, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+        assertTrue(duty.removeTeacherId(3));
+        assertEquals(DutyGrid.NO_TEACHER, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+        assertEquals(5, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_2));
+        assertTrue(duty.removeTeacherId(5));
+        assertEquals(DutyGrid.NO_TEACHER, grid.getTeacherId(0, 0, 0, DutyGrid.DAY_2));
+    }
+}
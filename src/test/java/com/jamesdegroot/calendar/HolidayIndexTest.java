@@ -0,0 +1,85 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+
+/*
+ * Tests the date and text queries of the holiday index.
+ */
+public class HolidayIndexTest {
+    private static final LocalDate SEPTEMBER_1 = LocalDate.of(2024, 9, 1);
+
+    private Holiday labourDay;
+    private Holiday winterBreak;
+    private Holiday reversed;
+    private Holiday lastDay;
+    private Holiday undated;
+    private HolidayIndex index;
+
+    @Before
+    public void setUp() {
+        labourDay = new Holiday("Labour Day", LocalDate.of(2024, 9, 2), LocalDate.of(2024, 9, 2), "");
+        winterBreak = new Holiday("Winter Break", LocalDate.of(2024, 12, 23), LocalDate.of(2025, 1, 3), "");
+        reversed = new Holiday("PA Day", LocalDate.of(2024, 10, 20), LocalDate.of(2024, 10, 10), "");
+        lastDay = new Holiday("Last Day of School", LocalDate.of(2025, 6, 27), LocalDate.of(2025, 6, 27), "");
+        undated = new Holiday("School Day Trip", null, null, "");
+        index = new HolidayIndex(List.of(labourDay, winterBreak, reversed, lastDay, undated));
+    }
+
+    @Test
+    public void testFindCovering() {
+        assertEquals(List.of(labourDay), index.findCovering(LocalDate.of(2024, 9, 2)));
+        assertEquals(List.of(winterBreak), index.findCovering(LocalDate.of(2025, 1, 3)));
+        assertTrue(index.findCovering(LocalDate.of(2025, 1, 4)).isEmpty());
+    }
+
+    @Test
+    public void testFindOverlappingRange() {
+        assertEquals(List.of(labourDay, reversed, winterBreak),
+            index.findOverlapping(SEPTEMBER_1, LocalDate.of(2024, 12, 31)));
+        assertEquals(List.of(winterBreak), index.findOverlapping(LocalDate.of(2024, 12, 1), LocalDate.of(2024, 12, 23)));
+        assertTrue(index.findOverlapping(LocalDate.of(2024, 11, 1), LocalDate.of(2024, 11, 30)).isEmpty());
+    }
+
+    @Test
+    public void testReversedEventCoversOnlyItsTwoDates() {
+        assertEquals(List.of(reversed), index.findCovering(LocalDate.of(2024, 10, 10)));
+        assertEquals(List.of(reversed), index.findCovering(LocalDate.of(2024, 10, 20)));
+        assertTrue("Dates between the two are not covered", index.findCovering(LocalDate.of(2024, 10, 15)).isEmpty());
+        assertEquals("Listed once when both dates are in range",
+            List.of(reversed), index.findOverlapping(LocalDate.of(2024, 10, 1), LocalDate.of(2024, 10, 31)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void testMatchesCalendarEventDays() {
+        Calendar calendar = new Calendar();
+        for (Holiday event : List.of(labourDay, winterBreak, reversed, lastDay, undated)) {
+            calendar.addHoliday(event);
+        }
+        int dayCount = 365;
+        BitSet covered = calendar.resolveEventDays(SEPTEMBER_1.toEpochDay(), dayCount);
+        for (int offset = 0; offset < dayCount; offset++) {
+            LocalDate date = SEPTEMBER_1.plusDays(offset);
+            assertEquals("Coverage of " + date, covered.get(offset), !index.findCovering(date).isEmpty());
+        }
+    }
+
+    @Test
+    public void testKeywordsIgnoreCase() {
+        assertEquals(List.of(winterBreak), index.findByKeyword("BREAK"));
+        assertEquals(List.of(undated), index.findByKeyword("trip"));
+    }
+
+    @Test
+    public void testSummaryMatchesCase() {
+        assertEquals(List.of(lastDay), index.findBySummary("Last Day of School"));
+        assertTrue(index.findBySummary("last day of school").isEmpty());
+        assertTrue(index.findBySummary("").isEmpty());
+    }
+}
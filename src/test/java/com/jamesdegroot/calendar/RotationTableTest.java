@@ -0,0 +1,77 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+
+/*
+ * Tests that rotation days advance only on school days.
+ */
+public class RotationTableTest {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 9, 2);
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+
+    @Test
+    public void testDaysOffDoNotAdvanceTheCycle() {
+        // School on days 0, 1, 3 and 6
+        RotationTable table = new RotationTable(FIRST_DAY.toEpochDay(), 7, bits(0, 1, 3, 6), 2);
+        assertEquals(4, table.size());
+        assertEquals(RotationTable.DAY_1, table.getRotation(FIRST_DAY));
+        assertEquals(RotationTable.DAY_2, table.getRotation(FIRST_DAY.plusDays(1)));
+        assertEquals(RotationTable.NOT_A_SCHOOL_DAY, table.getRotation(FIRST_DAY.plusDays(2)));
+        assertEquals(RotationTable.DAY_1, table.getRotation(FIRST_DAY.plusDays(3)));
+        assertEquals(RotationTable.DAY_2, table.getRotation(FIRST_DAY.plusDays(6)));
+        assertEquals(3, table.getSchoolDayOrdinal(FIRST_DAY.plusDays(6)));
+        assertEquals(RotationTable.DAY_2, table.getRotation(3));
+    }
+
+    @Test
+    public void testDatesOutsideTheTable() {
+        RotationTable table = new RotationTable(FIRST_DAY.toEpochDay(), 7, bits(0, 1, 2, 3, 4), 2);
+        assertEquals(RotationTable.NOT_A_SCHOOL_DAY, table.getRotation(FIRST_DAY.minusDays(1)));
+        assertEquals(RotationTable.NOT_A_SCHOOL_DAY, table.getRotation(FIRST_DAY.plusDays(7)));
+        assertEquals(RotationTable.NOT_A_SCHOOL_DAY, table.getSchoolDayOrdinal(FIRST_DAY.plusYears(1)));
+    }
+
+    @Test
+    public void testLongerCycle() {
+        RotationTable table = new RotationTable(FIRST_DAY.toEpochDay(), 8, bits(0, 1, 2, 3, 4, 7), 4);
+        assertEquals(4, table.getCycleLength());
+        assertEquals(3, table.getRotation(FIRST_DAY.plusDays(3)));
+        assertEquals(0, table.getRotation(FIRST_DAY.plusDays(4)));
+        assertEquals(1, table.getRotation(FIRST_DAY.plusDays(7)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsEmptyCycle() {
+        new RotationTable(FIRST_DAY.toEpochDay(), 7, bits(0), 0);
+    }
+
+    @Test
+    public void testCalendarRebuildsTableWhenSchoolDaysChange() {
+        Calendar calendar = new Calendar();
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        LocalDate wednesday = YEAR_START.plusDays(1);
+        LocalDate thursday = YEAR_START.plusDays(2);
+        assertEquals(RotationTable.DAY_2, calendar.getRotationTable().getRotation(wednesday));
+        assertEquals(RotationTable.DAY_1, calendar.getRotationTable().getRotation(thursday));
+
+        calendar.getDay(wednesday).setSchoolDay(false);
+        assertEquals(RotationTable.NOT_A_SCHOOL_DAY, calendar.getRotationTable().getRotation(wednesday));
+        assertEquals(RotationTable.DAY_2, calendar.getRotationTable().getRotation(thursday));
+
+        calendar.setRotationCycle(3);
+        assertEquals(2, calendar.getRotationTable().getRotation(YEAR_START.plusDays(3)));
+    }
+
+    private static BitSet bits(int... offsets) {
+        BitSet bits = new BitSet();
+        for (int offset : offsets) {
+            bits.set(offset);
+        }
+        return bits;
+    }
+}
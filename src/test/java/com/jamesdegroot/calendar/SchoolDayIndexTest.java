@@ -0,0 +1,106 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tests grouping school days by term, weekday and rotation.
+ */
+public class SchoolDayIndexTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);   // a Tuesday, the first Day 1
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+    private static final int TERMS = 2;
+
+    private Calendar calendar;
+    private SchoolDayIndex index;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        calendar.getDay(LocalDate.of(2024, 9, 16)).setSchoolDay(false);
+        // September is term 0, October term 1, the rest of the year is in no term
+        index = calendar.indexSchoolDays(SchoolDayIndexTest::termOf, TERMS);
+    }
+
+    @Test
+    public void testDaysByTermAndWeekday() {
+        assertEquals(dates(9, 9, 9, 23, 9, 30), dates(index.getDays(0, DayOfWeek.MONDAY)));
+        assertEquals(dates(10, 1, 10, 8, 10, 15, 10, 22, 10, 29), dates(index.getDays(1, DayOfWeek.TUESDAY)));
+        assertTrue(index.getDays(0, DayOfWeek.SATURDAY).isEmpty());
+    }
+
+    @Test
+    public void testBucketsMatchAScanOfTheYear() {
+        for (int term = 0; term < TERMS; term++) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                List<Day> expected = new ArrayList<>();
+                for (Day day : calendar.getSchoolDays()) {
+                    if (termOf(day.getDate()) == term && day.getDate().getDayOfWeek() == dayOfWeek) {
+                        expected.add(day);
+                    }
+                }
+                assertEquals(term + " " + dayOfWeek, expected, index.getDays(term, dayOfWeek));
+            }
+        }
+    }
+
+    @Test
+    public void testDaysByRotation() {
+        RotationTable rotations = calendar.getRotationTable();
+        for (int rotation = RotationTable.DAY_1; rotation <= RotationTable.DAY_2; rotation++) {
+            for (Day day : index.getDays(0, DayOfWeek.WEDNESDAY, rotation)) {
+                assertEquals(rotation, rotations.getRotation(day.getDate()));
+            }
+        }
+        assertEquals(index.getDays(0, DayOfWeek.WEDNESDAY).size(),
+            index.getDays(0, DayOfWeek.WEDNESDAY, RotationTable.DAY_1).size()
+            + index.getDays(0, DayOfWeek.WEDNESDAY, RotationTable.DAY_2).size());
+        // Tuesday September 3 is the first school day, so it is Day 1
+        assertEquals(YEAR_START, index.getDays(0, DayOfWeek.TUESDAY, RotationTable.DAY_1).get(0).getDate());
+    }
+
+    @Test
+    public void testFirstDay() {
+        assertEquals(YEAR_START, index.getFirstDay(0, DayOfWeek.TUESDAY).getDate());
+        assertEquals(LocalDate.of(2024, 10, 7), index.getFirstDay(1, DayOfWeek.MONDAY).getDate());
+        assertNull(index.getFirstDay(0, DayOfWeek.SUNDAY));
+    }
+
+    @Test
+    public void testTermsOutsideTheIndex() {
+        assertTrue(index.getDays(TERMS, DayOfWeek.MONDAY).isEmpty());
+        assertTrue(index.getDays(-1, DayOfWeek.MONDAY, RotationTable.DAY_1).isEmpty());
+        assertNull(index.getFirstDay(TERMS, DayOfWeek.MONDAY));
+    }
+
+    private static int termOf(LocalDate date) {
+        return date.getMonth() == Month.SEPTEMBER ? 0 : date.getMonth() == Month.OCTOBER ? 1 : -1;
+    }
+
+    private static List<LocalDate> dates(List<Day> days) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (Day day : days) {
+            dates.add(day.getDate());
+        }
+        return dates;
+    }
+
+    /**
+     * Makes 2024 dates from month, day pairs.
+     */
+    private static List<LocalDate> dates(int... monthDays) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < monthDays.length; i += 2) {
+            dates.add(LocalDate.of(2024, monthDays[i], monthDays[i + 1]));
+        }
+        return dates;
+    }
+}
@@ -0,0 +1,72 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/*
+ * Tests the shape of slot layouts and of the days built from them.
+ */
+public class SlotLayoutTest {
+
+    @Test
+    public void testUnevenSlots() {
+        SlotLayout layout = new SlotLayout(new String[] {"8:00", "12:00"},
+            new String[][] {{"Hall"}, {"Cafeteria", "Gym", "Library"}},
+            new String[][] {{"Main"}, {"Cafe", "Gym", "Lib"}});
+        assertEquals(2, layout.getTimeSlots());
+        assertEquals(1, layout.getPositions(0));
+        assertEquals(3, layout.getPositions(1));
+        assertEquals(0, layout.getPositions(2));
+        assertEquals(3, layout.getMaxPositions());
+        assertEquals(4, layout.getDutyCount());
+
+        Duty duty = layout.createDuty(1, 2);
+        assertEquals("Library", duty.getName());
+        assertEquals("Lib", duty.getRoom());
+        assertEquals("12:00", duty.getTimeSlot());
+    }
+
+    @Test
+    public void testDaysAreSizedToTheirLayout() {
+        SlotLayout layout = new SlotLayout(new String[] {"8:00", "12:00"},
+            new String[][] {{"Hall"}, {"Cafeteria", "Gym"}},
+            new String[][] {{"Main"}, {"Cafe", "Gym"}});
+        Day day = new Day(LocalDate.of(2024, 9, 9), layout);
+        assertEquals(2, day.getDutySchedule().length);
+        assertEquals(1, day.getDuties(0).length);
+        assertEquals(2, day.getDuties(1).length);
+    }
+
+    @Test
+    public void testDefaultLayout() {
+        SlotLayout layout = SlotLayout.createDefault(3, 2);
+        assertEquals(3, layout.getTimeSlots());
+        assertEquals(6, layout.getDutyCount());
+        assertEquals(Duty.DUTY_NAMES[3], layout.getDutyName(1, 1));
+        assertEquals(Day.TIME_SLOTS, SlotLayout.DEFAULT.getTimeSlots());
+        assertEquals(Day.DUTIES_PER_SLOT, SlotLayout.DEFAULT.getMaxPositions());
+    }
+
+    @Test
+    public void testLayoutIsCopied() {
+        String[] times = {"8:00"};
+        String[][] names = {{"Hall"}};
+        SlotLayout layout = new SlotLayout(times, names, new String[][] {{"Main"}});
+        times[0] = "9:00";
+        names[0][0] = "Gym";
+        assertEquals("8:00", layout.getTime(0));
+        assertEquals("Hall", layout.getDutyName(0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMissingRooms() {
+        new SlotLayout(new String[] {"8:00"}, new String[][] {{"Hall", "Gym"}}, new String[][] {{"Main"}});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsMissingSlots() {
+        new SlotLayout(new String[] {"8:00", "12:00"}, new String[][] {{"Hall"}}, new String[][] {{"Main"}});
+    }
+}
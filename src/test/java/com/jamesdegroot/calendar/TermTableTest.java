@@ -0,0 +1,114 @@
+package com.jamesdegroot.calendar;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/*
+ * Tests looking up the term of a date, and the ways terms are defined.
+ */
+public class TermTableTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+
+    @Test
+    public void testDefaultYearHasFourTerms() {
+        TermTable terms = TermTable.forSchoolYear(YEAR_START, YEAR_END);
+        assertEquals(4, terms.getTermCount());
+        assertEquals(0, terms.getTerm(YEAR_START));
+        assertEquals(0, terms.getTerm(LocalDate.of(2024, 10, 31)));
+        assertEquals(1, terms.getTerm(LocalDate.of(2024, 11, 1)));
+        assertEquals(1, terms.getTerm(LocalDate.of(2025, 1, 31)));
+        assertEquals(2, terms.getTerm(LocalDate.of(2025, 2, 1)));
+        assertEquals(3, terms.getTerm(YEAR_END));
+        assertEquals(TermTable.NO_TERM, terms.getTerm(YEAR_START.minusDays(1)));
+        assertEquals(TermTable.NO_TERM, terms.getTerm(YEAR_END.plusDays(1)));
+    }
+
+    @Test
+    public void testYearStartingInJanuaryIsSplitEvenly() {
+        LocalDate start = LocalDate.of(2025, 1, 6);
+        LocalDate end = LocalDate.of(2025, 6, 27);
+        Calendar calendar = new Calendar();
+        calendar.initializeDaysOfYear(start, end);
+        TermTable terms = calendar.getTermTable();
+        assertEquals(4, terms.getTermCount());
+        assertEquals(start, terms.getStartDate(0));
+        assertEquals(end, terms.getEndDate(3));
+        for (int term = 1; term < 4; term++) {
+            assertEquals(terms.getEndDate(term - 1).plusDays(1), terms.getStartDate(term));
+            long length = terms.getEndDate(term).toEpochDay() - terms.getStartDate(term).toEpochDay();
+            assertTrue(Math.abs(length - 43) <= 1);
+        }
+        assertEquals(0, terms.getTerm(start));
+        assertEquals(3, terms.getTerm(end));
+    }
+
+    @Test
+    public void testShortOrReversedRanges() {
+        LocalDate start = LocalDate.of(2025, 3, 3);
+        TermTable terms = TermTable.forSchoolYear(start, start.plusDays(2));
+        assertEquals(1, terms.getTermCount());
+        assertEquals(0, terms.getTerm(start.plusDays(2)));
+        assertEquals(0, TermTable.forSchoolYear(start, start.minusDays(1)).getTermCount());
+    }
+
+    @Test
+    public void testGapsBetweenTerms() {
+        TermTable terms = new TermTable(new String[] {"Fall", "Spring"},
+            new LocalDate[] {YEAR_START, LocalDate.of(2025, 2, 3)},
+            new LocalDate[] {LocalDate.of(2025, 1, 24), YEAR_END});
+        assertEquals(0, terms.getTerm(LocalDate.of(2025, 1, 24)));
+        assertEquals(TermTable.NO_TERM, terms.getTerm(LocalDate.of(2025, 1, 29)));
+        assertEquals(1, terms.getTerm(LocalDate.of(2025, 2, 3)));
+        assertEquals("Spring", terms.getName(1));
+    }
+
+    @Test
+    public void testFirstWeekOfTerm() {
+        TermTable terms = TermTable.forSchoolYear(YEAR_START, YEAR_END);
+        assertTrue(terms.isFirstWeekOfTerm(YEAR_START));
+        assertTrue(terms.isFirstWeekOfTerm(YEAR_START.plusDays(6)));
+        assertFalse(terms.isFirstWeekOfTerm(YEAR_START.plusDays(7)));
+        assertTrue(terms.isFirstWeekOfTerm(LocalDate.of(2024, 11, 1)));
+        assertFalse(terms.isFirstWeekOfTerm(YEAR_START.minusDays(1)));
+    }
+
+    @Test
+    public void testTermsFromEvents() {
+        Calendar calendar = new Calendar();
+        calendar.addHoliday(new Holiday("First Day of Semester 2", LocalDate.of(2025, 2, 3), LocalDate.of(2025, 2, 3), ""));
+        calendar.addHoliday(new Holiday("PA Day", LocalDate.of(2024, 11, 15), LocalDate.of(2024, 11, 15), ""));
+        calendar.addHoliday(new Holiday("Semester Exams", LocalDate.of(2025, 7, 2), LocalDate.of(2025, 7, 3), ""));
+
+        TermTable terms = TermTable.fromEvents(calendar.getHolidayIndex(), "Semester", YEAR_START, YEAR_END);
+        assertEquals(2, terms.getTermCount());
+        assertEquals("Term 1", terms.getName(0));
+        assertEquals(LocalDate.of(2025, 2, 2), terms.getEndDate(0));
+        assertEquals("First Day of Semester 2", terms.getName(1));
+        assertEquals(YEAR_END, terms.getEndDate(1));
+        assertEquals(1, terms.getTerm(LocalDate.of(2025, 2, 3)));
+    }
+
+    @Test
+    public void testCalendarKeepsCustomTermsWhenReinitialized() {
+        Calendar calendar = new Calendar();
+        TermTable terms = new TermTable(new String[] {"Year"}, new LocalDate[] {YEAR_START}, new LocalDate[] {YEAR_END});
+        calendar.setTermTable(terms);
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        assertSame(terms, calendar.getTermTable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsOverlappingTerms() {
+        new TermTable(new String[] {"Fall", "Spring"},
+            new LocalDate[] {YEAR_START, LocalDate.of(2025, 1, 20)},
+            new LocalDate[] {LocalDate.of(2025, 1, 24), YEAR_END});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectsReversedTerm() {
+        new TermTable(new String[] {"Fall"}, new LocalDate[] {YEAR_END}, new LocalDate[] {YEAR_START});
+    }
+}
@@ -0,0 +1,198 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.SchoolDayIndex;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/*
+ * Tests that incremental reassignment keeps the duties of days edited by hand and
+ * never puts a teacher on two duties at the same time, and that parallel solving
+ * gives the same roster as sequential solving.
+ */
+public class DutyAssignerTest {
+    private static final int TEACHER_COUNT = 20;
+    private static final int PERIODS = 10;
+    private static final String EDITED_TEACHER = "Edited By Hand";
+
+    private Calendar calendar;
+    private List<Teacher> teachers;
+    private DutyAssigner assigner;
+    private Day sampleMonday;
+    private Day editedMonday;
+
+    @Before
+    public void setUp() {
+        calendar = new Calendar();
+        calendar.initializeDaysOfYear();
+        teachers = new ArrayList<>();
+        for (int i = 0; i < TEACHER_COUNT; i++) {
+            Teacher teacher = new Teacher("Assigner Teacher " + i);
+            teacher.addScheduleItem("MPM1D.-01, Rm 101", i % PERIODS);
+            teacher.addScheduleItem("ENG2D.-01, Rm 102", (i + 3) % PERIODS);
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            teachers.add(teacher);
+        }
+        assigner = new DutyAssigner(calendar, teachers);
+        assigner.assignDuties();
+
+        SchoolDayIndex dayIndex = calendar.indexSchoolDays();
+        sampleMonday = dayIndex.getFirstDay(0, DayOfWeek.MONDAY);
+        editedMonday = dayIndex.getDays(0, DayOfWeek.MONDAY).get(1);
+        editedMonday.editDuty(0, 0).setTeacher(EDITED_TEACHER);
+    }
+
+    @Test
+    public void testReassignDayKeepsEditedDays() {
+        sampleMonday.setSchoolDay(false);
+        assigner.reassignDay(sampleMonday);
+
+        assertTrue("Edited day should still have its own duties", editedMonday.isOverridden());
+        assertEquals(EDITED_TEACHER, editedMonday.getDuties(0)[0].getTeacher());
+        assertTrue("Edited day should be reported for review", assigner.getStaleOverrides().contains(editedMonday));
+    }
+
+    @Test
+    public void testReassignTeacherRemovesTeacherWhereBusy() {
+        Teacher teacher = teachers.get(0);
+        Duty editedDuty = editedMonday.editDuty(1, 0);
+        editedDuty.setTeacher(null);
+        editedDuty.addDay1TeacherId(teacher.getId());
+        editedDuty.addDay2TeacherId(teacher.getId());
+
+        teacher.addScheduleItem("SCH3U.-01, Rm 103", 1);
+        assigner.reassignTeacher(teacher);
+
+        assertTrue(editedMonday.isOverridden());
+        assertEquals("Teacher now teaches in slot 1", "UNASSIGNED", editedDuty.getTeacher());
+        assertEquals("Other edits are kept", EDITED_TEACHER, editedMonday.getDuties(0)[0].getTeacher());
+        assertTrue(assigner.getStaleOverrides().contains(editedMonday));
+    }
+
+    @Test
+    public void testReassignTeacherKeepsOnePositionPerSlot() {
+        // One Monday of one slot with two positions, so both teachers keep spare quota
+        LocalDate monday = LocalDate.of(2024, 9, 9);
+        Calendar twoPositions = new Calendar();
+        twoPositions.setSlotLayout(SlotLayout.createDefault(1, 2));
+        twoPositions.setTermTable(new TermTable(new String[] {"Week"}, new LocalDate[] {monday}, new LocalDate[] {monday}));
+        twoPositions.initializeDaysOfYear();
+        List<Teacher> pair = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Teacher teacher = new Teacher("Pair Teacher " + i);
+            for (int period = 1; period < 7; period++) {
+                teacher.addScheduleItem("MPM1D.-0" + period + ", Rm 101", period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            pair.add(teacher);
+        }
+        DutyAssigner pairAssigner = new DutyAssigner(twoPositions, pair);
+        pairAssigner.assignDuties();
+
+        // The first teacher now teaches in slot 0, leaving only the second teacher free there
+        Teacher teacher = pair.get(0);
+        int secondId = pair.get(1).getId();
+        teacher.addScheduleItem("SCH3U.-01, Rm 103", 0);
+        pairAssigner.reassignTeacher(teacher);
+
+        Day[] mondays = pairAssigner.getTermTemplate(0).getDayTemplate(DayOfWeek.MONDAY);
+        for (Day template : mondays) {
+            for (Duty[] slot : template.getDutySchedule()) {
+                assertNoTeacherTwice(slot, true);
+                assertNoTeacherTwice(slot, false);
+                assertEquals("The second teacher covers one position", 1, count(slot, secondId));
+            }
+        }
+    }
+
+    @Test
+    public void testParallelTermsMatchSequential() {
+        int[] sequentialCounts = new int[teachers.size()];
+        int totalDuties = 0;
+        for (int i = 0; i < teachers.size(); i++) {
+            sequentialCounts[i] = teachers.get(i).getDutiesThisSemester();
+            totalDuties += sequentialCounts[i];
+        }
+        assertTrue("The sequential roster should have duties to compare", totalDuties > 0);
+
+        Calendar parallelCalendar = new Calendar();
+        parallelCalendar.initializeDaysOfYear();
+        DutyAssigner parallel = new DutyAssigner(parallelCalendar, teachers);
+        parallel.setParallelTerms(true);
+        parallel.assignDuties();
+
+        for (int i = 0; i < teachers.size(); i++) {
+            assertEquals("Duty count of teacher " + i, sequentialCounts[i], teachers.get(i).getDutiesThisSemester());
+        }
+        int terms = calendar.getTermTable().getTermCount();
+        for (int term = 0; term < terms; term++) {
+            for (int weekday = 1; weekday <= 5; weekday++) {
+                DayOfWeek dayOfWeek = DayOfWeek.of(weekday);
+                Day[] expected = assigner.getTermTemplate(term).getDayTemplate(dayOfWeek);
+                Day[] actual = parallel.getTermTemplate(term).getDayTemplate(dayOfWeek);
+                for (int rotation = 0; rotation < expected.length; rotation++) {
+                    String where = "Term " + term + " " + dayOfWeek + " rotation " + rotation;
+                    assertEquals(where, expected[rotation].getDate(), actual[rotation].getDate());
+                    Duty[][] expectedDuties = expected[rotation].getDutySchedule();
+                    Duty[][] actualDuties = actual[rotation].getDutySchedule();
+                    for (int timeSlot = 0; timeSlot < expectedDuties.length; timeSlot++) {
+                        for (int position = 0; position < expectedDuties[timeSlot].length; position++) {
+                            Duty expectedDuty = expectedDuties[timeSlot][position];
+                            Duty actualDuty = actualDuties[timeSlot][position];
+                            if (expectedDuty == null) {
+                                assertNull(where, actualDuty);
+                                continue;
+                            }
+                            assertArrayEquals(where + " slot " + timeSlot + " Day 1",
+                                expectedDuty.getDay1TeacherIds(), actualDuty.getDay1TeacherIds());
+                            assertArrayEquals(where + " slot " + timeSlot + " Day 2",
+                                expectedDuty.getDay2TeacherIds(), actualDuty.getDay2TeacherIds());
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResetOverrideShowsTemplateAgain() {
+        assigner.resetOverride(editedMonday);
+        assertFalse(editedMonday.isOverridden());
+        assertSame(sampleMonday.getDutySchedule(), editedMonday.getDutySchedule());
+    }
+
+    private static int count(Duty[] slot, int teacherId) {
+        int count = 0;
+        for (Duty duty : slot) {
+            for (int id : duty.getDay1TeacherIds()) {
+                count += id == teacherId ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    private static void assertNoTeacherTwice(Duty[] slot, boolean day1) {
+        Set<Integer> seen = new HashSet<>();
+        for (Duty duty : slot) {
+            for (int teacherId : day1 ? duty.getDay1TeacherIds() : duty.getDay2TeacherIds()) {
+                assertTrue("Teacher " + teacherId + " is on two duties at once", seen.add(teacherId));
+            }
+        }
+    }
+}
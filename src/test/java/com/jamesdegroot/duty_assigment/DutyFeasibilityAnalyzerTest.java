@@ -0,0 +1,93 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tests the demand and capacity counts checked before solving.
+ */
+public class DutyFeasibilityAnalyzerTest {
+    private static final int TIME_SLOTS = 2;
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final LocalDate SATURDAY = LocalDate.of(2024, 9, 14);
+    private static final TermTable TERMS = TermTable.forSchoolYear(LocalDate.of(2024, 9, 3), LocalDate.of(2025, 6, 27));
+
+    @Test
+    public void testEnoughTeachersIsFeasible() {
+        DutyFeasibilityAnalyzer.Report report = analyze(createTeachers(3, -1), 1);
+        assertTrue(report.toString(), report.isFeasible());
+        assertTrue(report.getIssues().isEmpty());
+    }
+
+    @Test
+    public void testSlotWithoutFreeTeacher() {
+        // Everyone teaches during the second slot
+        DutyFeasibilityAnalyzer.Report report = analyze(createTeachers(3, 1), 1);
+        assertFalse(report.isFeasible());
+        assertEquals(List.of("Term 1, slot 2: 4 cells but no teacher is free"), report.getIssues());
+    }
+
+    @Test
+    public void testDemandAboveQuotas() {
+        List<Teacher> teachers = createTeachers(1, -1);
+        int quota = teachers.get(0).getMaxDutiesPerSemester();
+        int days = quota / (TIME_SLOTS * 4) + 1;  // each sample day needs four cells per slot
+        DutyFeasibilityAnalyzer.Report report = analyze(teachers, days);
+        assertFalse(report.isFeasible());
+        assertTrue(report.toString(), report.getIssues().get(report.getIssues().size() - 1).startsWith("Term 1: "));
+    }
+
+    @Test
+    public void testDaysOutsideTermsAreIgnored() {
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(createTeachers(3, 1), TIME_SLOTS);
+        List<Day> sampleDays = List.of(createSampleDay(SATURDAY));
+        assertTrue(new DutyFeasibilityAnalyzer(index, TERMS).analyze(List.of(sampleDays)).isFeasible());
+    }
+
+    private static DutyFeasibilityAnalyzer.Report analyze(List<Teacher> teachers, int sampleDayCount) {
+        List<Day> sampleDays = new ArrayList<>();
+        for (int day = 0; day < sampleDayCount; day++) {
+            sampleDays.add(createSampleDay(MONDAY.plusWeeks(day)));
+        }
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(teachers, TIME_SLOTS);
+        return new DutyFeasibilityAnalyzer(index, TERMS).analyze(List.of(sampleDays));
+    }
+
+    /**
+     * Creates full-time teachers who teach after the duty slots, and also in busySlot if it is not -1.
+     */
+    private static List<Teacher> createTeachers(int count, int busySlot) {
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher("Feasibility Teacher " + i);
+            for (int period = TIME_SLOTS; period < TIME_SLOTS + 6; period++) {
+                teacher.addScheduleItem("MPM1D.-0" + period + ", Rm 101", period);
+            }
+            if (busySlot >= 0) {
+                teacher.addScheduleItem("ENG2D.-01, Rm 102", busySlot);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    private static Day createSampleDay(LocalDate date) {
+        SlotLayout layout = SlotLayout.createDefault(TIME_SLOTS, 1);
+        Day day = new Day(date, layout);
+        for (int timeSlot = 0; timeSlot < TIME_SLOTS; timeSlot++) {
+            day.addDuty(timeSlot, 0, layout.createDuty(timeSlot, 0));
+        }
+        return day;
+    }
+}
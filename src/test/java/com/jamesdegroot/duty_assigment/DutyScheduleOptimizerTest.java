@@ -0,0 +1,214 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Tests that annealing keeps rosters valid while making them fairer.
+ * Searches are limited by steps rather than time, so each seeded run is repeatable.
+ */
+public class DutyScheduleOptimizerTest {
+    private static final int TIME_SLOTS = 3;
+    private static final int POSITIONS = 4;
+    private static final int TEACHERS = 8;
+    private static final int PART_TIME = 3;
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final Duration BUDGET = Duration.ofMinutes(1);  // far more than the step limit needs
+    private static final long ITERATIONS = 200_000;
+    private static final long SEED = 1L;
+    private static final TermTable TERMS = TermTable.forSchoolYear(LocalDate.of(2024, 9, 3), LocalDate.of(2025, 6, 27));
+
+    @Before
+    public void setUp() {
+        TeacherRegistry.clear();
+    }
+
+    @Test
+    public void testOptimizedRosterHasNoClashes() {
+        List<Teacher> teachers = createTeachers(TEACHERS, 6);
+        TermDutyCells cells = new TermDutyCells(createTemplates(POSITIONS));
+        TermDutyState state = createState(teachers);
+        // Start from a valid but unfair roster that only uses the first teachers
+        int[] nextInGroup = new int[cells.getSlotGroupCount()];
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int teacherIndex = nextInGroup[cells.getSlotGroup(cell)]++;
+            cells.assign(cell, teacherIndex, teachers.get(teacherIndex).getId());
+            state.recordDuty(teacherIndex);
+        }
+        int filled = countFilled(cells);
+
+        new DutyScheduleOptimizer(BUDGET, 2, SEED, ITERATIONS).improve(List.of(cells), List.of(state));
+
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int teacherIndex = cells.getAssignedTeacher(cell);
+            if (teacherIndex >= 0) {
+                assertFalse("Teacher " + teacherIndex + " is on two duties at once in cell " + cell,
+                    cells.isInSlotGroup(cell, teacherIndex));
+            }
+        }
+        assertTrue("Filled cells stay filled", countFilled(cells) >= filled);
+    }
+
+    @Test
+    public void testSeededRunSpreadsDuties() {
+        List<Teacher> teachers = createTeachers(TEACHERS, 6);
+        TermDutyCells cells = new TermDutyCells(createTemplates(2));
+        TermDutyState state = createState(teachers);
+        fillFirstTeachers(cells, state);
+        int[] before = countDuties(cells, TEACHERS);
+        long costBefore = DutyScheduleOptimizer.evaluate(cells, state);
+        assertEquals("The first teachers start at their quota", 11, max(before));
+        assertEquals("The last teachers start without duties", 0, before[TEACHERS - 1]);
+
+        new DutyScheduleOptimizer(BUDGET, 1, SEED, ITERATIONS).improve(List.of(cells), List.of(state));
+
+        int[] after = countDuties(cells, TEACHERS);
+        assertEquals("Every teacher ends with 48 / 8 duties", 6, max(after));
+        assertEquals(6, min(after));
+        assertTrue(DutyScheduleOptimizer.evaluate(cells, state) < costBefore);
+        for (int i = 0; i < TEACHERS; i++) {
+            assertEquals("Term counts follow the roster", after[i], state.getLoad(i));
+        }
+        assertEquals(countFilled(cells), sum(after));
+    }
+
+    @Test
+    public void testSameSeedGivesSameRoster() {
+        int[][] rosters = new int[2][];
+        for (int run = 0; run < rosters.length; run++) {
+            TeacherRegistry.clear();
+            List<Teacher> teachers = createTeachers(TEACHERS, 6);
+            TermDutyCells cells = new TermDutyCells(createTemplates(2));
+            TermDutyState state = createState(teachers);
+            fillFirstTeachers(cells, state);
+            new DutyScheduleOptimizer(BUDGET, 1, SEED, ITERATIONS).improve(List.of(cells), List.of(state));
+            rosters[run] = new int[cells.size()];
+            for (int cell = 0; cell < cells.size(); cell++) {
+                rosters[run][cell] = cells.getAssignedTeacher(cell);
+            }
+        }
+        assertArrayEquals(rosters[0], rosters[1]);
+    }
+
+    @Test
+    public void testQuotasAreNeverExceeded() {
+        // Part-time teachers start at their quota of 6, below an even share of the 72 cells,
+        // so spreading duties out or filling open cells would push them over it
+        List<Teacher> teachers = new ArrayList<>(createTeachers(PART_TIME, 3));
+        teachers.addAll(createTeachers(TEACHERS - PART_TIME, 6));
+        TermDutyCells cells = new TermDutyCells(createTemplates(3));
+        TermDutyState state = createState(teachers);
+        fillFirstTeachers(cells, state);
+        int filled = countFilled(cells);
+
+        new DutyScheduleOptimizer(BUDGET, 2, SEED, ITERATIONS).improve(List.of(cells), List.of(state));
+
+        int[] after = countDuties(cells, teachers.size());
+        for (int i = 0; i < teachers.size(); i++) {
+            assertTrue("Teacher " + i + " has " + after[i] + " duties, quota " + state.getMaxDuties(i),
+                after[i] <= state.getMaxDuties(i));
+        }
+        assertTrue("Filled cells stay filled", countFilled(cells) >= filled);
+        for (int i = 0; i < PART_TIME; i++) {
+            assertEquals(state.getMaxDuties(i), after[i]);
+        }
+    }
+
+    /**
+     * Creates registered teachers teaching in the periods after the duty slots.
+     */
+    private static List<Teacher> createTeachers(int count, int classes) {
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Teacher teacher = new Teacher("Optimizer Teacher " + classes + "-" + i);
+            for (int period = TIME_SLOTS; period < TIME_SLOTS + classes; period++) {
+                teacher.addScheduleItem("MPM1D.-0" + period + ", Rm 101", period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            TeacherRegistry.register(teacher);
+            teachers.add(teacher);
+        }
+        return teachers;
+    }
+
+    private static TermDutyState createState(List<Teacher> teachers) {
+        return new TermDutyState(new TeacherAvailabilityIndex(teachers, TIME_SLOTS), TERMS.getTerm(MONDAY), TERMS);
+    }
+
+    /**
+     * Fills every cell with the first teacher who is free, below quota and not on duty
+     * elsewhere in the slot group, so duties pile up on the first teachers.
+     */
+    private static void fillFirstTeachers(TermDutyCells cells, TermDutyState state) {
+        for (int cell = 0; cell < cells.size(); cell++) {
+            for (int i = 0; i < state.getTeacherCount(); i++) {
+                if (state.getLoad(i) < state.getMaxDuties(i) && !cells.isInSlotGroup(cell, i)) {
+                    cells.assign(cell, i, state.getTeacher(i).getId());
+                    state.recordDuty(i);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int[] countDuties(TermDutyCells cells, int teachers) {
+        int[] duties = new int[teachers];
+        for (int cell = 0; cell < cells.size(); cell++) {
+            if (cells.getAssignedTeacher(cell) >= 0) {
+                duties[cells.getAssignedTeacher(cell)]++;
+            }
+        }
+        return duties;
+    }
+
+    private static int max(int[] values) {
+        return Arrays.stream(values).max().getAsInt();
+    }
+
+    private static int min(int[] values) {
+        return Arrays.stream(values).min().getAsInt();
+    }
+
+    private static int sum(int[] values) {
+        return Arrays.stream(values).sum();
+    }
+
+    private static int countFilled(TermDutyCells cells) {
+        int filled = 0;
+        for (int cell = 0; cell < cells.size(); cell++) {
+            if (cells.getAssignedTeacher(cell) >= 0) {
+                filled++;
+            }
+        }
+        return filled;
+    }
+
+    private static List<Day> createTemplates(int positions) {
+        SlotLayout layout = SlotLayout.createDefault(TIME_SLOTS, positions);
+        List<Day> templates = new ArrayList<>();
+        for (int template = 0; template < 4; template++) {
+            Day day = new Day(MONDAY.plusDays(template), layout);
+            for (int timeSlot = 0; timeSlot < TIME_SLOTS; timeSlot++) {
+                for (int position = 0; position < positions; position++) {
+                    day.addDuty(timeSlot, position, layout.createDuty(timeSlot, position));
+                }
+            }
+            templates.add(day);
+        }
+        return templates;
+    }
+}
@@ -0,0 +1,93 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tests the greedy solver on layouts with several duties per time slot.
+ */
+public class GreedyDutySolverTest {
+    private static final int TIME_SLOTS = 2;
+    private static final int POSITIONS = 2;
+    private static final int FULL_TIME_CLASSES = 6;  // all free periods are duty slots
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final TermTable TERMS = TermTable.forSchoolYear(LocalDate.of(2024, 9, 3), LocalDate.of(2025, 6, 27));
+
+    @Test
+    public void testSingleTeacherTakesOnePositionPerSlot() {
+        TermDutyCells cells = solve(1);
+        int[] assignedPerGroup = new int[cells.getSlotGroupCount()];
+        for (int cell = 0; cell < cells.size(); cell++) {
+            if (cells.getAssignedTeacher(cell) >= 0) {
+                assignedPerGroup[cells.getSlotGroup(cell)]++;
+            }
+        }
+        for (int group = 0; group < assignedPerGroup.length; group++) {
+            assertTrue("One teacher can cover at most one duty of slot group " + group, assignedPerGroup[group] <= 1);
+        }
+    }
+
+    @Test
+    public void testNoTeacherHoldsTwoDutiesAtOnce() {
+        TermDutyCells cells = solve(3);
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int teacherIndex = cells.getAssignedTeacher(cell);
+            assertTrue("Cell " + cell + " should be covered", teacherIndex >= 0);
+            assertFalse("Teacher " + teacherIndex + " is on two duties at once in cell " + cell,
+                cells.isInSlotGroup(cell, teacherIndex));
+        }
+    }
+
+    @Test
+    public void testSkippedTeachersStayAvailable() {
+        TermDutyCells cells = solve(2);
+        // The first teacher was passed over for the second position, not dropped from the heap
+        assertEquals(0, cells.getAssignedTeacher(0));
+        assertEquals(1, cells.getAssignedTeacher(2));
+        assertTrue(cells.getAssignedTeacher(2 * POSITIONS) >= 0);
+    }
+
+    private static TermDutyCells solve(int teacherCount) {
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < teacherCount; i++) {
+            Teacher teacher = new Teacher("Greedy Teacher " + i);
+            for (int period = TIME_SLOTS; period < TIME_SLOTS + FULL_TIME_CLASSES; period++) {
+                teacher.addScheduleItem("MPM1D.-0" + period + ", Rm 101", period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            TeacherRegistry.register(teacher);
+            teachers.add(teacher);
+        }
+        TermDutyCells cells = new TermDutyCells(createTemplates());
+        TermDutyState state = new TermDutyState(new TeacherAvailabilityIndex(teachers, TIME_SLOTS),
+            TERMS.getTerm(MONDAY), TERMS);
+        new GreedyDutySolver().solveTerm(cells, state);
+        return cells;
+    }
+
+    private static List<Day> createTemplates() {
+        SlotLayout layout = SlotLayout.createDefault(TIME_SLOTS, POSITIONS);
+        List<Day> templates = new ArrayList<>();
+        for (int template = 0; template < 2; template++) {
+            Day day = new Day(MONDAY.plusDays(template), layout);
+            for (int timeSlot = 0; timeSlot < TIME_SLOTS; timeSlot++) {
+                for (int position = 0; position < POSITIONS; position++) {
+                    day.addDuty(timeSlot, position, layout.createDuty(timeSlot, position));
+                }
+            }
+            templates.add(day);
+        }
+        return templates;
+    }
+}
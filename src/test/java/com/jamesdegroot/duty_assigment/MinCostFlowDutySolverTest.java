@@ -0,0 +1,93 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Day;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.calendar.TermTable;
+import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tests the flow solver on layouts with several duties per time slot.
+ */
+public class MinCostFlowDutySolverTest {
+    private static final int TIME_SLOTS = 3;
+    private static final int POSITIONS = 3;
+    private static final int FULL_TIME_CLASSES = 6;  // all free periods are duty slots
+    private static final LocalDate MONDAY = LocalDate.of(2024, 9, 9);
+    private static final TermTable TERMS = TermTable.forSchoolYear(LocalDate.of(2024, 9, 3), LocalDate.of(2025, 6, 27));
+
+    @Test
+    public void testNoTeacherHoldsTwoDutiesAtOnce() {
+        TermDutyCells cells = solve(2);
+        int[] assignedPerGroup = new int[cells.getSlotGroupCount()];
+        for (int cell = 0; cell < cells.size(); cell++) {
+            int teacherIndex = cells.getAssignedTeacher(cell);
+            if (teacherIndex >= 0) {
+                assertFalse("Teacher " + teacherIndex + " is on two duties at once in cell " + cell,
+                    cells.isInSlotGroup(cell, teacherIndex));
+                assignedPerGroup[cells.getSlotGroup(cell)]++;
+            }
+        }
+        for (int group = 0; group < assignedPerGroup.length; group++) {
+            assertTrue("Two teachers can cover at most two duties of a slot", assignedPerGroup[group] <= 2);
+        }
+    }
+
+    @Test
+    public void testCoversEverySlotWhenTeachersSuffice() {
+        TermDutyCells cells = solve(POSITIONS * 4);
+        for (int cell = 0; cell < cells.size(); cell++) {
+            assertTrue("Cell " + cell + " should be covered", cells.getAssignedTeacher(cell) >= 0);
+        }
+    }
+
+    @Test
+    public void testSlotGroupsSeparateTemplatesAndRotations() {
+        TermDutyCells cells = new TermDutyCells(createTemplates());
+        assertEquals(2 * TIME_SLOTS * 2, cells.getSlotGroupCount());
+        assertEquals(cells.getSlotGroup(0), cells.getSlotGroup(2));
+        assertNotEquals("Day 1 and Day 2 cells are separate", cells.getSlotGroup(0), cells.getSlotGroup(1));
+        assertNotEquals("Time slots are separate", cells.getSlotGroup(0), cells.getSlotGroup(2 * POSITIONS));
+    }
+
+    private static TermDutyCells solve(int teacherCount) {
+        List<Teacher> teachers = new ArrayList<>();
+        for (int i = 0; i < teacherCount; i++) {
+            Teacher teacher = new Teacher("Flow Teacher " + i);
+            for (int period = TIME_SLOTS; period < TIME_SLOTS + FULL_TIME_CLASSES; period++) {
+                teacher.addScheduleItem("MPM1D.-0" + period + ", Rm 101", period);
+            }
+            teacher.calculateTimeAllocation();
+            teacher.calculateMaxDutiesPerSemester();
+            TeacherRegistry.register(teacher);
+            teachers.add(teacher);
+        }
+        TermDutyCells cells = new TermDutyCells(createTemplates());
+        TermDutyState state = new TermDutyState(new TeacherAvailabilityIndex(teachers, TIME_SLOTS),
+            TERMS.getTerm(MONDAY), TERMS);
+        new MinCostFlowDutySolver().solveTerm(cells, state);
+        return cells;
+    }
+
+    private static List<Day> createTemplates() {
+        SlotLayout layout = SlotLayout.createDefault(TIME_SLOTS, POSITIONS);
+        List<Day> templates = new ArrayList<>();
+        for (int template = 0; template < 2; template++) {
+            Day day = new Day(MONDAY.plusDays(template), layout);
+            for (int timeSlot = 0; timeSlot < TIME_SLOTS; timeSlot++) {
+                for (int position = 0; position < POSITIONS; position++) {
+                    day.addDuty(timeSlot, position, layout.createDuty(timeSlot, position));
+                }
+            }
+            templates.add(day);
+        }
+        return templates;
+    }
+}
@@ -0,0 +1,59 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.jamesdegroot.teacher.Teacher;
+
+import java.util.List;
+
+/*
+ * Tests the precomputed free-teacher sets of each duty time slot.
+ */
+public class TeacherAvailabilityIndexTest {
+    private static final int TIME_SLOTS = 4;
+
+    @Test
+    public void testFreeTeachersPerSlot() {
+        Teacher first = createTeacher("First", 0, 1);
+        Teacher second = createTeacher("Second", 2);
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(List.of(first, second), TIME_SLOTS);
+
+        assertFalse("First teaches in slot 0", index.getFreeTeachers(0).get(0));
+        assertTrue("Second is free in slot 0", index.getFreeTeachers(0).get(1));
+        assertTrue("First is free in slot 2", index.getFreeTeachers(2).get(0));
+        assertFalse("Second teaches in slot 2", index.getFreeTeachers(2).get(1));
+        assertEquals(2, index.getFreeTeachers(3).cardinality());
+    }
+
+    @Test
+    public void testTeacherWithoutClassesIsNeverFree() {
+        Teacher idle = new Teacher("Idle");
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(List.of(idle), TIME_SLOTS);
+        for (int timeSlot = 0; timeSlot < TIME_SLOTS; timeSlot++) {
+            assertTrue("Slot " + timeSlot + " should have no free teachers", index.getFreeTeachers(timeSlot).isEmpty());
+        }
+    }
+
+    @Test
+    public void testRefreshTeacherAfterEdit() {
+        Teacher teacher = createTeacher("Edited", 0);
+        TeacherAvailabilityIndex index = new TeacherAvailabilityIndex(List.of(teacher), TIME_SLOTS);
+        assertTrue(index.getFreeTeachers(1).get(0));
+
+        teacher.addScheduleItem("ENG2D.-01, Rm 101", 1);
+        assertTrue("The index is not updated until refreshed", index.getFreeTeachers(1).get(0));
+        index.refreshTeacher(0);
+        assertFalse("Refreshed teacher now teaches in slot 1", index.getFreeTeachers(1).get(0));
+    }
+
+    private static Teacher createTeacher(String name, int... periods) {
+        Teacher teacher = new Teacher(name);
+        for (int period : periods) {
+            teacher.addScheduleItem("MPM1D.-01, Rm 101", period);
+        }
+        teacher.calculateTimeAllocation();
+        teacher.calculateMaxDutiesPerSemester();
+        return teacher;
+    }
+}
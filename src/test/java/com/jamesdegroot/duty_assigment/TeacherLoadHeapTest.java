@@ -0,0 +1,70 @@
+package com.jamesdegroot.duty_assigment;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+/*
+ * Tests the ordering of the per-slot teacher load heap.
+ */
+public class TeacherLoadHeapTest {
+
+    @Test
+    public void testPeekReturnsLeastLoaded() {
+        int[] loads = {3, 1, 2};
+        TeacherLoadHeap heap = createHeap(loads);
+        assertEquals("Teacher 1 has the fewest duties", 1, heap.peek());
+    }
+
+    @Test
+    public void testTiesGoToLowerIndex() {
+        // Same order as a stable sort of the teacher list by duty count
+        int[] loads = {2, 1, 1, 1};
+        TeacherLoadHeap heap = new TeacherLoadHeap(loads);
+        heap.add(3);
+        heap.add(2);
+        heap.add(1);
+        heap.add(0);
+        assertEquals("Ties should go to the lowest teacher index", 1, heap.peek());
+    }
+
+    @Test
+    public void testUpdateAfterLoadChange() {
+        int[] loads = {0, 0, 0};
+        TeacherLoadHeap heap = createHeap(loads);
+        loads[0]++;
+        heap.update(0);
+        assertEquals(1, heap.peek());
+        loads[1]++;
+        heap.update(1);
+        assertEquals(2, heap.peek());
+        loads[2]++;
+        heap.update(2);
+        assertEquals("All tied again, lowest index first", 0, heap.peek());
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        int[] loads = {0, 1, 2};
+        TeacherLoadHeap heap = createHeap(loads);
+        heap.remove(0);
+        assertFalse(heap.contains(0));
+        assertEquals(1, heap.peek());
+        assertEquals(2, heap.size());
+
+        heap.add(1);  // already present, ignored
+        assertEquals(2, heap.size());
+
+        heap.clear();
+        assertEquals(0, heap.size());
+        assertEquals("An empty heap has no teacher", -1, heap.peek());
+        assertFalse(heap.contains(1));
+    }
+
+    private static TeacherLoadHeap createHeap(int[] loads) {
+        TeacherLoadHeap heap = new TeacherLoadHeap(loads);
+        for (int i = 0; i < loads.length; i++) {
+            heap.add(i);
+        }
+        return heap;
+    }
+}
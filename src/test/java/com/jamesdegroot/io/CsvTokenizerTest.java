@@ -0,0 +1,98 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Tests the RFC 4180 rules of the CSV tokenizer.
+ */
+public class CsvTokenizerTest {
+
+    @Test
+    public void testDoubledQuoteIsOneQuote() throws IOException {
+        List<List<String>> records = readAll("\"say \"\"hi\"\"\",\"\"\"\",\"\"\n");
+        assertEquals(List.of(List.of("say \"hi\"", "\"", "")), records);
+    }
+
+    @Test
+    public void testLineBreaks() throws IOException {
+        List<List<String>> expected = List.of(List.of("a", "b"), List.of("c", "d"), List.of("e"));
+        assertEquals("LF", expected, readAll("a,b\nc,d\ne"));
+        assertEquals("CRLF", expected, readAll("a,b\r\nc,d\r\ne\r\n"));
+        assertEquals("CR", expected, readAll("a,b\rc,d\re\r"));
+        assertEquals("Mixed", expected, readAll("a,b\r\nc,d\ne\r"));
+    }
+
+    @Test
+    public void testEmbeddedLineBreaks() throws IOException {
+        List<List<String>> records = readAll("\"Rm 101\nAnnex\",\"one\r\ntwo\",x\nnext\n");
+        assertEquals(List.of(List.of("Rm 101\nAnnex", "one\r\ntwo", "x"), List.of("next")), records);
+    }
+
+    @Test
+    public void testEmbeddedCommas() throws IOException {
+        assertEquals(List.of(List.of("Smith, John", "MPM1D", "")), readAll("\"Smith, John\",MPM1D,\n"));
+    }
+
+    @Test
+    public void testUnterminatedQuoteKeepsText() throws IOException {
+        List<List<String>> records = readAll("a,\"open field\nstill open");
+        assertEquals(List.of(List.of("a", "open field\nstill open")), records);
+    }
+
+    @Test
+    public void testTextAfterClosingQuote() throws IOException {
+        List<List<String>> records = readAll("\"quoted\" tail,\"a\"\"b\"c\n");
+        assertEquals(List.of(List.of("quoted tail", "a\"bc")), records);
+    }
+
+    @Test
+    public void testQuoteInsideUnquotedFieldIsLiteral() throws IOException {
+        assertEquals(List.of(List.of("6\" ruler", "x")), readAll("6\" ruler,x\n"));
+    }
+
+    @Test
+    public void testEmptyFinalLine() throws IOException {
+        assertEquals("A final line break does not start a record",
+            List.of(List.of("a"), List.of("b")), readAll("a\nb\n"));
+        assertEquals("A blank line is a record with one empty field",
+            List.of(List.of("a"), List.of(""), List.of("b")), readAll("a\n\nb"));
+        assertTrue(readAll("").isEmpty());
+    }
+
+    @Test
+    public void testFieldsAreNotTrimmed() throws IOException {
+        assertEquals(List.of(List.of(" a ", "  ")), readAll(" a ,  \n"));
+    }
+
+    @Test
+    public void testRecordNumbers() throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader("h\n\"multi\nline\"\nlast\n"))) {
+            List<String> fields = new ArrayList<>();
+            assertTrue(csv.readRecord(fields));
+            assertTrue(csv.readRecord(fields));
+            assertEquals(2, csv.getRecordNumber());
+            assertTrue(csv.readRecord(fields));
+            assertEquals(List.of("last"), fields);
+            assertFalse(csv.readRecord(fields));
+            assertTrue("Fields are cleared at the end", fields.isEmpty());
+            assertEquals(3, csv.getRecordNumber());
+        }
+    }
+
+    private static List<List<String>> readAll(String text) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader(text))) {
+            List<String> fields = new ArrayList<>();
+            while (csv.readRecord(fields)) {
+                records.add(new ArrayList<>(fields));
+            }
+        }
+        return records;
+    }
+}
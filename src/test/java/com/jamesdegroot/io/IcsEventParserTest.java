@@ -0,0 +1,218 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Holiday;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * Tests reading VEVENTs out of ICS bytes, however they are split into lines, buffers and chunks.
+ */
+public class IcsEventParserTest {
+    private static final LocalDate SEPTEMBER_9 = LocalDate.of(2024, 9, 9);
+    private static final LocalDate SEPTEMBER_10 = LocalDate.of(2024, 9, 10);
+
+    @Test
+    public void testFoldedLines() {
+        Holiday event = parseOne("BEGIN:VEVENT\r\n"
+            + "SUMMARY:Professional\r\n  Activity\r\n\t Day\r\n"
+            + "DTSTART;VALUE=DATE:20240909\r\n"
+            + "DTEND;VALUE=DATE:20240910\r\n"
+            + "END:VEVENT\r\n");
+        assertEquals("Professional Activity Day", event.getSummary());
+    }
+
+    @Test
+    public void testFoldInsideMultiByteCharacter() {
+        byte[] e = "é".getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = concat(ascii("BEGIN:VEVENT\r\nSUMMARY:Caf"), new byte[] {e[0]}, ascii("\r\n "), new byte[] {e[1]},
+            ascii(" Day\r\nDTSTART:20240909\r\nDTEND:20240910\r\nEND:VEVENT\r\n"));
+        assertEquals("Café Day", parseOne(bytes).getSummary());
+    }
+
+    @Test
+    public void testDateTimesAndParameters() {
+        Holiday event = parseOne("BEGIN:VEVENT\n"
+            + "SUMMARY:Assembly\n"
+            + "DTSTART;TZID=America/Toronto:20240909T083000\n"
+            + "DTEND;X-NOTE=\"ends: after lunch\";VALUE=DATE-TIME:20240910T130000Z\n"
+            + "DESCRIPTION;ALTREP=\"cid:part1@example.org\":Gym\n"
+            + "END:VEVENT\n");
+        assertEquals(SEPTEMBER_9, event.getStartDate());
+        assertEquals(SEPTEMBER_10, event.getEndDate());
+        assertEquals("Gym", event.getDescription());
+    }
+
+    @Test
+    public void testEscapedText() {
+        Holiday event = parseOne("BEGIN:VEVENT\r\n"
+            + "SUMMARY:Halls\\, North\\; South\r\n"
+            + "DESCRIPTION:C:\\\\duties\\nline two\\Nline three\r\n"
+            + "DTSTART:20240909\r\nDTEND:20240910\r\n"
+            + "END:VEVENT\r\n");
+        assertEquals("Halls, North; South", event.getSummary());
+        assertEquals("C:\\duties\nline two\nline three", event.getDescription());
+    }
+
+    @Test
+    public void testNestedAlarmIsSkipped() {
+        Holiday event = parseOne("BEGIN:VEVENT\r\n"
+            + "SUMMARY:PA Day\r\n"
+            + "DTSTART:20240909\r\n"
+            + "BEGIN:VALARM\r\nSUMMARY:Reminder\r\nDESCRIPTION:Alarm text\r\nDTSTART:20240101\r\nEND:VALARM\r\n"
+            + "DTEND:20240910\r\n"
+            + "END:VEVENT\r\n");
+        assertEquals("PA Day", event.getSummary());
+        assertEquals(SEPTEMBER_9, event.getStartDate());
+        assertEquals("", event.getDescription());
+    }
+
+    @Test
+    public void testLowercaseNames() {
+        Holiday event = parseOne("begin:vevent\r\n"
+            + "summary:Thanksgiving\r\n"
+            + "dtstart;value=date:20240909\r\n"
+            + "Dtend;Value=Date:20240910\r\n"
+            + "end:vevent\r\n");
+        assertEquals("Thanksgiving", event.getSummary());
+        assertEquals(SEPTEMBER_10, event.getEndDate());
+    }
+
+    @Test
+    public void testEventsWithoutDatesAreDropped() {
+        List<Holiday> events = parse(ascii("BEGIN:VEVENT\r\nSUMMARY:No dates\r\nEND:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\nSUMMARY:Bad\r\nDTSTART:20240230\r\nDTEND:20240910\r\nEND:VEVENT\r\n"), 1);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    public void testLinesSplitAcrossFeeds() {
+        byte[] bytes = ascii("BEGIN:VEVENT\r\nSUMMARY:Split\r\n  Event\r\nDTSTART:20240909\r\nDTEND:20240910\r\nEND:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\nSUMMARY:Second\r\nDTSTART:20240910\r\nDTEND:20240911\r\nEND:VEVENT");
+        for (int chunk = 1; chunk <= bytes.length; chunk++) {
+            List<Holiday> events = parse(bytes, chunk);
+            assertEquals("chunk size " + chunk, 2, events.size());
+            assertEquals("chunk size " + chunk, "Split Event", events.get(0).getSummary());
+            assertEquals("chunk size " + chunk, SEPTEMBER_10, events.get(1).getStartDate());
+        }
+    }
+
+    @Test
+    public void testMappedChunksMatchStreaming() throws IOException {
+        Path file = Files.createTempFile("feed", ".ics");
+        try {
+            writeFeed(file, 300);
+            List<Holiday> expected = new ArrayList<>();
+            IcsEventParser.parse(file, expected::add);
+            expected.sort(Comparator.comparing(Holiday::getStartDate));
+            for (int chunks : new int[] {1, 2, 7, 1000}) {
+                assertSameEvents("chunks " + chunks, expected, IcsEventParser.parseMapped(file, chunks));
+            }
+            assertSameEvents("default chunks", expected, IcsEventParser.parseMapped(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testCalendarGetsEventsInDateOrder() throws IOException {
+        Path file = Files.createTempFile("feed", ".ics");
+        try {
+            writeFeed(file, 50);
+            Calendar calendar = new Calendar();
+            ReadCalendarFromDisk.loadCalendarFromICS(calendar, file.toFile());
+            Calendar mapped = new Calendar();
+            ReadCalendarFromDisk.loadCalendarFromMappedICS(mapped, file.toFile());
+
+            assertEquals(50, calendar.getEvents().size());
+            for (int i = 1; i < calendar.getEvents().size(); i++) {
+                assertFalse(calendar.getEvents().get(i).getStartDate()
+                    .isBefore(calendar.getEvents().get(i - 1).getStartDate()));
+            }
+            assertSameEvents("small and mapped readers", calendar.getEvents(), mapped.getEvents());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Writes events in a scrambled date order, two per date, with folds and nested alarms.
+     */
+    private static void writeFeed(Path file, int events) throws IOException {
+        StringBuilder feed = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+        for (int i = 0; i < events; i++) {
+            LocalDate date = SEPTEMBER_9.plusDays(i * 37 % (events / 2));
+            String day = date.toString().replace("-", "");
+            feed.append("BEGIN:VEVENT\r\n")
+                .append("SUMMARY:Event ").append(i).append("\r\n")
+                .append("DTSTART;VALUE=DATE:").append(day).append("\r\n")
+                .append("DTEND;VALUE=DATE:").append(day).append("\r\n")
+                .append("DESCRIPTION:A long description\\, folded\r\n  over two lines\r\n")
+                .append("BEGIN:VALARM\r\nDESCRIPTION:Alarm\r\nEND:VALARM\r\n")
+                .append("END:VEVENT\r\n");
+        }
+        feed.append("END:VCALENDAR\r\n");
+        Files.writeString(file, feed, StandardCharsets.UTF_8);
+    }
+
+    private static void assertSameEvents(String message, List<Holiday> expected, List<Holiday> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(message, expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(message, expected.get(i).getDescription(), actual.get(i).getDescription());
+        }
+    }
+
+    private static Holiday parseOne(String text) {
+        return parseOne(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Holiday parseOne(byte[] bytes) {
+        List<Holiday> events = parse(bytes, bytes.length);
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+
+    /**
+     * Feeds the bytes in chunks of the given size, as a channel read would.
+     */
+    private static List<Holiday> parse(byte[] bytes, int chunkSize) {
+        List<Holiday> events = new ArrayList<>();
+        IcsEventParser parser = new IcsEventParser(events::add);
+        for (int start = 0; start < bytes.length; start += chunkSize) {
+            parser.feed(ByteBuffer.wrap(bytes, start, Math.min(chunkSize, bytes.length - start)));
+        }
+        int eventCount = parser.finish();
+        assertEquals(events.size(), eventCount);
+        return events;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] bytes = new byte[length];
+        int position = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, bytes, position, part.length);
+            position += part.length;
+        }
+        return bytes;
+    }
+}
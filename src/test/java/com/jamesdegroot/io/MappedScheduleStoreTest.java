@@ -0,0 +1,123 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.DutyGrid;
+import com.jamesdegroot.teacher.Teacher;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/*
+ * Tests that a reopened schedule store still names the right teachers, including
+ * staff who share a name.
+ */
+public class MappedScheduleStoreTest {
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 9, 3);
+    private static final int DAYS = 5;
+    private static final int TIME_SLOTS = 3;
+    private static final int POSITIONS = 1;
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("duty-store", ".bin");
+        TeacherRegistry.clear();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReopenMapsTeachersByName() throws IOException {
+        int adams = TeacherRegistry.register(new Teacher("Adams"));
+        int baker = TeacherRegistry.register(new Teacher("Baker"));
+        try (MappedScheduleStore store = MappedScheduleStore.create(file, 2, FIRST_DATE, DAYS, TIME_SLOTS, POSITIONS)) {
+            store.getGrid(0).setTeacherId(0, 0, 0, DutyGrid.DAY_1, adams);
+            store.getGrid(0).setTeacherId(0, 0, 0, DutyGrid.DAY_2, DutyGrid.NO_TEACHER);
+            store.getGrid(1).setTeacherId(4, 2, 0, DutyGrid.DAY_2, baker);
+        }
+
+        // A new run registers the teachers in another order, so their IDs change
+        TeacherRegistry.clear();
+        int newBaker = TeacherRegistry.register(new Teacher("Baker"));
+        int newAdams = TeacherRegistry.register(new Teacher("Adams"));
+        assertNotEquals(adams, newAdams);
+
+        try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+            assertEquals(newAdams, store.getGrid(0).getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+            assertEquals(DutyGrid.NO_TEACHER, store.getGrid(0).getTeacherId(0, 0, 0, DutyGrid.DAY_2));
+            assertEquals(newBaker, store.getGrid(1).getTeacherId(4, 2, 0, DutyGrid.DAY_2));
+            assertFalse(store.getGrid(1).hasDuty(0, 0, 0));
+        }
+    }
+
+    @Test
+    public void testSameNameTeachersStayApartAfterReopen() throws IOException {
+        int firstSmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        TeacherRegistry.register(new Teacher("Adams"));
+        int secondSmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        try (MappedScheduleStore store = MappedScheduleStore.create(file, 1, FIRST_DATE, DAYS, TIME_SLOTS, POSITIONS)) {
+            // The second Smith is stored first, so store numbers do not follow registration order
+            store.getGrid(0).setTeacherId(0, 0, 0, DutyGrid.DAY_1, secondSmith);
+            store.getGrid(0).setTeacherId(0, 1, 0, DutyGrid.DAY_1, firstSmith);
+        }
+
+        TeacherRegistry.clear();
+        TeacherRegistry.register(new Teacher("Baker"));
+        int newFirstSmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        int newSecondSmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+            assertEquals(newSecondSmith, store.getGrid(0).getTeacherId(0, 0, 0, DutyGrid.DAY_1));
+            assertEquals(newFirstSmith, store.getGrid(0).getTeacherId(0, 1, 0, DutyGrid.DAY_1));
+        }
+    }
+
+    @Test
+    public void testMissingSameNameTeacherIsNotMerged() throws IOException {
+        TeacherRegistry.register(new Teacher("Smith, J"));
+        int secondSmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        try (MappedScheduleStore store = MappedScheduleStore.create(file, 1, FIRST_DATE, DAYS, TIME_SLOTS, POSITIONS)) {
+            store.getGrid(0).setTeacherId(0, 0, 0, DutyGrid.DAY_1, secondSmith);
+        }
+
+        // Only one Smith is on staff now
+        TeacherRegistry.clear();
+        int onlySmith = TeacherRegistry.register(new Teacher("Smith, J"));
+        try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+            int id = store.getGrid(0).getTeacherId(0, 0, 0, DutyGrid.DAY_1);
+            assertNotEquals(onlySmith, id);
+            assertEquals("Smith, J", TeacherRegistry.getName(id));
+        }
+    }
+
+    @Test
+    public void testTeacherAddedAfterReopenIsKept() throws IOException {
+        int adams = TeacherRegistry.register(new Teacher("Adams"));
+        MappedScheduleStore.create(file, 1, FIRST_DATE, DAYS, TIME_SLOTS, POSITIONS).close();
+        try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+            store.getGrid(0).setTeacherId(1, 1, 0, DutyGrid.DAY_1, adams);
+        }
+
+        TeacherRegistry.clear();
+        int typedAdams = TeacherRegistry.idFor("Adams");
+        try (MappedScheduleStore store = MappedScheduleStore.open(file)) {
+            assertEquals(typedAdams, store.getGrid(0).getTeacherId(1, 1, 0, DutyGrid.DAY_1));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testRejectsOtherFiles() throws IOException {
+        Files.write(file, new byte[128]);
+        MappedScheduleStore.open(file).close();
+    }
+}
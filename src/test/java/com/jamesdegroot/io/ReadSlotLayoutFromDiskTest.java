@@ -0,0 +1,58 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.SlotLayout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Tests reading a school's slot layout from CSV.
+ */
+public class ReadSlotLayoutFromDiskTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("layout", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testConsecutiveRowsShareASlot() throws IOException {
+        Files.writeString(file, "Time Slot,Duty,Room\r\n"
+            + "8:00,Hall,Main\r\n"
+            + "12:00,Cafeteria,\"Cafe, North\"\r\n"
+            + "12:00, Gym ,Gym\r\n"
+            + "\r\n"
+            + "15:00,Buses\r\n");
+        SlotLayout layout = ReadSlotLayoutFromDisk.readSlotLayout(file.toFile());
+        assertEquals(3, layout.getTimeSlots());
+        assertEquals(1, layout.getPositions(0));
+        assertEquals(2, layout.getPositions(1));
+        assertEquals("Cafe, North", layout.getRoom(1, 0));
+        assertEquals("Gym", layout.getDutyName(1, 1));
+        assertEquals("A missing room is left blank", "", layout.getRoom(2, 0));
+    }
+
+    @Test
+    public void testEmptyFileGivesDefaultLayout() throws IOException {
+        Files.writeString(file, "Time Slot,Duty,Room\n");
+        assertSame(SlotLayout.DEFAULT, ReadSlotLayoutFromDisk.readSlotLayout(file.toFile()));
+    }
+
+    @Test
+    public void testMissingFileGivesDefaultLayout() throws IOException {
+        Files.delete(file);
+        assertSame(SlotLayout.DEFAULT, ReadSlotLayoutFromDisk.readSlotLayout(file.toFile()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.teacher.Teacher;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/*
+ * Tests that a parallel staff import reads the same teachers as a sequential one.
+ */
+public class ReadTeachersFromDiskTest {
+    private static final String HEADER = "Teacher,S1-D1(A) D2(B),S1-D1(B) D2(A),S1-D1(C) D2(D),S1-D1(D) D2(C),"
+        + "S1-D1(Extra2) D2(Extra1),S2-D1(A) D2(B),S2-D1(B) D2(A),S2-D1(C) D2(D),S2-D1(D) D2(C),S2-D1(Extra1) D2(Extra2)";
+    private static final int ROWS = 30_000;  // about 3 MB, enough to be split into chunks
+
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("staff", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testParallelMatchesSequentialWithStrayQuote() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            // A quote inside an unquoted field is a literal, it does not start a quoted field
+            writer.write("\"Shop, Teacher\",TEJ3M.-01 6\" ruler,,,,,,,,,\r\n");
+            for (int row = 0; row < ROWS; row++) {
+                writer.write("\"Teacher" + row + ", Staff\",\"MPM1D.-01\nRm 101\",,\"ENG2D.-01, \"\"B\"\" wing\",,,"
+                    + "SNC1W.-0" + (row % 9) + ",,,,\r\n");
+            }
+        }
+
+        ReadTeachersFromDisk.ImportResult sequential = ReadTeachersFromDisk.importTeachers(file.toString(), false);
+        ReadTeachersFromDisk.ImportResult parallel = ReadTeachersFromDisk.importTeachers(file.toString(), true);
+
+        assertEquals(ROWS + 1, sequential.getRows());
+        assertEquals(sequential.getRows(), parallel.getRows());
+        List<Teacher> expected = sequential.getTeachers();
+        List<Teacher> actual = parallel.getTeachers();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getName(), actual.get(i).getName());
+            assertEquals("Schedule of " + expected.get(i).getName(),
+                expected.get(i).getSchedule(), actual.get(i).getSchedule());
+        }
+        assertEquals("TEJ3M.-01 6\" ruler", expected.get(0).getSchedule().get(0));
+    }
+
+    @Test
+    public void testParallelReadsFileWithoutLineFeeds() throws IOException {
+        Files.writeString(file, HEADER + "\r\"Adams, Ann\",MPM1D.-01,,,,,,,,,\r");
+        ReadTeachersFromDisk.ImportResult parallel = ReadTeachersFromDisk.importTeachers(file.toString(), true);
+        assertEquals(1, parallel.getTeachers().size());
+    }
+}
@@ -0,0 +1,61 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.TermTable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/*
+ * Tests reading the terms of a school year from CSV.
+ */
+public class ReadTermTableFromDiskTest {
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("terms", ".csv");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testReadsTermsAndSkipsBadRows() throws IOException {
+        Files.writeString(file, "Term,Start,End\r\n"
+            + "\"Semester 1, Fall\", 2024-09-03 ,2025-01-31\r\n"
+            + "Broken,2025-02-30,2025-03-01\r\n"
+            + ",2025-02-01,2025-02-02\r\n"
+            + "Semester 2,2025-02-03,2025-06-27\r\n");
+        TermTable terms = ReadTermTableFromDisk.readTermTable(file.toFile());
+        assertEquals(2, terms.getTermCount());
+        assertEquals("Semester 1, Fall", terms.getName(0));
+        assertEquals(LocalDate.of(2024, 9, 3), terms.getStartDate(0));
+        assertEquals(1, terms.getTerm(LocalDate.of(2025, 6, 27)));
+        assertEquals(TermTable.NO_TERM, terms.getTerm(LocalDate.of(2025, 2, 1)));
+    }
+
+    @Test
+    public void testOverlappingTermsAreRejected() throws IOException {
+        Files.writeString(file, "Term,Start,End\n"
+            + "Semester 1,2024-09-03,2025-02-15\n"
+            + "Semester 2,2025-02-03,2025-06-27\n");
+        assertNull(ReadTermTableFromDisk.readTermTable(file.toFile()));
+    }
+
+    @Test
+    public void testFileWithoutTerms() throws IOException {
+        Files.writeString(file, "Term,Start,End\n");
+        assertNull(ReadTermTableFromDisk.readTermTable(file.toFile()));
+        Files.delete(file);
+        assertNull(ReadTermTableFromDisk.readTermTable(file.toFile()));
+    }
+}
@@ -0,0 +1,147 @@
+package com.jamesdegroot.io;
+
+import static org.junit.Assert.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jamesdegroot.calendar.Calendar;
+import com.jamesdegroot.calendar.Duty;
+import com.jamesdegroot.calendar.Holiday;
+import com.jamesdegroot.calendar.SlotLayout;
+import com.jamesdegroot.teacher.TeacherRegistry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Tests the ICS export of assigned duty calendars.
+ */
+public class WriteCalendarToDiskTest {
+    private static final LocalDate YEAR_START = LocalDate.of(2024, 9, 3);   // a Tuesday, Day 1
+    private static final LocalDate YEAR_END = LocalDate.of(2025, 6, 27);
+    private static final LocalDate DAY_2 = YEAR_START.plusDays(1);
+    private static final String DAY_1_TEACHER = "Export Day One";
+    private static final String DAY_2_TEACHER = "Export Day Two";
+
+    private Calendar calendar;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        calendar = new Calendar();
+        calendar.setSlotLayout(SlotLayout.createDefault(2, 1));
+        calendar.initializeDaysOfYear(YEAR_START, YEAR_END);
+        for (LocalDate date : List.of(YEAR_START, DAY_2)) {
+            Duty duty = calendar.getDay(date).getDuties(0)[0];
+            duty.addDay1TeacherId(TeacherRegistry.idFor(DAY_1_TEACHER));
+            duty.addDay2TeacherId(TeacherRegistry.idFor(DAY_2_TEACHER));
+        }
+        file = Files.createTempFile("duties", ".ics");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testRotationChoosesTeachers() throws IOException {
+        List<Holiday> events = writeAndParse();
+        assertEquals(4, events.size());
+        Holiday day1 = find(events, YEAR_START, 0);
+        Holiday day2 = find(events, DAY_2, 0);
+        assertTrue(day1.getSummary(), day1.getSummary().endsWith(": " + DAY_1_TEACHER));
+        assertTrue(day2.getSummary(), day2.getSummary().endsWith(": " + DAY_2_TEACHER));
+        assertTrue(day1.getDescription().contains("\nDay 1\n"));
+        assertTrue(day2.getDescription().contains("\nDay 2\n"));
+    }
+
+    @Test
+    public void testDutiesWithoutTeachersAreUnassigned() throws IOException {
+        Holiday event = find(writeAndParse(), YEAR_START, 1);
+        assertTrue(event.getSummary(), event.getSummary().endsWith(": UNASSIGNED"));
+    }
+
+    @Test
+    public void testRoundTripThroughParser() throws IOException {
+        Duty duty = calendar.getDay(YEAR_START).getDuties(0)[0];
+        Holiday event = find(writeAndParse(), YEAR_START, 0);
+        assertEquals(duty.getName() + ": " + DAY_1_TEACHER, event.getSummary());
+        assertEquals(YEAR_START, event.getStartDate());
+        assertEquals("All-day events end the next day", YEAR_START.plusDays(1), event.getEndDate());
+        assertEquals(duty.getTimeSlot() + "\nDay 1\nTeachers: " + DAY_1_TEACHER, event.getDescription());
+    }
+
+    @Test
+    public void testTextIsEscaped() throws IOException {
+        calendar.getDay(YEAR_START).getDuties(0)[0].setName("Hall; North, \\Wing\nB");
+        String text = Files.readString(file(), StandardCharsets.UTF_8);
+        assertTrue(text, text.contains("SUMMARY:Hall\\; North\\, \\\\Wing\\nB: " + DAY_1_TEACHER + "\r\n"));
+        assertEquals("Hall; North, \\Wing\nB: " + DAY_1_TEACHER, find(parse(), YEAR_START, 0).getSummary());
+    }
+
+    @Test
+    public void testLongLinesAreFoldedBetweenCharacters() throws IOException {
+        // 'é' is two bytes and '€' three, so a fold at 75 bytes would split one of them if not careful
+        String name = "é€".repeat(40);
+        calendar.getDay(YEAR_START).getDuties(0)[0].setName(name);
+        byte[] bytes = Files.readAllBytes(file());
+        int lineStart = 0;
+        for (int i = 0; i + 1 < bytes.length; i++) {
+            if (bytes[i] == '\r' && bytes[i + 1] == '\n') {
+                assertTrue("Line longer than 75 bytes", i - lineStart <= 75);
+                assertValidUtf8(Arrays.copyOfRange(bytes, lineStart, i));
+                lineStart = i + 2;
+            }
+        }
+        assertEquals(name + ": " + DAY_1_TEACHER, find(parse(), YEAR_START, 0).getSummary());
+    }
+
+    private Path file() throws IOException {
+        try (WriteCalendarToDisk writer = new WriteCalendarToDisk(file)) {
+            writer.writeDays(calendar.getDays(YEAR_START, DAY_2), calendar.getRotationTable(), null);
+        }
+        return file;
+    }
+
+    private List<Holiday> writeAndParse() throws IOException {
+        file();
+        return parse();
+    }
+
+    private List<Holiday> parse() throws IOException {
+        List<Holiday> events = new ArrayList<>();
+        IcsEventParser.parse(file, events::add);
+        return events;
+    }
+
+    /**
+     * Finds the event of a time slot on a date, events being written in slot order.
+     */
+    private static Holiday find(List<Holiday> events, LocalDate date, int timeSlot) {
+        int slot = 0;
+        for (Holiday event : events) {
+            if (event.getStartDate().equals(date) && slot++ == timeSlot) {
+                return event;
+            }
+        }
+        throw new AssertionError("No event for slot " + timeSlot + " on " + date);
+    }
+
+    private static void assertValidUtf8(byte[] line) {
+        try {
+            StandardCharsets.UTF_8.newDecoder().decode(ByteBuffer.wrap(line));
+        } catch (CharacterCodingException e) {
+            fail("Fold split a character: " + new String(line, StandardCharsets.UTF_8));
+        }
+    }
+}
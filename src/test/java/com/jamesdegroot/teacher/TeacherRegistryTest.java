@@ -0,0 +1,82 @@
+package com.jamesdegroot.teacher;
+
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/*
+ * Tests that teacher IDs belong to Teacher objects rather than to names.
+ */
+public class TeacherRegistryTest {
+
+    @Before
+    public void setUp() {
+        TeacherRegistry.clear();
+    }
+
+    @Test
+    public void testSameNameStaffGetTheirOwnIds() {
+        Teacher first = new Teacher("Smith, J");
+        Teacher second = new Teacher("Smith, J");
+        int firstId = TeacherRegistry.register(first);
+        int secondId = TeacherRegistry.register(second);
+
+        assertNotEquals("Teachers sharing a name should not be merged", firstId, secondId);
+        assertEquals(firstId, first.getId());
+        assertEquals(secondId, second.getId());
+        assertEquals(2, TeacherRegistry.size());
+    }
+
+    @Test
+    public void testRegisterKeepsExistingId() {
+        Teacher teacher = new Teacher("Jones, A");
+        int id = TeacherRegistry.register(teacher);
+        assertEquals(id, TeacherRegistry.register(teacher));
+        assertEquals(1, TeacherRegistry.size());
+    }
+
+    @Test
+    public void testTypedNameUsesFirstRegisteredTeacher() {
+        Teacher teacher = new Teacher("Brown, K");
+        int id = TeacherRegistry.register(teacher);
+        assertEquals(id, TeacherRegistry.idFor("Brown, K"));
+
+        int typedId = TeacherRegistry.idFor("Substitute");
+        assertNotEquals(id, typedId);
+        assertEquals(typedId, TeacherRegistry.idFor("Substitute"));
+        assertEquals("Substitute", TeacherRegistry.getName(typedId));
+        assertNotEquals("Names are case-sensitive", typedId, TeacherRegistry.idFor("substitute"));
+    }
+
+    @Test
+    public void testNameOccurrenceFindsSameNameStaff() {
+        int first = TeacherRegistry.register(new Teacher("Smith, J"));
+        TeacherRegistry.register(new Teacher("Lee, P"));
+        int second = TeacherRegistry.register(new Teacher("Smith, J"));
+        assertEquals(0, TeacherRegistry.getNameOccurrence(first));
+        assertEquals(1, TeacherRegistry.getNameOccurrence(second));
+        assertEquals(first, TeacherRegistry.idFor("Smith, J", 0));
+        assertEquals(second, TeacherRegistry.idFor("Smith, J", 1));
+
+        int typed = TeacherRegistry.idFor("Typed", 0);
+        assertEquals(typed, TeacherRegistry.idFor("Typed"));
+        assertEquals(0, TeacherRegistry.getNameOccurrence(typed));
+        int third = TeacherRegistry.idFor("Smith, J", 2);
+        assertNotEquals("A missing occurrence is not merged with another teacher", first, third);
+        assertNotEquals(second, third);
+    }
+
+    @Test
+    public void testClearStartsIdsOver() {
+        Teacher teacher = new Teacher("Green, L");
+        TeacherRegistry.register(teacher);
+        TeacherRegistry.idFor("Typed");
+        TeacherRegistry.clear();
+
+        assertEquals(0, TeacherRegistry.size());
+        assertNull(TeacherRegistry.getName(0));
+        Teacher next = new Teacher("White, M");
+        assertEquals(0, TeacherRegistry.register(next));
+        assertEquals("A teacher from before clear gets a new ID", 1, TeacherRegistry.register(teacher));
+    }
+}